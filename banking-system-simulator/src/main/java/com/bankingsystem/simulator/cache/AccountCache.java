@@ -0,0 +1,25 @@
+package com.bankingsystem.simulator.cache;
+
+import com.bankingsystem.simulator.model.dto.CacheStatsResponse;
+import com.bankingsystem.simulator.model.entity.Account;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache in front of AccountRepository.findByAccountNumber. Cached accounts
+ * are shared between callers and must be treated as read-only; every write path
+ * invalidates the accounts it touched after the write reaches Mongo.
+ */
+public interface AccountCache {
+
+    /**
+     * Returns the cached account, or loads it with {@code loader} and caches it.
+     * Missing accounts are not cached.
+     */
+    Optional<Account> get(String accountNumber, Function<String, Optional<Account>> loader);
+
+    void invalidate(String accountNumber);
+
+    CacheStatsResponse stats();
+}
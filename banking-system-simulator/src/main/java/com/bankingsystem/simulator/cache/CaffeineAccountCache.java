@@ -0,0 +1,74 @@
+package com.bankingsystem.simulator.cache;
+
+import com.bankingsystem.simulator.model.dto.CacheStatsResponse;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Size-bounded account cache with W-TinyLFU admission/eviction and a write TTL.
+ *
+ * The cache holds futures. The first caller for a key installs an empty future and
+ * then runs the load on its own thread, outside Caffeine's per-key lock, so a Mongo
+ * read never blocks while holding a monitor (which would pin a virtual thread).
+ * Concurrent callers for the same key wait on that future. invalidate() drops the
+ * future, so a load that read the old document before a write is never served
+ * after that write's invalidation.
+ */
+public class CaffeineAccountCache implements AccountCache {
+
+    private final AsyncCache<String, Account> cache;
+
+    public CaffeineAccountCache(long maximumSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public Optional<Account> get(String accountNumber, Function<String, Optional<Account>> loader) {
+        CompletableFuture<Account> pending = new CompletableFuture<>();
+        CompletableFuture<Account> future = cache.get(accountNumber, (key, executor) -> pending);
+        if (future == pending) {
+            try {
+                // A null value removes the entry, so missing accounts are not cached
+                pending.complete(loader.apply(accountNumber).orElse(null));
+            } catch (RuntimeException e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return Optional.ofNullable(future.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    @Override
+    public void invalidate(String accountNumber) {
+        cache.synchronous().invalidate(accountNumber);
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return CacheStatsResponse.builder()
+                .type("caffeine")
+                .size(cache.synchronous().estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .evictions(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
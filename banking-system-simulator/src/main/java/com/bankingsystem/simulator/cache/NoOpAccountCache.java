@@ -0,0 +1,34 @@
+package com.bankingsystem.simulator.cache;
+
+import com.bankingsystem.simulator.model.dto.CacheStatsResponse;
+import com.bankingsystem.simulator.model.entity.Account;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Pass-through used when caching is disabled; every lookup goes to the loader.
+ */
+public class NoOpAccountCache implements AccountCache {
+
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public Optional<Account> get(String accountNumber, Function<String, Optional<Account>> loader) {
+        misses.increment();
+        return loader.apply(accountNumber);
+    }
+
+    @Override
+    public void invalidate(String accountNumber) {
+    }
+
+    @Override
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.builder()
+                .type("none")
+                .misses(misses.sum())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.bankingsystem.simulator.concurrency;
+
+import com.bankingsystem.simulator.config.ContentionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts write conflicts per account, so hot spots can be found and given special handling
+ * (for example balance sharding). Per-account counts live in a bounded cache; the
+ * banking.account.contention counter carries totals per operation.
+ */
+@Component
+public class AccountContention {
+
+    private final Cache<String, LongAdder> byAccount;
+    private final MeterRegistry meterRegistry;
+
+    public AccountContention(ContentionProperties properties, MeterRegistry meterRegistry) {
+        this.byAccount = Caffeine.newBuilder().maximumSize(properties.getTrackedAccounts()).build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String accountNumber, String operation) {
+        byAccount.get(accountNumber, key -> new LongAdder()).increment();
+        meterRegistry.counter("banking.account.contention", "operation", operation).increment();
+    }
+
+    /** The most contended accounts and their conflict counts, highest first. */
+    public Map<String, Long> top(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        byAccount.asMap().entrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(e -> top.put(e.getKey(), e.getValue()));
+        return top;
+    }
+}
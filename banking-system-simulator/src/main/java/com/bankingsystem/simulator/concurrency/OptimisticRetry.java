@@ -0,0 +1,66 @@
+package com.bankingsystem.simulator.concurrency;
+
+import com.bankingsystem.simulator.config.ContentionProperties;
+import com.bankingsystem.simulator.exception.ConcurrentUpdateException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a read-modify-write of a versioned account when another write got there first.
+ * Backoff is "full jitter": a random wait up to a cap that doubles per attempt, so
+ * writers that collided do not collide again in lockstep.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final AccountContention contention;
+
+    public OptimisticRetry(ContentionProperties properties, AccountContention contention) {
+        if (properties.getMaxAttempts() < 1) {
+            throw new IllegalArgumentException("banking.accounts.contention.max-attempts must be at least 1");
+        }
+        this.maxAttempts = properties.getMaxAttempts();
+        this.initialBackoffNanos = properties.getInitialBackoff().toNanos();
+        this.maxBackoffNanos = properties.getMaxBackoff().toNanos();
+        this.contention = contention;
+    }
+
+    /**
+     * Runs {@code attempt}, which must re-read the account each time, until it completes
+     * without an {@link OptimisticLockingFailureException}.
+     *
+     * @throws ConcurrentUpdateException when every attempt conflicted
+     */
+    public <T> T run(String accountNumber, String operation, Supplier<T> attempt) {
+        for (int i = 1; ; i++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException e) {
+                contention.record(accountNumber, operation);
+                if (i >= maxAttempts) {
+                    log.warn("{} on account {} gave up after {} conflicting attempts", operation, accountNumber, i);
+                    throw new ConcurrentUpdateException("Account " + accountNumber
+                            + " is being modified concurrently, please retry");
+                }
+                backoff(i);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (cap > 0) {
+            // parkNanos rather than sleep: no InterruptedException, and it unmounts a virtual thread
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(cap + 1));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for bulk account imports (banking.accounts.import.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.accounts.import")
+public class AccountImportProperties {
+
+    /** Rows parsed, validated and inserted together; at most this many are held in memory. */
+    private int chunkSize = 1000;
+}
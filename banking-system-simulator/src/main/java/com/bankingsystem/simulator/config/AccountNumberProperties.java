@@ -0,0 +1,15 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for account number allocation (banking.account-number.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.account-number")
+public class AccountNumberProperties {
+
+    /** Sequence values reserved from the counters collection per round trip. */
+    private int blockSize = 1000;
+}
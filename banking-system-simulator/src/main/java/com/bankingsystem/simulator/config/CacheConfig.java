@@ -0,0 +1,27 @@
+package com.bankingsystem.simulator.config;
+
+import com.bankingsystem.simulator.cache.AccountCache;
+import com.bankingsystem.simulator.cache.CaffeineAccountCache;
+import com.bankingsystem.simulator.cache.NoOpAccountCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class CacheConfig {
+
+    @Bean
+    public AccountCache accountCache(CacheProperties properties) {
+        switch (properties.getType()) {
+            case "caffeine":
+                log.info("Account cache: caffeine, maximumSize={}, ttl={}", properties.getMaximumSize(), properties.getTtl());
+                return new CaffeineAccountCache(properties.getMaximumSize(), properties.getTtl());
+            case "none":
+                log.info("Account cache disabled");
+                return new NoOpAccountCache();
+            default:
+                throw new IllegalStateException("Unknown banking.cache.accounts.type: " + properties.getType());
+        }
+    }
+}
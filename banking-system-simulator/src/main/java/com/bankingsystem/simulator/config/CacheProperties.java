@@ -0,0 +1,23 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process account cache (banking.cache.accounts.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.cache.accounts")
+public class CacheProperties {
+
+    /** caffeine (size-bounded W-TinyLFU with TTL) or none. */
+    private String type = "caffeine";
+
+    /** Maximum number of cached accounts. */
+    private long maximumSize = 100_000;
+
+    /** Time after which a cached account is reloaded even if it was never invalidated. */
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,26 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Optimistic-locking retries and contention tracking for accounts (banking.accounts.contention.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.accounts.contention")
+public class ContentionProperties {
+
+    /** Attempts at a versioned account write before giving up with 409 Conflict. */
+    private int maxAttempts = 5;
+
+    /** Upper bound of the first retry's random backoff; it doubles per attempt. */
+    private Duration initialBackoff = Duration.ofMillis(2);
+
+    /** Cap on the random backoff between attempts. */
+    private Duration maxBackoff = Duration.ofMillis(50);
+
+    /** Accounts whose conflict counts are kept; the least contended are evicted first. */
+    private long trackedAccounts = 10_000;
+}
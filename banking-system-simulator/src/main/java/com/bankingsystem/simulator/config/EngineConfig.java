@@ -0,0 +1,52 @@
+package com.bankingsystem.simulator.config;
+
+import com.bankingsystem.simulator.engine.AccountLaneExecutor;
+import com.bankingsystem.simulator.engine.TransferGroupCommitter;
+import com.bankingsystem.simulator.service.TransactionService;
+import com.bankingsystem.simulator.service.impl.GroupCommitTransactionService;
+import com.bankingsystem.simulator.service.impl.LaneTransactionService;
+import com.bankingsystem.simulator.service.impl.TransactionServiceImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class EngineConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "banking.engine.lanes", name = "enabled", havingValue = "true")
+    public AccountLaneExecutor accountLaneExecutor(EngineProperties properties, Environment environment) {
+        return new AccountLaneExecutor(properties.getLanes().getCount(), Threading.VIRTUAL.isActive(environment));
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "banking.engine.lanes", name = "enabled", havingValue = "true")
+    public TransactionService laneTransactionService(TransactionServiceImpl transactionService,
+                                                     AccountLaneExecutor accountLaneExecutor) {
+        return new LaneTransactionService(transactionService, accountLaneExecutor);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "banking.engine.group-commit", name = "enabled", havingValue = "true")
+    public TransferGroupCommitter transferGroupCommitter(TransactionServiceImpl transactionService,
+                                                         EngineProperties properties, Environment environment) {
+        if (properties.getLanes().isEnabled()) {
+            throw new IllegalStateException("banking.engine.lanes and banking.engine.group-commit cannot both be enabled");
+        }
+        EngineProperties.GroupCommit groupCommit = properties.getGroupCommit();
+        return new TransferGroupCommitter(transactionService::transferBatch, groupCommit.getMaxBatch(),
+                groupCommit.getWindow(), Threading.VIRTUAL.isActive(environment));
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "banking.engine.group-commit", name = "enabled", havingValue = "true")
+    public TransactionService groupCommitTransactionService(TransactionServiceImpl transactionService,
+                                                            TransferGroupCommitter transferGroupCommitter) {
+        return new GroupCommitTransactionService(transactionService, transferGroupCommitter);
+    }
+}
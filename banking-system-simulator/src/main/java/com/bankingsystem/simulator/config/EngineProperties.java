@@ -0,0 +1,35 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the transaction engine (banking.engine.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.engine")
+public class EngineProperties {
+
+    private Lanes lanes = new Lanes();
+    private GroupCommit groupCommit = new GroupCommit();
+
+    @Data
+    public static class Lanes {
+        /** Serialize operations per account on striped single-threaded lanes. */
+        private boolean enabled = false;
+        /** Number of lanes; accounts are hashed onto them. */
+        private int count = Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    @Data
+    public static class GroupCommit {
+        /** Commit concurrent single transfers together through the batch path. */
+        private boolean enabled = false;
+        /** How long the first waiting transfer waits for others to join its group. */
+        private Duration window = Duration.ofMillis(2);
+        /** Largest group committed at once. */
+        private int maxBatch = 256;
+    }
+}
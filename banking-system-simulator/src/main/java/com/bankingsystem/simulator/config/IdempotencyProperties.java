@@ -0,0 +1,30 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for Idempotency-Key handling on the money endpoints (banking.idempotency.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.idempotency")
+public class IdempotencyProperties {
+
+    /** Honour the Idempotency-Key header; when false it is ignored. */
+    private boolean enabled = true;
+
+    /** How long a key and its response are kept. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a claim on a key lasts unless renewed. A running request's node renews it
+     * every third of this, so a request whose node died holds its key only this long;
+     * then a retry takes the key over and runs.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /** Completed keys kept in memory, so retries of recent requests skip Mongo. */
+    private long cacheSize = 100_000;
+}
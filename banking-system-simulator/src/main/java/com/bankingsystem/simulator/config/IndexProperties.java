@@ -0,0 +1,26 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the managed Mongo index set (banking.mongo.indexes.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.mongo.indexes")
+public class IndexProperties {
+
+    /** Create the managed indexes in the background once the application is ready. */
+    private boolean bootstrap = true;
+
+    /** Run explain plans for the hot repository queries after the indexes are built. */
+    private boolean verifyQueryPlans = true;
+
+    /** What to do when an index cannot be built or is missing, or a hot query would run a COLLSCAN. */
+    private OnViolation onViolation = OnViolation.WARN;
+
+    public enum OnViolation {
+        WARN,
+        FAIL
+    }
+}
@@ -0,0 +1,49 @@
+package com.bankingsystem.simulator.config;
+
+import com.bankingsystem.simulator.journal.JournalFlusher;
+import com.bankingsystem.simulator.journal.JournalTransactionWriter;
+import com.bankingsystem.simulator.journal.MongoTransactionWriter;
+import com.bankingsystem.simulator.journal.TransactionJournal;
+import com.bankingsystem.simulator.journal.TransactionWriter;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class JournalConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public TransactionWriter mongoTransactionWriter(TransactionRepository transactionRepository) {
+        return new MongoTransactionWriter(transactionRepository);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "true")
+    public TransactionJournal transactionJournal(JournalProperties properties) throws IOException {
+        log.info("Transaction journal enabled in {}, segmentSize={}", properties.getDirectory(), properties.getSegmentSize());
+        return TransactionJournal.open(Path.of(properties.getDirectory()), (int) properties.getSegmentSize().toBytes());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "true")
+    public JournalFlusher journalFlusher(TransactionJournal journal, TransactionRepository transactionRepository,
+                                         JournalProperties properties, Environment environment) {
+        return new JournalFlusher(journal, transactionRepository,
+                properties.getFlushBatchSize(), properties.getFlushInterval(), Threading.VIRTUAL.isActive(environment));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "true")
+    public TransactionWriter journalTransactionWriter(TransactionJournal journal, JournalFlusher flusher) {
+        return new JournalTransactionWriter(journal, flusher);
+    }
+}
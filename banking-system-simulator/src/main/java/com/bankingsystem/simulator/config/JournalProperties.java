@@ -0,0 +1,30 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the write-behind transaction journal (banking.journal.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.journal")
+public class JournalProperties {
+
+    /** Record transactions in a local journal and copy them to Mongo in the background. */
+    private boolean enabled = false;
+
+    /** Directory holding the journal segments and checkpoint. */
+    private String directory = "data/journal";
+
+    /** Size of each memory-mapped segment file. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** Maximum number of transactions per insert into Mongo. */
+    private int flushBatchSize = 1000;
+
+    /** How often the flusher looks for new records when it has not been woken up. */
+    private Duration flushInterval = Duration.ofMillis(200);
+}
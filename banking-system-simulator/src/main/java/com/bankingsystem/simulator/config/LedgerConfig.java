@@ -0,0 +1,25 @@
+package com.bankingsystem.simulator.config;
+
+import com.bankingsystem.simulator.ledger.LedgerSnapshotter;
+import com.bankingsystem.simulator.service.LedgerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Slf4j
+public class LedgerConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "banking.ledger", name = "enabled", havingValue = "true")
+    public LedgerSnapshotter ledgerSnapshotter(LedgerService ledgerService, LedgerProperties properties,
+                                               Environment environment) {
+        log.info("Ledger mode enabled, snapshotEvery={}, snapshotInterval={}, settle={}",
+                properties.getSnapshotEvery(), properties.getSnapshotInterval(), properties.getSettle());
+        return new LedgerSnapshotter(ledgerService, properties.getSnapshotEvery(), properties.getSnapshotInterval(),
+                Threading.VIRTUAL.isActive(environment));
+    }
+}
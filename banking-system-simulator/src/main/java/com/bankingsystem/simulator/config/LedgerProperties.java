@@ -0,0 +1,31 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for ledger mode (banking.ledger.*): balances derived from the transactions
+ * collection, with periodic per-account snapshots.
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.ledger")
+public class LedgerProperties {
+
+    /** Serve derived balances and take balance snapshots. */
+    private boolean enabled = false;
+
+    /** Snapshot an account after this many new transactions. */
+    private int snapshotEvery = 1000;
+
+    /** Snapshot every account with new transactions at least this often. */
+    private Duration snapshotInterval = Duration.ofSeconds(60);
+
+    /**
+     * Snapshots only fold in transactions older than this. Transaction timestamps are
+     * taken before the insert, so a younger one may still be on its way to Mongo; keep
+     * it above the journal's flush lag when the journal is enabled.
+     */
+    private Duration settle = Duration.ofSeconds(5);
+}
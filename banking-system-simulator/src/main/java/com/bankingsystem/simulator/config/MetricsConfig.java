@@ -0,0 +1,29 @@
+package com.bankingsystem.simulator.config;
+
+import com.bankingsystem.simulator.metrics.MongoRequestStatsListener;
+import com.bankingsystem.simulator.metrics.ServiceMetricsPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-call service metrics (banking.service.*), on by default. Driver-level command
+ * and connection pool meters (mongodb.driver.*) come from Spring Boot itself.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "banking.metrics.services", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public static ServiceMetricsPostProcessor serviceMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new ServiceMetricsPostProcessor(registry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoRequestStatsCustomizer() {
+        return builder -> builder.addCommandListener(new MongoRequestStatsListener());
+    }
+}
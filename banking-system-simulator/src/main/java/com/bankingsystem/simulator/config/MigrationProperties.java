@@ -0,0 +1,15 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for in-place document migrations (banking.mongo.migrations.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.mongo.migrations")
+public class MigrationProperties {
+
+    /** Apply pending migrations at startup, before requests are served. */
+    private boolean enabled = true;
+}
@@ -0,0 +1,25 @@
+package com.bankingsystem.simulator.config;
+
+import com.bankingsystem.simulator.util.TransactionIdGenerator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+@RequiredArgsConstructor
+public class NodeConfig {
+
+    private final NodeProperties properties;
+
+    @PostConstruct
+    void applyNodeId() {
+        if (properties.getId() != null) {
+            TransactionIdGenerator.setNodeId(properties.getId());
+            log.info("Node id set to {}", properties.getId());
+        } else {
+            log.warn("banking.node.id is not set; transaction ids use a node id derived from host and pid");
+        }
+    }
+}
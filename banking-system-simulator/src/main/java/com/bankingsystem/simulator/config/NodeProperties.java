@@ -0,0 +1,18 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Identity of this application instance (banking.node.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.node")
+public class NodeProperties {
+
+    /**
+     * Unique id of this instance (0-9999), embedded in transaction ids. Every instance
+     * sharing a database needs a different one. Unset means derived from host and pid.
+     */
+    private Integer id;
+}
@@ -0,0 +1,27 @@
+package com.bankingsystem.simulator.config;
+
+import com.bankingsystem.simulator.controller.ReactiveTransactionHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * The transaction endpoints of /api/accounts, served by the reactive stack under
+ * /api/reactive/accounts.
+ */
+@Configuration
+public class ReactiveRouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveTransactionRoutes(ReactiveTransactionHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/reactive/accounts", builder -> builder
+                        .PUT("/{accountNumber}/deposit", handler::deposit)
+                        .PUT("/{accountNumber}/withdraw", handler::withdraw)
+                        .POST("/transfer", handler::transfer)
+                        .GET("/{accountNumber}/transactions", handler::getTransactions))
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Balance sharding for hot accounts (banking.accounts.sharding.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.accounts.sharding")
+public class ShardingProperties {
+
+    /** Account numbers whose balance is split across shard documents. */
+    private List<String> hotAccounts = new ArrayList<>();
+
+    /** Shards per hot account, including the account document itself. */
+    private int shards = 8;
+
+    /** How long a summed shard balance may be served from memory; zero reads the shards every time. */
+    private Duration totalCacheTtl = Duration.ofMillis(500);
+}
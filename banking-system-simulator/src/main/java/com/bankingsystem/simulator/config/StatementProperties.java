@@ -0,0 +1,40 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Settings for statement rollups (banking.statements.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.statements")
+public class StatementProperties {
+
+    /** Maintain daily and monthly rollups as transactions are written. */
+    private boolean enabled = true;
+
+    /** How often buffered rollup deltas are written; rollups lag transactions by up to this much. */
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /**
+     * Rollup deltas (one per account and period) kept in memory for writing. Deltas whose
+     * write failed are retried at the next flush while the buffer is below this size, and
+     * dropped beyond it.
+     */
+    private int maxPending = 100_000;
+
+    /** Time zone that days and months are cut in. */
+    private ZoneId zone = ZoneId.of("UTC");
+
+    /** Accounts rebuilt concurrently by the backfill. */
+    private int backfillParallelism = 4;
+
+    /**
+     * How long the backfill waits after its cutoff before reading transactions, so that
+     * every transaction timestamped before the cutoff has been written.
+     */
+    private Duration backfillSettle = Duration.ofSeconds(5);
+}
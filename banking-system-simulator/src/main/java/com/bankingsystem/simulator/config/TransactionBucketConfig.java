@@ -0,0 +1,45 @@
+package com.bankingsystem.simulator.config;
+
+import com.bankingsystem.simulator.repository.bucket.TransactionBucketMaintenance;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets;
+import com.mongodb.client.MongoClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+import java.time.Clock;
+
+@Configuration
+@Slf4j
+public class TransactionBucketConfig {
+
+    @Bean
+    public TransactionBuckets transactionBuckets(MongoTemplate mongoTemplate, MongoClient mongoClient,
+                                                 TransactionBucketProperties properties) {
+        if (!properties.isEnabled()) {
+            return new TransactionBuckets(mongoTemplate);
+        }
+        String archiveDatabase = properties.getArchiveDatabase() != null
+                ? properties.getArchiveDatabase()
+                : mongoTemplate.getDb().getName() + "_archive";
+        log.info("Monthly transaction buckets enabled, archived after {} to database {}",
+                properties.getArchiveAfter(), archiveDatabase);
+        MongoTemplate archive = new MongoTemplate(
+                new SimpleMongoClientDatabaseFactory(mongoClient, archiveDatabase), mongoTemplate.getConverter());
+        return new TransactionBuckets(mongoTemplate, archive, properties.getArchiveAfter(), Clock.systemUTC());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "banking.transactions.buckets", name = "enabled", havingValue = "true")
+    public TransactionBucketMaintenance transactionBucketMaintenance(TransactionBuckets transactionBuckets,
+                                                                     TransactionBucketProperties properties,
+                                                                     Environment environment) {
+        return new TransactionBucketMaintenance(transactionBuckets, properties.getArchiveAfter(),
+                properties.getMaintenanceInterval(), Clock.systemUTC(), Threading.VIRTUAL.isActive(environment));
+    }
+}
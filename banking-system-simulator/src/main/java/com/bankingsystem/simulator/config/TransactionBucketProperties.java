@@ -0,0 +1,28 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Period;
+
+/**
+ * Settings for time-bucketed transaction storage (banking.transactions.buckets.*):
+ * one collection per UTC month, with old months moved to an archive database.
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.transactions.buckets")
+public class TransactionBucketProperties {
+
+    /** Write transactions to monthly bucket collections instead of the single transactions collection. */
+    private boolean enabled = false;
+
+    /** Buckets whose month ended longer ago than this are moved to the archive database. */
+    private Period archiveAfter = Period.ofMonths(12);
+
+    /** Database the archived buckets are moved to; defaults to the application database name + "_archive". */
+    private String archiveDatabase;
+
+    /** How often buckets are created ahead of time and old ones archived. */
+    private Duration maintenanceInterval = Duration.ofHours(1);
+}
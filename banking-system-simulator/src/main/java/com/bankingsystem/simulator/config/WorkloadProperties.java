@@ -0,0 +1,61 @@
+package com.bankingsystem.simulator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the built-in workload simulator (banking.workload.*), which runs when
+ * the "workload" profile is active.
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.workload")
+public class WorkloadProperties {
+
+    /** Accounts created and funded before the run. */
+    private int accounts = 1000;
+
+    /** Concurrent clients, each issuing one operation at a time. */
+    private int clients = 64;
+
+    /** Operations before this point are executed but not recorded. */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /** Measured run time after the warm-up. */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * Total operations per second across all clients (open loop). Latency is measured
+     * from each operation's scheduled start, so queueing delay is included. 0 runs
+     * closed loop: each client starts its next operation when the previous one returns.
+     */
+    private double targetRate = 0;
+
+    /** Zipf exponent of the account popularity; 0 is uniform, ~1 concentrates on a few hot accounts. */
+    private double zipfExponent = 0.99;
+
+    /** Balance each account starts with, in minor units. */
+    private long initialBalance = 1_000_000;
+
+    /** Operation amounts are drawn uniformly from [minAmount, maxAmount] minor units. */
+    private long minAmount = 100;
+    private long maxAmount = 10_000;
+
+    /** Relative weights of the operations. */
+    private Mix mix = new Mix();
+
+    /** Also write the report to this file. */
+    private String reportFile;
+
+    /** Shut the application down when the run is finished. */
+    private boolean exitOnFinish = true;
+
+    @Data
+    public static class Mix {
+        private int deposit = 40;
+        private int withdraw = 25;
+        private int transfer = 30;
+        private int history = 5;
+    }
+}
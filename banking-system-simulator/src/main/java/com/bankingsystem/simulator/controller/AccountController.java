@@ -3,26 +3,56 @@ package com.bankingsystem.simulator.controller;
 import com.bankingsystem.simulator.model.dto.AccountCreateRequest;
 import com.bankingsystem.simulator.model.dto.AccountResponse;
 import com.bankingsystem.simulator.model.dto.AccountUpdateRequest;
+import com.bankingsystem.simulator.service.AccountImportService;
 import com.bankingsystem.simulator.service.AccountService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/accounts")
 @RequiredArgsConstructor
 public class AccountController {
 
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final AccountService accountService;
+    private final AccountImportService accountImportService;
 
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody AccountCreateRequest request) {
         return new ResponseEntity<>(accountService.createAccount(request), HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk onboarding: a CSV (text/csv, with a holderName header) or NDJSON body of account rows.
+     * Results stream back as NDJSON, one line per row, while the upload is still being read.
+     */
+    @PostMapping(path = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<StreamingResponseBody> importAccounts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(defaultValue = "false") boolean errorsOnly,
+            InputStream body) {
+        AccountImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(CSV)
+                ? AccountImportService.Format.CSV
+                : AccountImportService.Format.NDJSON;
+        StreamingResponseBody results = out -> accountImportService.importAccounts(body, format, errorsOnly, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + (errorsOnly ? "import-errors.ndjson" : "import-results.ndjson") + "\"")
+                .body(results);
+    }
+
     @GetMapping("/{accountNumber}")
     public ResponseEntity<AccountResponse> getAccount(@PathVariable String accountNumber) {
         return ResponseEntity.ok(accountService.getAccount(accountNumber));
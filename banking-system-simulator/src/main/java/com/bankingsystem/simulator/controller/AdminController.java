@@ -0,0 +1,65 @@
+package com.bankingsystem.simulator.controller;
+
+import com.bankingsystem.simulator.cache.AccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.engine.AccountLaneExecutor;
+import com.bankingsystem.simulator.model.dto.CacheStatsResponse;
+import com.bankingsystem.simulator.model.dto.StatementBackfillStatus;
+import com.bankingsystem.simulator.statement.StatementBackfill;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final ObjectProvider<AccountLaneExecutor> accountLaneExecutor;
+    private final AccountCache accountCache;
+    private final ObjectProvider<StatementBackfill> statementBackfill;
+    private final AccountContention accountContention;
+
+    @GetMapping("/lanes")
+    public ResponseEntity<Map<String, Object>> getLanes() {
+        AccountLaneExecutor lanes = accountLaneExecutor.getIfAvailable();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", lanes != null);
+        if (lanes != null) {
+            body.put("laneCount", lanes.laneCount());
+            body.put("queueDepths", lanes.queueDepths());
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(accountCache.stats());
+    }
+
+    /** Accounts with the most write conflicts since startup, highest first. */
+    @GetMapping("/contention")
+    public ResponseEntity<Map<String, Long>> getContention(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(accountContention.top(Math.max(1, Math.min(limit, 1000))));
+    }
+
+    @PostMapping("/statements/backfill")
+    public ResponseEntity<StatementBackfillStatus> startStatementBackfill() {
+        StatementBackfill backfill = statementBackfill.getIfAvailable();
+        return backfill == null ? ResponseEntity.notFound().build() : ResponseEntity.accepted().body(backfill.start());
+    }
+
+    @GetMapping("/statements/backfill")
+    public ResponseEntity<StatementBackfillStatus> getStatementBackfill() {
+        StatementBackfill backfill = statementBackfill.getIfAvailable();
+        return backfill == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(backfill.status());
+    }
+}
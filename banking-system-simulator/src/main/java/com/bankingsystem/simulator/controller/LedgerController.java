@@ -0,0 +1,33 @@
+package com.bankingsystem.simulator.controller;
+
+import com.bankingsystem.simulator.model.dto.LedgerBalanceResponse;
+import com.bankingsystem.simulator.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Date;
+
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "banking.ledger", name = "enabled", havingValue = "true")
+public class LedgerController {
+
+    private final LedgerService ledgerService;
+
+    @GetMapping("/{accountNumber}/balance")
+    public ResponseEntity<LedgerBalanceResponse> getBalance(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date asOf) {
+        return ResponseEntity.ok(ledgerService.getBalance(accountNumber, asOf));
+    }
+
+    @PostMapping("/{accountNumber}/balance/snapshots")
+    public ResponseEntity<LedgerBalanceResponse> snapshot(@PathVariable String accountNumber) {
+        ledgerService.snapshot(accountNumber);
+        return ResponseEntity.ok(ledgerService.getBalance(accountNumber, null));
+    }
+}
@@ -0,0 +1,137 @@
+package com.bankingsystem.simulator.controller;
+
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.exception.InsufficientBalanceException;
+import com.bankingsystem.simulator.exception.InvalidAmountException;
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.dto.TransferRequest;
+import com.bankingsystem.simulator.model.dto.WithdrawRequest;
+import com.bankingsystem.simulator.service.ReactiveTransactionService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Functional handlers for the reactive transaction API. Each handler returns an async
+ * response, so the request thread is released while the Mongo calls are in flight.
+ * Errors use the same status codes and body as {@code GlobalExceptionHandler}.
+ */
+@Component
+@Slf4j
+public class ReactiveTransactionHandler {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ReactiveTransactionService transactionService;
+    private final Validator validator;
+    private final ObjectWriter transactionWriter;
+
+    public ReactiveTransactionHandler(ReactiveTransactionService transactionService, Validator validator,
+                                      ObjectMapper objectMapper) {
+        this.transactionService = transactionService;
+        this.validator = validator;
+        this.transactionWriter = objectMapper.writerFor(TransactionResponse.class);
+    }
+
+    public ServerResponse deposit(ServerRequest request) {
+        return respond(() -> transactionService.deposit(
+                request.pathVariable("accountNumber"), readBody(request, DepositRequest.class)));
+    }
+
+    public ServerResponse withdraw(ServerRequest request) {
+        return respond(() -> transactionService.withdraw(
+                request.pathVariable("accountNumber"), readBody(request, WithdrawRequest.class)));
+    }
+
+    public ServerResponse transfer(ServerRequest request) {
+        return respond(() -> transactionService.transfer(readBody(request, TransferRequest.class)));
+    }
+
+    /**
+     * The history as NDJSON, one line per transaction. Each line is written and flushed
+     * before the next one is requested from Mongo, so the history is never held in memory.
+     */
+    public ServerResponse getTransactions(ServerRequest request) {
+        Flux<byte[]> lines = transactionService.getTransactions(request.pathVariable("accountNumber"))
+                .map(this::toLine);
+        return ServerResponse.ok().contentType(NDJSON).body(lines);
+    }
+
+    private byte[] toLine(TransactionResponse transaction) {
+        byte[] json = transactionWriter.writeValueAsBytes(transaction);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    private ServerResponse respond(Call call) {
+        Mono<TransactionResponse> result;
+        try {
+            result = call.invoke();
+        } catch (Exception e) {
+            return error(e);
+        }
+        return ServerResponse.async(result
+                .map(body -> ServerResponse.ok().body(body))
+                .onErrorResume(e -> Mono.just(error(e))));
+    }
+
+    private <T> T readBody(ServerRequest request, Class<T> type) throws Exception {
+        T body = request.body(type);
+        Set<ConstraintViolation<T>> violations = validator.validate(body);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<T> first = violations.iterator().next();
+            throw new InvalidInputException(first.getPropertyPath() + ": " + first.getMessage());
+        }
+        return body;
+    }
+
+    private ServerResponse error(Throwable e) {
+        if (e instanceof AccountNotFoundException) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        if (e instanceof InvalidAmountException || e instanceof InsufficientBalanceException
+                || e instanceof InvalidInputException) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (e instanceof HttpMessageNotReadableException) {
+            return error(HttpStatus.BAD_REQUEST, e.getCause() instanceof JacksonException je
+                    ? je.getOriginalMessage()
+                    : "Malformed request body");
+        }
+        log.error("Reactive transaction request failed", e);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Something went wrong");
+    }
+
+    private ServerResponse error(HttpStatus status, String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", status.value());
+        error.put("error", message);
+        return ServerResponse.status(status).body(error);
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Mono<TransactionResponse> invoke() throws Exception;
+    }
+}
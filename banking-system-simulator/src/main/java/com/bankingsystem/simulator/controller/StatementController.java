@@ -0,0 +1,32 @@
+package com.bankingsystem.simulator.controller;
+
+import com.bankingsystem.simulator.model.dto.StatementResponse;
+import com.bankingsystem.simulator.service.StatementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+public class StatementController {
+
+    private final StatementService statementService;
+
+    @GetMapping("/{accountNumber}/statements")
+    public ResponseEntity<List<StatementResponse>> getMonthlyStatements(
+            @PathVariable String accountNumber,
+            @RequestParam String from,   // yyyy-MM
+            @RequestParam String to) {   // yyyy-MM, inclusive
+        return ResponseEntity.ok(statementService.getMonthlyStatements(accountNumber, from, to));
+    }
+
+    @GetMapping("/{accountNumber}/statements/{period}")
+    public ResponseEntity<StatementResponse> getStatement(
+            @PathVariable String accountNumber,
+            @PathVariable String period) { // yyyy-MM or yyyy-MM-dd
+        return ResponseEntity.ok(statementService.getStatement(accountNumber, period));
+    }
+}
@@ -1,45 +1,111 @@
 package com.bankingsystem.simulator.controller;
 
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.idempotency.IdempotencyStore;
 import com.bankingsystem.simulator.model.dto.*;
+import com.bankingsystem.simulator.service.TransactionExportService;
 import com.bankingsystem.simulator.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Date;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/accounts")
 @RequiredArgsConstructor
 public class TransactionController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final IdempotencyStore idempotencyStore;
 
     @PutMapping("/{accountNumber}/deposit")
     public ResponseEntity<TransactionResponse> deposit(
             @PathVariable String accountNumber,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody DepositRequest request) {
-        return ResponseEntity.ok(transactionService.deposit(accountNumber, request));
+        return respond(idempotencyStore.execute(idempotencyKey,
+                "DEPOSIT:" + accountNumber + ":" + request.getAmount(),
+                () -> transactionService.deposit(accountNumber, request)));
     }
 
 
     @PutMapping("/{accountNumber}/withdraw")
     public ResponseEntity<TransactionResponse> withdraw(
             @PathVariable String accountNumber,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody WithdrawRequest request) {
-        return ResponseEntity.ok(transactionService.withdraw(accountNumber, request));
+        return respond(idempotencyStore.execute(idempotencyKey,
+                "WITHDRAW:" + accountNumber + ":" + request.getAmount(),
+                () -> transactionService.withdraw(accountNumber, request)));
     }
 
     @PostMapping("/transfer")
     public ResponseEntity<TransactionResponse> transfer(
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody TransferRequest request) {
-        return ResponseEntity.ok(transactionService.transfer(request));
+        return respond(idempotencyStore.execute(idempotencyKey,
+                "TRANSFER:" + request.getSourceAccount() + ":" + request.getDestinationAccount() + ":" + request.getAmount(),
+                () -> transactionService.transfer(request)));
+    }
+
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(
+            @RequestBody List<TransferRequest> requests) { // items validated individually by the service
+        return ResponseEntity.ok(transactionService.transferBatch(requests));
     }
 
 
     @GetMapping("/{accountNumber}/transactions")
-    public ResponseEntity<List<TransactionResponse>> getTransactions(@PathVariable String accountNumber) {
-        return ResponseEntity.ok(transactionService.getTransactions(accountNumber));
+    public ResponseEntity<TransactionPageResponse> getTransactions(
+            @PathVariable String accountNumber,
+            TransactionPageRequest request) { // limit, from, to, cursor as query parameters
+        return ResponseEntity.ok(transactionService.getTransactionPage(accountNumber, request));
+    }
+
+    @GetMapping("/{accountNumber}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        // Checked here as well as in the service: once streaming starts the status is already 200
+        if (from != null && to != null && !from.before(to))
+            throw new InvalidInputException("from must be before to");
+
+        StreamingResponseBody body = gzip
+                ? out -> {
+                    GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024, true);
+                    transactionExportService.exportTransactions(accountNumber, from, to, zipped);
+                    zipped.finish();
+                }
+                : out -> transactionExportService.exportTransactions(accountNumber, from, to, out);
+
+        String filename = "transactions-" + accountNumber + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    private static ResponseEntity<TransactionResponse> respond(IdempotencyStore.Result result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body(result.response());
     }
 }
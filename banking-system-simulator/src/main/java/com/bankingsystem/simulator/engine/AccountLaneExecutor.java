@@ -0,0 +1,115 @@
+package com.bankingsystem.simulator.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Striped single-writer lanes. Every account number hashes onto one of a fixed
+ * number of single-threaded executors, so operations on the same account run one
+ * after another while operations on accounts in different lanes run in parallel.
+ *
+ * Work that touches two accounts runs on the lower-numbered lane and, from there,
+ * hands off to the higher-numbered lane. A lane thread only ever waits on a lane
+ * with a higher index, so two transfers in opposite directions cannot deadlock.
+ */
+@Slf4j
+public class AccountLaneExecutor implements AutoCloseable {
+
+    private final ThreadPoolExecutor[] lanes;
+
+    public AccountLaneExecutor(int laneCount) {
+        this(laneCount, false);
+    }
+
+    /**
+     * @param virtualThreads run each lane on a virtual thread, so a lane blocked on
+     *                       Mongo does not hold a platform thread
+     */
+    public AccountLaneExecutor(int laneCount, boolean virtualThreads) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount must be greater than 0");
+        }
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "account-lane-" + i;
+            Thread.Builder builder = virtualThreads
+                    ? Thread.ofVirtual().name(name)
+                    : Thread.ofPlatform().name(name).daemon(true);
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    builder.factory());
+        }
+        log.info("Started {} account lanes{}", laneCount, virtualThreads ? " on virtual threads" : "");
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public int laneOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+    /**
+     * Runs {@code work} on the lane owning {@code accountNumber} and waits for the result.
+     */
+    public <T> T execute(String accountNumber, Supplier<T> work) {
+        return await(lanes[laneOf(accountNumber)].submit(work::get));
+    }
+
+    /**
+     * Runs {@code work} while holding the lanes of both accounts, taken in lane order.
+     */
+    public <T> T execute(String first, String second, Supplier<T> work) {
+        int a = laneOf(first);
+        int b = laneOf(second);
+        if (a == b) {
+            return await(lanes[a].submit(work::get));
+        }
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        return await(lanes[low].submit(() -> await(lanes[high].submit(work::get))));
+    }
+
+    /**
+     * Number of operations waiting in each lane, indexed by lane.
+     */
+    public int[] queueDepths() {
+        int[] depths = new int[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            depths[i] = lanes[i].getQueue().size();
+        }
+        return depths;
+    }
+
+    @Override
+    public void close() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for account lane", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.bankingsystem.simulator.engine;
+
+import com.bankingsystem.simulator.model.dto.BatchTransferItemResult;
+import com.bankingsystem.simulator.model.dto.BatchTransferResponse;
+import com.bankingsystem.simulator.model.dto.TransferRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Group commit for single transfers. Callers enqueue a transfer and get a future;
+ * one background thread collects whatever arrives within {@code window} of the
+ * first waiting transfer (or until {@code maxBatch} are waiting), hands the group
+ * to the batch path in one call and completes each caller's future with its own
+ * item result. Under load one set of Mongo round trips is shared by many requests;
+ * a lone transfer waits at most one window.
+ * <p>
+ * The batch function reports each transfer's outcome in its results, and throws only
+ * when it applied none of them. A group whose commit throws is therefore committed
+ * again one transfer at a time, so a transfer that breaks the batch, or a transient
+ * error, fails only the callers whose own transfer fails.
+ */
+@Slf4j
+public class TransferGroupCommitter implements AutoCloseable {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration IDLE_POLL = Duration.ofMillis(100);
+
+    private record Pending(TransferRequest request, CompletableFuture<BatchTransferItemResult> result) {
+    }
+
+    private final Function<List<TransferRequest>, BatchTransferResponse> batch;
+    private final int maxBatch;
+    private final Duration window;
+    private final boolean virtualThread;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    /** Orders submit's check-and-enqueue against close, so nothing is enqueued after the final drain. */
+    private final Object lock = new Object();
+
+    private volatile boolean running = true;
+    private Thread thread;
+
+    public TransferGroupCommitter(Function<List<TransferRequest>, BatchTransferResponse> batch,
+                                  int maxBatch, Duration window, boolean virtualThread) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be greater than 0");
+        }
+        this.batch = batch;
+        this.maxBatch = maxBatch;
+        this.window = window;
+        this.virtualThread = virtualThread;
+    }
+
+    public void start() {
+        Thread.Builder builder = virtualThread
+                ? Thread.ofVirtual().name("transfer-group-commit")
+                : Thread.ofPlatform().name("transfer-group-commit").daemon(true);
+        thread = builder.start(this::run);
+        log.info("Transfer group commit started, window={}, maxBatch={}", window, maxBatch);
+    }
+
+    /** Queues a transfer for the next group; the future completes once that group is committed. */
+    public CompletableFuture<BatchTransferItemResult> submit(TransferRequest request) {
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        synchronized (lock) {
+            if (!running) {
+                throw new RejectedExecutionException("Transfer group commit is shut down");
+            }
+            queue.add(pending);
+        }
+        return pending.result();
+    }
+
+    /** Commits what is already queued, then stops; transfers submitted afterwards are rejected. */
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (lock) {
+            running = false;
+        }
+        if (thread != null) {
+            thread.join(SHUTDOWN_TIMEOUT.toMillis());
+        }
+        // Left over if the thread did not finish in time, or never started
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(p -> p.result().completeExceptionally(
+                new RejectedExecutionException("Transfer group commit is shut down")));
+    }
+
+    private void run() {
+        List<Pending> group = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!group.isEmpty()) {
+                commit(group);
+                group.clear();
+            }
+        }
+    }
+
+    private void collect(List<Pending> group) throws InterruptedException {
+        Pending first = queue.poll(IDLE_POLL.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        group.add(first);
+        long deadline = System.nanoTime() + window.toNanos();
+        while (group.size() < maxBatch) {
+            queue.drainTo(group, maxBatch - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxBatch || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<Pending> group) {
+        List<TransferRequest> requests = new ArrayList<>(group.size());
+        group.forEach(p -> requests.add(p.request()));
+        List<BatchTransferItemResult> results;
+        try {
+            results = batch.apply(requests).getResults();
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                log.warn("Group commit of a transfer failed: {}", e.getMessage());
+                group.getFirst().result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} transfers failed, committing them one at a time: {}",
+                    group.size(), e.getMessage());
+            group.forEach(p -> commit(List.of(p)));
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).result().complete(results.get(i));
+        }
+        log.debug("Group-committed {} transfers", group.size());
+    }
+}
@@ -0,0 +1,13 @@
+package com.bankingsystem.simulator.event;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Published by the transaction services after transactions have been handed to the
+ * writer. Listeners run synchronously on the publishing thread, so they should only
+ * record what they need and do slow work elsewhere.
+ */
+public record TransactionsRecordedEvent(List<Transaction> transactions) {
+}
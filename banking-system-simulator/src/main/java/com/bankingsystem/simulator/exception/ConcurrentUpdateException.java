@@ -0,0 +1,7 @@
+package com.bankingsystem.simulator.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,278 @@
+package com.bankingsystem.simulator.idempotency;
+
+import com.bankingsystem.simulator.config.IdempotencyProperties;
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.exception.IdempotencyConflictException;
+import com.bankingsystem.simulator.exception.InsufficientBalanceException;
+import com.bankingsystem.simulator.exception.InvalidAmountException;
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.entity.IdempotencyKey;
+import com.bankingsystem.simulator.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a money-moving request at most once per Idempotency-Key.
+ * <p>
+ * A key is claimed by inserting it into {@code idempotency_keys}; the unique _id makes
+ * exactly one request the owner, across instances. The owner stores its response under
+ * the key, and later requests with the key get that response back without touching
+ * the accounts. Completed keys are also kept in a bounded in-memory cache, so a retry
+ * storm against recent keys is answered without a Mongo round trip.
+ * <p>
+ * A claim is a lease held by an owner token. A background thread renews the leases of
+ * the requests running on this node, so only a key whose node died runs out of lease;
+ * the next retry then takes it over, instead of answering 409 until the key's TTL. A
+ * request that fails before touching the accounts (a rejected amount, a missing account,
+ * insufficient funds) releases its key, so the client can retry it. Any other failure may
+ * have happened after money moved: the key is marked FAILED, and retries are refused
+ * rather than run again. An outcome that cannot be written keeps its lease renewed and
+ * is written again by the background thread.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore implements AutoCloseable {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+    private final Cache<String, IdempotencyKey> completed;
+    // Keys claimed by requests on this node, until their outcome is written
+    private final Map<String, Claim> claims = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    /** The response, and whether it was replayed from an earlier request. */
+    public record Result(TransactionResponse response, boolean replayed) {
+    }
+
+    /** A key this node holds, and the outcome still to be written, if any. */
+    private record Claim(String owner, IdempotencyKey outcome) {
+    }
+
+    public IdempotencyStore(IdempotencyKeyRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(1, properties.getLease().toMillis() / 3);
+        executor = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("idempotency-leases").daemon(true).factory());
+        executor.scheduleWithFixedDelay(this::renewLeases, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Runs {@code request} unless {@code key} was already used.
+     *
+     * @param key         the client's Idempotency-Key; null runs the request unconditionally
+     * @param fingerprint identifies what the request does; reusing a key for a different request is rejected
+     */
+    public Result execute(String key, String fingerprint, Supplier<TransactionResponse> request) {
+        if (key == null || !properties.isEnabled()) {
+            return new Result(request.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new InvalidInputException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+
+        IdempotencyKey cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return replay(cached, fingerprint);
+        }
+
+        String owner = UUID.randomUUID().toString();
+        IdempotencyKey existing = claim(key, fingerprint, owner);
+        if (existing != null) {
+            if (IdempotencyKey.IN_PROGRESS.equals(existing.getStatus())) {
+                checkFingerprint(existing, fingerprint);
+                throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+            }
+            completed.put(key, existing);
+            return replay(existing, fingerprint);
+        }
+        claims.put(key, new Claim(owner, null));
+
+        TransactionResponse response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            if (leavesAccountsUntouched(e)) {
+                claims.remove(key);
+                release(key, owner);
+            } else {
+                log.error("Request with Idempotency-Key {} failed and may have been partly applied: {}",
+                        key, e.getMessage());
+                finish(IdempotencyKey.builder()
+                        .key(key)
+                        .fingerprint(fingerprint)
+                        .status(IdempotencyKey.FAILED)
+                        .owner(owner)
+                        .expiresAt(expiry())
+                        .build());
+            }
+            throw e;
+        }
+
+        finish(IdempotencyKey.builder()
+                .key(key)
+                .fingerprint(fingerprint)
+                .status(IdempotencyKey.COMPLETED)
+                .owner(owner)
+                .expiresAt(expiry())
+                .transactionId(response.getTransactionId())
+                .type(response.getType())
+                .amount(response.getAmount())
+                .timestamp(response.getTimestamp())
+                .transactionStatus(response.getStatus())
+                .build());
+        return new Result(response, false);
+    }
+
+    /**
+     * Inserts an IN_PROGRESS claim, or takes over one whose lease expired. Returns null if
+     * this request now owns the key, or the record that already holds it.
+     */
+    private IdempotencyKey claim(String key, String fingerprint, String owner) {
+        IdempotencyKey claim = IdempotencyKey.builder()
+                .key(key)
+                .fingerprint(fingerprint)
+                .status(IdempotencyKey.IN_PROGRESS)
+                .owner(owner)
+                .expiresAt(leaseExpiry())
+                .build();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                repository.insert(claim);
+                return null;
+            } catch (DuplicateKeyException e) {
+                IdempotencyKey existing = repository.findById(key).orElse(null);
+                if (existing != null && isAbandoned(existing) && existing.getFingerprint().equals(fingerprint)
+                        && repository.takeOver(key, existing.getExpiresAt(), owner, claim.getExpiresAt())) {
+                    log.warn("Took over Idempotency-Key {} from a request whose lease expired", key);
+                    return null;
+                }
+                if (existing != null) {
+                    return existing;
+                }
+                // Released by a failed request in the meantime: try to claim it again
+            }
+        }
+        throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+    }
+
+    /**
+     * Writes the request's outcome over its claim. If the write fails, the claim stays
+     * renewed and the background thread writes the outcome later.
+     */
+    private void finish(IdempotencyKey outcome) {
+        try {
+            complete(outcome);
+        } catch (RuntimeException e) {
+            log.warn("Could not store the outcome for Idempotency-Key {}, will retry: {}",
+                    outcome.getKey(), e.getMessage());
+            claims.put(outcome.getKey(), new Claim(outcome.getOwner(), outcome));
+        }
+    }
+
+    private void complete(IdempotencyKey outcome) {
+        if (!repository.complete(outcome)) {
+            log.error("Idempotency-Key {} was taken over while its request ran; it may have run twice",
+                    outcome.getKey());
+        }
+        claims.remove(outcome.getKey());
+        completed.put(outcome.getKey(), outcome);
+    }
+
+    /** Extends the leases of this node's claims, and writes the outcomes that could not be written. */
+    void renewLeases() {
+        claims.forEach((key, claim) -> {
+            try {
+                if (claim.outcome() != null) {
+                    complete(claim.outcome());
+                } else if (!repository.renew(key, claim.owner(), leaseExpiry())) {
+                    log.error("Lost the lease on Idempotency-Key {} while its request ran", key);
+                    claims.remove(key, claim);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not renew the lease on Idempotency-Key {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    private void release(String key, String owner) {
+        try {
+            repository.release(key, owner);
+        } catch (RuntimeException e) {
+            log.warn("Could not release Idempotency-Key {}: {}", key, e.getMessage());
+        }
+    }
+
+    /** Failures the services raise before any balance is changed, or after undoing their changes. */
+    private static boolean leavesAccountsUntouched(RuntimeException e) {
+        return e instanceof InvalidAmountException
+                || e instanceof InvalidInputException
+                || e instanceof AccountNotFoundException
+                || e instanceof InsufficientBalanceException;
+    }
+
+    private Result replay(IdempotencyKey record, String fingerprint) {
+        checkFingerprint(record, fingerprint);
+        if (IdempotencyKey.FAILED.equals(record.getStatus()))
+            throw new IdempotencyConflictException("The request with this Idempotency-Key failed and may have been "
+                    + "partly applied; check the account history before retrying with a new key");
+        log.info("Replaying response for Idempotency-Key {}", record.getKey());
+        return new Result(TransactionResponse.builder()
+                .transactionId(record.getTransactionId())
+                .type(record.getType())
+                .amount(record.getAmount())
+                .timestamp(record.getTimestamp())
+                .status(record.getTransactionStatus())
+                .build(), true);
+    }
+
+    private static void checkFingerprint(IdempotencyKey record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint))
+            throw new IdempotencyConflictException("Idempotency-Key was already used for a different request");
+    }
+
+    private static boolean isAbandoned(IdempotencyKey record) {
+        return IdempotencyKey.IN_PROGRESS.equals(record.getStatus())
+                && record.getExpiresAt() != null
+                && record.getExpiresAt().getTime() <= System.currentTimeMillis();
+    }
+
+    private Date leaseExpiry() {
+        return new Date(System.currentTimeMillis() + properties.getLease().toMillis());
+    }
+
+    private Date expiry() {
+        return new Date(System.currentTimeMillis() + properties.getTtl().toMillis());
+    }
+}
@@ -0,0 +1,70 @@
+package com.bankingsystem.simulator.journal;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Date;
+
+/**
+ * Binary encoding of a {@link Transaction} as stored in journal records.
+ */
+final class JournalCodec {
+
+    private static final byte VERSION = 1;
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(Transaction txn) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, txn.getId());
+            writeString(out, txn.getTransactionId());
+            writeString(out, txn.getType());
+            out.writeLong(txn.getAmount());
+            out.writeLong(txn.getTimestamp() == null ? Long.MIN_VALUE : txn.getTimestamp().getTime());
+            writeString(out, txn.getStatus());
+            writeString(out, txn.getSourceAccount());
+            writeString(out, txn.getDestinationAccount());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Transaction decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal record version " + version);
+        }
+        Transaction txn = new Transaction();
+        txn.setId(readString(in));
+        txn.setTransactionId(readString(in));
+        txn.setType(readString(in));
+        txn.setAmount(in.readLong());
+        long timestamp = in.readLong();
+        txn.setTimestamp(timestamp == Long.MIN_VALUE ? null : new Date(timestamp));
+        txn.setStatus(readString(in));
+        txn.setSourceAccount(readString(in));
+        txn.setDestinationAccount(readString(in));
+        return txn;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
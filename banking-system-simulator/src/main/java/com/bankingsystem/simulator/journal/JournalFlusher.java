@@ -0,0 +1,94 @@
+package com.bankingsystem.simulator.journal;
+
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread that copies journal records into the transactions collection in
+ * batched inserts and advances the journal checkpoint after each successful batch.
+ * On startup it begins at the checkpoint, so records left over from the previous run
+ * are replayed first. A failed batch is retried from the same position.
+ */
+@Slf4j
+public class JournalFlusher implements AutoCloseable {
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final TransactionJournal journal;
+    private final TransactionRepository transactionRepository;
+    private final int batchSize;
+    private final Duration interval;
+    private final boolean virtualThread;
+
+    private volatile boolean running = true;
+    private Thread thread;
+
+    public JournalFlusher(TransactionJournal journal, TransactionRepository transactionRepository,
+                          int batchSize, Duration interval, boolean virtualThread) {
+        this.journal = journal;
+        this.transactionRepository = transactionRepository;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.virtualThread = virtualThread;
+    }
+
+    public void start() {
+        Thread.Builder builder = virtualThread
+                ? Thread.ofVirtual().name("journal-flusher")
+                : Thread.ofPlatform().name("journal-flusher").daemon(true);
+        thread = builder.start(this::run);
+    }
+
+    /** Asks the flusher to look for new records now rather than at its next interval. */
+    public void wakeUp() {
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    /** Stops the flusher after it has drained what it can; anything left is replayed on the next start. */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        wakeUp();
+        if (thread != null) {
+            thread.join(SHUTDOWN_TIMEOUT.toMillis());
+        }
+    }
+
+    private void run() {
+        Duration backoff = interval;
+        while (true) {
+            try {
+                TransactionJournal.Position from = journal.checkpoint();
+                TransactionJournal.Batch batch = journal.read(from, batchSize);
+                if (!batch.transactions().isEmpty()) {
+                    int inserted = transactionRepository.insertIgnoringDuplicates(batch.transactions());
+                    log.debug("Flushed {} journaled transactions ({} new)", batch.transactions().size(), inserted);
+                }
+                if (batch.end().compareTo(from) > 0) {
+                    journal.commit(batch.end());
+                    backoff = interval;
+                    continue;
+                }
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(interval.toNanos());
+            } catch (Exception e) {
+                if (!running) {
+                    log.warn("Journal flusher stopped with records pending: {}", e.getMessage());
+                    return;
+                }
+                log.warn("Journal flush failed, retrying in {}: {}", backoff, e.getMessage());
+                LockSupport.parkNanos(backoff.toNanos());
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bankingsystem.simulator.journal;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Appends transactions to the local {@link TransactionJournal} and returns once they are
+ * fsynced; {@link JournalFlusher} copies them to Mongo afterwards. The _id is assigned
+ * here so that replaying a batch after a crash cannot insert a document twice.
+ */
+@RequiredArgsConstructor
+public class JournalTransactionWriter implements TransactionWriter {
+
+    private final TransactionJournal journal;
+    private final JournalFlusher flusher;
+
+    @Override
+    public void write(Transaction transaction) {
+        writeAll(List.of(transaction));
+    }
+
+    @Override
+    public void writeAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        for (Transaction transaction : transactions) {
+            if (transaction.getId() == null) {
+                transaction.setId(new ObjectId().toHexString());
+            }
+        }
+        try {
+            journal.awaitDurable(journal.append(transactions));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the transaction journal", e);
+        }
+        flusher.wakeUp();
+    }
+}
@@ -0,0 +1,26 @@
+package com.bankingsystem.simulator.journal;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Writes each transaction straight to its transactions bucket.
+ */
+@RequiredArgsConstructor
+public class MongoTransactionWriter implements TransactionWriter {
+
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public void write(Transaction transaction) {
+        transactionRepository.append(List.of(transaction));
+    }
+
+    @Override
+    public void writeAll(List<Transaction> transactions) {
+        transactionRepository.append(transactions);
+    }
+}
@@ -0,0 +1,339 @@
+package com.bankingsystem.simulator.journal;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local log of transactions, kept in fixed-size memory-mapped segment files
+ * ({@code segment-<n>.log}). Each record is {@code int length, int crc32, payload}; a zero
+ * length marks the end of a segment's data.
+ * <p>
+ * Appends are serialized and only copy bytes into the mapping. {@link #awaitDurable}
+ * fsyncs in groups: whoever gets the sync lock forces everything appended so far, and
+ * callers whose records were covered by that force return without forcing again.
+ * <p>
+ * A checkpoint file records the first record not yet copied to Mongo. Segments wholly
+ * before it are deleted, and everything after it is read again after a restart.
+ */
+@Slf4j
+public class TransactionJournal implements Closeable {
+
+    static final int HEADER_BYTES = 8;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // A lock rather than a monitor: force() blocks, and must not pin a virtual thread's carrier
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    // Guarded by appendLock
+    private long activeSegment;
+    private int activeOffset;
+
+    /** End of the last complete record; readers never go past it. */
+    private volatile Position written;
+    /** End of the last record known to be on disk. Updated under syncLock. */
+    private volatile Position durable;
+    /** First record not yet copied to Mongo. */
+    private volatile Position checkpoint;
+
+    /** A location in the journal: a segment number and a byte offset inside it. */
+    public record Position(long segment, int offset) implements Comparable<Position> {
+
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+        }
+    }
+
+    /** Records read from the journal and the position just after the last of them. */
+    public record Batch(List<Transaction> transactions, Position end) {
+    }
+
+    private TransactionJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the journal in {@code directory}, creating it if needed, and recovers the
+     * write position from the last segment. A torn record at the tail is discarded.
+     */
+    public static TransactionJournal open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("segment size must be at least 4096 bytes");
+        }
+        Files.createDirectories(directory);
+        TransactionJournal journal = new TransactionJournal(directory, segmentSize);
+        journal.recover();
+        return journal;
+    }
+
+    private void recover() throws IOException {
+        checkpoint = readCheckpoint();
+
+        List<Long> numbers;
+        try (Stream<Path> files = Files.list(directory)) {
+            numbers = files.map(f -> f.getFileName().toString())
+                    .filter(n -> n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_SUFFIX))
+                    .map(n -> Long.parseLong(n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+        for (long number : numbers) {
+            if (number < checkpoint.segment()) {
+                Files.deleteIfExists(segmentPath(number));
+            } else {
+                segments.put(number, map(number));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            activeSegment = checkpoint.segment();
+            activeOffset = 0;
+            segments.put(activeSegment, map(activeSegment));
+        } else {
+            activeSegment = segments.lastKey();
+            MappedByteBuffer active = segments.get(activeSegment);
+            int offset = 0;
+            int length;
+            while ((length = validRecordLength(active, offset)) > 0) {
+                offset += HEADER_BYTES + length;
+            }
+            activeOffset = offset;
+            if (offset + HEADER_BYTES <= segmentSize && active.getLong(offset) != 0) {
+                // A torn record: zero the tail so it can never be mistaken for a record later
+                log.warn("Discarding torn record at {} in journal segment {}", offset, activeSegment);
+                byte[] zeros = new byte[64 * 1024];
+                for (int i = offset; i < segmentSize; i += zeros.length) {
+                    active.put(i, zeros, 0, Math.min(zeros.length, segmentSize - i));
+                }
+                active.force();
+            }
+        }
+
+        written = new Position(activeSegment, activeOffset);
+        durable = written;
+        if (checkpoint.compareTo(written) > 0) {
+            checkpoint = written;
+        }
+        if (checkpoint.compareTo(written) < 0) {
+            log.info("Transaction journal has unflushed records from {} to {}", checkpoint, written);
+        }
+    }
+
+    /**
+     * Appends the transactions as consecutive records.
+     *
+     * @return the position just after the last record, to pass to {@link #awaitDurable}
+     */
+    public Position append(List<Transaction> transactions) throws IOException {
+        // Encode and checksum outside the lock; only the copy into the mapping is serialized
+        byte[][] payloads = new byte[transactions.size()][];
+        int[] checksums = new int[transactions.size()];
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = JournalCodec.encode(transactions.get(i));
+            if (HEADER_BYTES + payloads[i].length > segmentSize) {
+                throw new IllegalArgumentException("Journal record larger than a segment");
+            }
+            crc.reset();
+            crc.update(payloads[i]);
+            checksums[i] = (int) crc.getValue();
+        }
+
+        appendLock.lock();
+        try {
+            for (int i = 0; i < payloads.length; i++) {
+                byte[] payload = payloads[i];
+                if (activeOffset + HEADER_BYTES + payload.length > segmentSize) {
+                    rotate();
+                }
+                MappedByteBuffer active = segments.get(activeSegment);
+                active.put(activeOffset + HEADER_BYTES, payload);
+                active.putInt(activeOffset + 4, checksums[i]);
+                active.putInt(activeOffset, payload.length);
+                activeOffset += HEADER_BYTES + payload.length;
+            }
+            Position end = new Position(activeSegment, activeOffset);
+            written = end;
+            return end;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /** Blocks until every record up to {@code position} has been fsynced. */
+    public void awaitDurable(Position position) {
+        if (durable.compareTo(position) >= 0) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durable.compareTo(position) >= 0) {
+                return;
+            }
+            // Earlier segments were forced when the journal rotated away from them
+            Position upTo = written;
+            segments.get(upTo.segment()).force();
+            advanceDurable(upTo);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code maxRecords} fully written records starting at {@code from}.
+     * The returned end position may be past {@code from} even when no records were read,
+     * when the read stepped over the unused tail of a segment.
+     */
+    public Batch read(Position from, int maxRecords) throws IOException {
+        Position end = written;
+        List<Transaction> transactions = new ArrayList<>();
+        long segment = from.segment();
+        int offset = from.offset();
+        while (transactions.size() < maxRecords && new Position(segment, offset).compareTo(end) < 0) {
+            MappedByteBuffer buffer = segments.get(segment);
+            int length = offset + HEADER_BYTES <= segmentSize ? buffer.getInt(offset) : 0;
+            if (length == 0) {
+                // Only reachable in a segment the writer has rotated away from
+                segment++;
+                offset = 0;
+                continue;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_BYTES, payload);
+            transactions.add(JournalCodec.decode(payload));
+            offset += HEADER_BYTES + length;
+        }
+        return new Batch(transactions, new Position(segment, offset));
+    }
+
+    /** First record not yet copied to Mongo. */
+    public Position checkpoint() {
+        return checkpoint;
+    }
+
+    /** End of the last appended record. */
+    public Position written() {
+        return written;
+    }
+
+    /**
+     * Records that everything before {@code position} is in Mongo and deletes the
+     * segments that are no longer needed.
+     */
+    public void commit(Position position) throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.allocate(12).putLong(position.segment()).putInt(position.offset()).flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = position;
+
+        for (Map.Entry<Long, MappedByteBuffer> entry : segments.headMap(position.segment()).entrySet()) {
+            segments.remove(entry.getKey());
+            Files.deleteIfExists(segmentPath(entry.getKey()));
+        }
+    }
+
+    @Override
+    public void close() {
+        syncLock.lock();
+        try {
+            Position upTo = written;
+            segments.get(upTo.segment()).force();
+            advanceDurable(upTo);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Called with appendLock held
+    private void rotate() throws IOException {
+        segments.get(activeSegment).force();
+        advanceDurable(new Position(activeSegment, activeOffset));
+        long next = activeSegment + 1;
+        segments.put(next, map(next));
+        activeSegment = next;
+        activeOffset = 0;
+    }
+
+    private void advanceDurable(Position position) {
+        syncLock.lock();
+        try {
+            if (durable.compareTo(position) < 0) {
+                durable = position;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** Payload length of a well-formed record at {@code offset}, or 0 if there is none. */
+    private int validRecordLength(MappedByteBuffer buffer, int offset) {
+        if (offset + HEADER_BYTES > segmentSize) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER_BYTES + length > segmentSize) {
+            return 0;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_BYTES, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? length : 0;
+    }
+
+    private MappedByteBuffer map(long number) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return new Position(0, 0);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        return new Position(bytes.getLong(), bytes.getInt());
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,16 @@
+package com.bankingsystem.simulator.journal;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Where completed transactions are recorded. Returning normally means the record is
+ * durable, although it may not be visible to queries yet.
+ */
+public interface TransactionWriter {
+
+    void write(Transaction transaction);
+
+    void writeAll(List<Transaction> transactions);
+}
@@ -0,0 +1,94 @@
+package com.bankingsystem.simulator.ledger;
+
+import com.bankingsystem.simulator.event.TransactionsRecordedEvent;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.service.LedgerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes balance snapshots in the background: for an account as soon as it has
+ * {@code snapshotEvery} new transactions, and for every account with any new
+ * transactions once per {@code interval}. Counting happens on the request thread;
+ * snapshots are taken one at a time on a single snapshot thread.
+ */
+@Slf4j
+public class LedgerSnapshotter implements AutoCloseable {
+
+    private final LedgerService ledgerService;
+    private final int snapshotEvery;
+    private final Duration interval;
+    private final boolean virtualThread;
+
+    /** New transactions per account since its last snapshot was started. */
+    private final ConcurrentMap<String, Integer> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    public LedgerSnapshotter(LedgerService ledgerService, int snapshotEvery, Duration interval, boolean virtualThread) {
+        if (snapshotEvery <= 0) {
+            throw new IllegalArgumentException("snapshotEvery must be greater than 0");
+        }
+        this.ledgerService = ledgerService;
+        this.snapshotEvery = snapshotEvery;
+        this.interval = interval;
+        this.virtualThread = virtualThread;
+    }
+
+    public void start() {
+        Thread.Builder builder = virtualThread
+                ? Thread.ofVirtual().name("ledger-snapshots")
+                : Thread.ofPlatform().name("ledger-snapshots").daemon(true);
+        executor = new ScheduledThreadPoolExecutor(1, builder.factory());
+        executor.scheduleWithFixedDelay(this::snapshotAll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        for (Transaction txn : event.transactions()) {
+            recorded(txn.getSourceAccount());
+            if (txn.getDestinationAccount() != null && !txn.getDestinationAccount().equals(txn.getSourceAccount())) {
+                recorded(txn.getDestinationAccount());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void recorded(String accountNumber) {
+        if (pending.merge(accountNumber, 1, Integer::sum) == snapshotEvery && executor != null) {
+            executor.execute(() -> snapshot(accountNumber));
+        }
+    }
+
+    private void snapshotAll() {
+        for (String accountNumber : pending.keySet()) {
+            snapshot(accountNumber);
+        }
+    }
+
+    void snapshot(String accountNumber) {
+        Integer count = pending.remove(accountNumber);
+        if (count == null) {
+            return;
+        }
+        try {
+            ledgerService.snapshot(accountNumber);
+        } catch (RuntimeException e) {
+            // Keep the account pending; the next sweep tries again
+            pending.merge(accountNumber, count, Integer::sum);
+            log.warn("Balance snapshot for {} failed: {}", accountNumber, e.getMessage());
+        }
+    }
+}
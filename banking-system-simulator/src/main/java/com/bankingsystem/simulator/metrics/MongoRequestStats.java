@@ -0,0 +1,34 @@
+package com.bankingsystem.simulator.metrics;
+
+/**
+ * Running totals of the Mongo commands issued by the current thread. The totals only
+ * ever grow; a service call reads them before and after and records the difference,
+ * so nested calls need no bookkeeping and nothing is allocated per call.
+ */
+public final class MongoRequestStats {
+
+    private static final ThreadLocal<MongoRequestStats> CURRENT = ThreadLocal.withInitial(MongoRequestStats::new);
+
+    private long commands;
+    private long nanos;
+
+    private MongoRequestStats() {
+    }
+
+    public static MongoRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void record(long elapsedNanos) {
+        commands++;
+        nanos += elapsedNanos;
+    }
+
+    public long commands() {
+        return commands;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bankingsystem.simulator.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds every completed command to the calling thread's {@link MongoRequestStats}. The
+ * sync driver reports completion on the thread that issued the command; commands from
+ * the reactive driver complete on driver threads, where nobody reads the totals.
+ */
+public class MongoRequestStatsListener implements CommandListener {
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        MongoRequestStats.current().record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        MongoRequestStats.current().record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+}
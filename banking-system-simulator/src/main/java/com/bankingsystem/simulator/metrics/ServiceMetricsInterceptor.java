@@ -0,0 +1,108 @@
+package com.bankingsystem.simulator.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times service calls and counts the Mongo commands each one issues.
+ * <p>
+ * Meters are looked up once per method (and once per exception type for failures)
+ * and kept, so a call costs two map reads, two {@code nanoTime}s and the histogram
+ * updates; nothing is allocated on the success path.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    static final String CALLS = "banking.service.calls";
+    static final String MONGO_COMMANDS = "banking.service.mongo.commands";
+    static final String MONGO_TIME = "banking.service.mongo.time";
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final ConcurrentMap<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    // The registry is resolved on first use: this interceptor is created with the post-processors
+    public ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodMetrics method = metrics.get(invocation.getMethod());
+        if (method == null) {
+            method = metrics.computeIfAbsent(invocation.getMethod(),
+                    m -> new MethodMetrics(registry.getObject(), ServiceMetricsPointcut.serviceName(m), m.getName()));
+        }
+
+        MongoRequestStats mongo = MongoRequestStats.current();
+        long commandsBefore = mongo.commands();
+        long mongoNanosBefore = mongo.nanos();
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            method.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            method.failure(e.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            method.mongoCommands.record(mongo.commands() - commandsBefore);
+            method.mongoTime.record(mongo.nanos() - mongoNanosBefore, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class MethodMetrics {
+
+        private final MeterRegistry registry;
+        private final String service;
+        private final String method;
+        private final Timer success;
+        private final DistributionSummary mongoCommands;
+        private final Timer mongoTime;
+        private final ConcurrentMap<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        MethodMetrics(MeterRegistry registry, String service, String method) {
+            this.registry = registry;
+            this.service = service;
+            this.method = method;
+            this.success = callTimer("success", "none");
+            this.mongoCommands = DistributionSummary.builder(MONGO_COMMANDS)
+                    .description("Mongo commands issued per service call")
+                    .tags("service", service, "method", method)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1_000.0)
+                    .register(registry);
+            this.mongoTime = Timer.builder(MONGO_TIME)
+                    .description("Time spent in Mongo commands per service call")
+                    .tags("service", service, "method", method)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+        }
+
+        Timer failure(Class<?> exceptionType) {
+            Timer timer = failures.get(exceptionType);
+            return timer != null ? timer
+                    : failures.computeIfAbsent(exceptionType, t -> callTimer("failure", t.getSimpleName()));
+        }
+
+        private Timer callTimer(String outcome, String exception) {
+            return Timer.builder(CALLS)
+                    .description("Service call latency")
+                    .tags("service", service, "method", method, "outcome", outcome, "exception", exception)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bankingsystem.simulator.metrics;
+
+import com.bankingsystem.simulator.service.AccountService;
+import com.bankingsystem.simulator.service.TransactionService;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Matches the {@link AccountService} and {@link TransactionService} methods of
+ * {@code @Service} implementations. Decorators such as the lane service are plain
+ * beans, so a call is timed once, where the work is done.
+ */
+class ServiceMetricsPointcut extends StaticMethodMatcherPointcut {
+
+    static final List<Class<?>> SERVICES = List.of(AccountService.class, TransactionService.class);
+
+    ServiceMetricsPointcut() {
+        setClassFilter(type -> AnnotatedElementUtils.hasAnnotation(type, Service.class)
+                && SERVICES.stream().anyMatch(service -> service.isAssignableFrom(type)));
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return serviceOf(method) != null;
+    }
+
+    static String serviceName(Method method) {
+        Class<?> service = serviceOf(method);
+        return service != null ? service.getSimpleName() : method.getDeclaringClass().getSimpleName();
+    }
+
+    private static Class<?> serviceOf(Method method) {
+        for (Class<?> service : SERVICES) {
+            if (service.isAssignableFrom(method.getDeclaringClass())
+                    && ReflectionUtils.findMethod(service, method.getName(), method.getParameterTypes()) != null) {
+                return service;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bankingsystem.simulator.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Proxies the account and transaction services with {@link ServiceMetricsInterceptor}.
+ * Class-based proxies, so beans injected by their implementation type still resolve.
+ */
+public class ServiceMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public ServiceMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        this.advisor = new DefaultPointcutAdvisor(new ServiceMetricsPointcut(), new ServiceMetricsInterceptor(registry));
+        this.beforeExistingAdvisors = true;
+        setProxyTargetClass(true);
+    }
+}
@@ -0,0 +1,19 @@
+package com.bankingsystem.simulator.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One NDJSON line of a bulk import's results.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountImportResult {
+    private long line;            // 1-based line of the uploaded file
+    private String status;        // CREATED, REJECTED (invalid row) or FAILED (not written)
+    private String accountNumber; // set on CREATED
+    private String holderName;
+    private String error;         // set unless CREATED
+}
@@ -1,13 +1,16 @@
 package com.bankingsystem.simulator.model.dto;
 
+import com.bankingsystem.simulator.model.dto.json.MinorUnitsSerializer;
 import lombok.Builder;
 import lombok.Data;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 @Data
 @Builder
 public class AccountResponse {
     private String accountNumber;
     private String holderName;
-    private Double balance;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long balance; // minor units, written as a decimal
     private String status;
 }
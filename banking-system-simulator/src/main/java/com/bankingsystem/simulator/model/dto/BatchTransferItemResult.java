@@ -0,0 +1,13 @@
+package com.bankingsystem.simulator.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchTransferItemResult {
+    private int index;                       // position in the submitted list
+    private String status;                   // SUCCESS or FAILED
+    private TransactionResponse transaction; // set on SUCCESS
+    private String error;                    // set on FAILED
+}
@@ -1,13 +1,14 @@
 package com.bankingsystem.simulator.model.dto;
 
-import jakarta.validation.constraints.NotNull;
+import com.bankingsystem.simulator.model.dto.json.MinorUnitsDeserializer;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
+import tools.jackson.databind.annotation.JsonDeserialize;
 
 @Data
 public class DepositRequest {
 
-    @NotNull(message = "Amount is required")
-    @Positive(message = "Amount must be greater than 0")
-    private Double amount;
+    @Positive(message = "Amount must be greater than 0") // also catches a missing amount
+    @JsonDeserialize(using = MinorUnitsDeserializer.class)
+    private long amount; // minor units; JSON carries major units, e.g. 10.25
 }
@@ -0,0 +1,20 @@
+package com.bankingsystem.simulator.model.dto;
+
+import com.bankingsystem.simulator.model.dto.json.MinorUnitsSerializer;
+import lombok.Builder;
+import lombok.Data;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Date;
+
+@Data
+@Builder
+public class LedgerBalanceResponse {
+    private String accountNumber;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long balance; // minor units, written as a decimal
+    private Date asOf;            // null for the current balance
+    private long events;          // transactions folded into the balance
+    private Date snapshotAsOf;    // the snapshot the replay started from, null if none
+    private long replayedEvents;  // transactions replayed on top of the snapshot
+}
@@ -0,0 +1,16 @@
+package com.bankingsystem.simulator.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@Builder
+public class StatementBackfillStatus {
+    private boolean running;
+    private long accountsRebuilt;
+    private long accountsFailed;
+    private Date startedAt;
+    private Date finishedAt;
+}
@@ -0,0 +1,24 @@
+package com.bankingsystem.simulator.model.dto;
+
+import com.bankingsystem.simulator.model.dto.json.MinorUnitsSerializer;
+import lombok.Builder;
+import lombok.Data;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+@Data
+@Builder
+public class StatementResponse {
+    private String accountNumber;
+    private String period;        // yyyy-MM or yyyy-MM-dd
+    // All amounts in minor units, written as decimals
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long openingBalance;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long totalIn;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long totalOut;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long closingBalance;
+    private long creditCount;
+    private long debitCount;
+}
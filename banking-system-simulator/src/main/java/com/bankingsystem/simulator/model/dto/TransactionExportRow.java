@@ -0,0 +1,25 @@
+package com.bankingsystem.simulator.model.dto;
+
+import com.bankingsystem.simulator.model.dto.json.MinorUnitsSerializer;
+import lombok.Builder;
+import lombok.Data;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Date;
+
+/**
+ * One NDJSON line of a transaction history export. Unlike {@link TransactionResponse}
+ * it carries both accounts, which auditors need to follow transfers.
+ */
+@Data
+@Builder
+public class TransactionExportRow {
+    private String transactionId;
+    private String type;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long amount; // minor units, written as a decimal
+    private Date timestamp;
+    private String status;
+    private String sourceAccount;
+    private String destinationAccount;
+}
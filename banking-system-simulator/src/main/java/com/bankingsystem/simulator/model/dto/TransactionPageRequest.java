@@ -0,0 +1,22 @@
+package com.bankingsystem.simulator.model.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+/**
+ * Query parameters for GET /api/accounts/{accountNumber}/transactions. All optional.
+ */
+@Data
+public class TransactionPageRequest {
+    private Integer limit;   // page size, defaults to 50
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date from;       // inclusive
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date to;         // exclusive
+
+    private String cursor;   // nextCursor of the previous page
+}
@@ -0,0 +1,13 @@
+package com.bankingsystem.simulator.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TransactionPageResponse {
+    private List<TransactionResponse> transactions; // newest first
+    private String nextCursor;                      // null on the last page
+}
@@ -1,7 +1,10 @@
 package com.bankingsystem.simulator.model.dto;
 
+import com.bankingsystem.simulator.model.dto.json.MinorUnitsSerializer;
+import com.bankingsystem.simulator.model.entity.Transaction;
 import lombok.Builder;
 import lombok.Data;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 import java.util.Date;
 
@@ -10,7 +13,18 @@ import java.util.Date;
 public class TransactionResponse {
     private String transactionId;
     private String type;
-    private Double amount;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long amount; // minor units, written as a decimal
     private Date timestamp;
     private String status;
+
+    public static TransactionResponse from(Transaction txn) {
+        return TransactionResponse.builder()
+                .transactionId(txn.getTransactionId())
+                .type(txn.getType())
+                .amount(txn.getAmount())
+                .timestamp(txn.getTimestamp())
+                .status(txn.getStatus())
+                .build();
+    }
 }
@@ -0,0 +1,38 @@
+package com.bankingsystem.simulator.model.dto.json;
+
+import com.bankingsystem.simulator.util.Money;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+import java.math.BigDecimal;
+
+/**
+ * Reads a JSON decimal amount in major units (123.45) into minor units (12345) without
+ * going through a double. Amounts with more than two decimal places are rejected.
+ */
+public class MinorUnitsDeserializer extends ValueDeserializer<Long> {
+
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) throws JacksonException {
+        BigDecimal amount;
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT) || p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            amount = p.getDecimalValue();
+        } else if (p.hasToken(JsonToken.VALUE_STRING)) {
+            try {
+                amount = new BigDecimal(p.getString().trim());
+            } catch (NumberFormatException e) {
+                return ctxt.reportInputMismatch(Long.class, "Amount must be a number");
+            }
+        } else {
+            return ctxt.reportInputMismatch(Long.class, "Amount must be a number");
+        }
+        try {
+            return Money.toMinor(amount);
+        } catch (ArithmeticException e) {
+            return ctxt.reportInputMismatch(Long.class, "Amount must have at most 2 decimal places");
+        }
+    }
+}
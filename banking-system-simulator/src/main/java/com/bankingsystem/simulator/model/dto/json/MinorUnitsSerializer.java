@@ -0,0 +1,19 @@
+package com.bankingsystem.simulator.model.dto.json;
+
+import com.bankingsystem.simulator.util.Money;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes a minor-units long as a JSON decimal number (12345 -> 123.45), so the API
+ * keeps returning amounts in major units.
+ */
+public class MinorUnitsSerializer extends ValueSerializer<Long> {
+
+    @Override
+    public void serialize(Long value, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        gen.writeNumber(Money.toDecimal(value));
+    }
+}
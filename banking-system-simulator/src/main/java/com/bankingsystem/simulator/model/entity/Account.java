@@ -2,7 +2,9 @@ package com.bankingsystem.simulator.model.entity;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.util.Date;
 
@@ -18,7 +20,11 @@ public class Account {
 
     private String accountNumber;
     private String holderName;
-    private Double balance;
+    @Field("balanceMinor")
+    private long balance;    // minor units (cents)
     private String status;   // ACTIVE or INACTIVE
     private Date createdAt;
+
+    @Version
+    private Long version;    // bumped by every write, including balance updates
 }
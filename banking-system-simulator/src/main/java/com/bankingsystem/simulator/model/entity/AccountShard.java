@@ -0,0 +1,30 @@
+package com.bankingsystem.simulator.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * One slice of a hot account's balance. Shard 0 is the account document itself;
+ * shards 1..K-1 are kept here, with ids {@code <accountNumber>:<shard>}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "account_shards")
+public class AccountShard {
+
+    @Id
+    private String id;
+
+    private String accountNumber;
+    private int shard;
+    @Field("balanceMinor")
+    private long balance;    // minor units (cents)
+
+    public static String id(String accountNumber, int shard) {
+        return accountNumber + ":" + shard;
+    }
+}
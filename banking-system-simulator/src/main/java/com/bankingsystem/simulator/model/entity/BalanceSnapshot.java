@@ -0,0 +1,31 @@
+package com.bankingsystem.simulator.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.Date;
+
+/**
+ * An account's balance folded from its transactions up to and including the one at
+ * (asOf, lastEventId), in (timestamp, _id) order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "balance_snapshots")
+public class BalanceSnapshot {
+
+    @Id
+    private String id;
+
+    private String accountNumber;
+    @Field("balanceMinor")
+    private long balance;        // minor units (cents)
+    private long events;         // transactions folded in since the account was opened
+    private Date asOf;           // timestamp of the last transaction folded in
+    private String lastEventId;  // _id of that transaction
+    private Date createdAt;
+}
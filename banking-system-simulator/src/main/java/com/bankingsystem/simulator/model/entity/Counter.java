@@ -0,0 +1,18 @@
+package com.bankingsystem.simulator.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "counters")
+public class Counter {
+
+    @Id
+    private String id;      // counter name, e.g. "accountNumber"
+
+    private long value;     // first value not yet handed out to any node
+}
@@ -0,0 +1,40 @@
+package com.bankingsystem.simulator.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.Date;
+
+/**
+ * A client's Idempotency-Key and, once the request has completed, its response.
+ * Removed by a TTL index on expiresAt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "idempotency_keys")
+public class IdempotencyKey {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private String key;
+
+    private String fingerprint;   // operation, accounts and amount the key was first used with
+    private String status;        // IN_PROGRESS, COMPLETED, or FAILED after the accounts may have been touched
+    private String owner;         // token of the request holding the claim
+    private Date expiresAt;
+
+    // The response, once COMPLETED
+    private String transactionId;
+    private String type;
+    @Field("amountMinor")
+    private long amount;          // minor units (cents)
+    private Date timestamp;
+    private String transactionStatus;
+}
@@ -0,0 +1,43 @@
+package com.bankingsystem.simulator.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Totals of an account's transactions in one day or one month. The _id is
+ * {@code <accountNumber>:<granularity>:<period>}, so incremental updates are upserts
+ * by key and never need a read first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "statement_rollups")
+public class StatementRollup {
+
+    public static final String DAILY = "DAILY";      // period: yyyy-MM-dd
+    public static final String MONTHLY = "MONTHLY";  // period: yyyy-MM
+
+    @Id
+    private String id;
+
+    private String accountNumber;
+    private String granularity;
+    private String period;
+    @Field("creditsMinor")
+    private long credits;        // minor units (cents) in
+    @Field("debitsMinor")
+    private long debits;         // minor units (cents) out
+    private long creditCount;
+    private long debitCount;
+
+    public static String idOf(String accountNumber, String granularity, String period) {
+        return accountNumber + ":" + granularity + ":" + period;
+    }
+
+    public long net() {
+        return credits - debits;
+    }
+}
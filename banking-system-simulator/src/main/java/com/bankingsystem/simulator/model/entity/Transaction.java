@@ -3,6 +3,7 @@ package com.bankingsystem.simulator.model.entity;
 import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.util.Date;
 
@@ -18,7 +19,8 @@ public class Transaction {
 
     private String transactionId;     // Example: TXN-20250101-001
     private String type;              // DEPOSIT, WITHDRAW, TRANSFER
-    private Double amount;
+    @Field("amountMinor")
+    private long amount;              // minor units (cents)
     private Date timestamp;
     private String status;            // SUCCESS, FAILED
 
@@ -2,12 +2,22 @@ package com.bankingsystem.simulator.repository;
 
 import com.bankingsystem.simulator.model.entity.Account;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface AccountRepository extends MongoRepository<Account, String> {
+public interface AccountRepository extends MongoRepository<Account, String>, AccountRepositoryCustom {
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
     boolean existsByAccountNumber(String accountNumber);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    /** Every account with only its number loaded, read lazily from a cursor. The stream must be closed. */
+    @Query(value = "{}", fields = "{ 'accountNumber' : 1 }")
+    Stream<Account> streamAccountNumbers();
 }
@@ -0,0 +1,72 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Account;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Atomic balance updates. Amounts are in minor units. Each method is a single findAndModify round trip
+ * and returns the account as it is after the update.
+ * <p>
+ * Hot accounts (banking.accounts.sharding.hot-accounts) keep their balance split across the account
+ * document and K-1 {@link com.bankingsystem.simulator.model.entity.AccountShard} documents. For them a
+ * credit lands on a random shard, a debit tries a random shard and falls back to a sweep across all of
+ * them, and the returned balance is only that of the shard that was updated.
+ */
+public interface AccountRepositoryCustom {
+
+    /**
+     * Adds {@code amount} to the balance. Empty if the account does not exist.
+     */
+    Optional<Account> incrementBalance(String accountNumber, long amount);
+
+    /**
+     * Subtracts {@code amount} from the balance only if the balance covers it.
+     * Empty if the account does not exist or the balance is insufficient.
+     */
+    Optional<Account> decrementBalanceIfSufficient(String accountNumber, long amount);
+
+    /** Reported by {@link #incrementBalances} for an account that does not exist. */
+    String ACCOUNT_NOT_FOUND = "Account not found";
+
+    /**
+     * Adds each amount to the balance of its account using one unordered bulk write. Returns why
+     * each amount that was not applied was left out, keyed by account number: {@link #ACCOUNT_NOT_FOUND},
+     * or the error of its update. Hot accounts always exist, as their shard documents are upserted.
+     * An exception means the outcome of the whole write is unknown.
+     */
+    Map<String, String> incrementBalances(Map<String, Long> amountsByAccount);
+
+    /**
+     * Inserts new accounts with unordered bulk inserts, which the driver sends as batched insertMany
+     * commands. Returns the error of every account that was not inserted, keyed by its position in
+     * {@code accounts}; the rest were inserted.
+     */
+    Map<Integer, String> insertAll(List<Account> accounts);
+
+    /**
+     * The part of a hot account's balance held outside the account document, possibly up to
+     * banking.accounts.sharding.total-cache-ttl old. Always 0 for other accounts.
+     */
+    long shardBalance(String accountNumber);
+
+    /**
+     * {@link #shardBalance} for several accounts in one query, read fresh. Accounts that are not hot,
+     * or have no shard documents, are left out.
+     */
+    Map<String, Long> shardBalances(Collection<String> accountNumbers);
+
+    /**
+     * Creates the missing shard documents of a hot account with a zero balance.
+     */
+    void ensureShards(String accountNumber);
+
+    /**
+     * Gives an account document written before Account had a version field a version of 0,
+     * so it can be saved versioned rather than inserted again. A no-op if it already has one.
+     */
+    void initVersion(String id);
+}
@@ -0,0 +1,255 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.model.entity.AccountShard;
+import com.bankingsystem.simulator.sharding.HotAccounts;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+    private final HotAccounts hotAccounts;
+
+    @Override
+    public Optional<Account> incrementBalance(String accountNumber, long amount) {
+        int shard = hotAccounts.isHot(accountNumber) ? hotAccounts.randomShard() : 0;
+        if (shard > 0) {
+            AccountShard updated = mongoTemplate.findAndModify(byShardId(accountNumber, shard),
+                    new Update().inc("balance", amount), RETURN_NEW, AccountShard.class);
+            if (updated != null) {
+                return Optional.of(fromShard(updated));
+            }
+            // Shard documents not created yet; the account document always takes the credit
+        }
+        Query query = Query.query(Criteria.where("accountNumber").is(accountNumber));
+        Update update = new Update().inc("balance", amount).inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, RETURN_NEW, Account.class));
+    }
+
+    @Override
+    public Optional<Account> decrementBalanceIfSufficient(String accountNumber, long amount) {
+        int shard = hotAccounts.isHot(accountNumber) ? hotAccounts.randomShard() : 0;
+        if (shard > 0) {
+            Query query = Query.query(Criteria.where("_id").is(AccountShard.id(accountNumber, shard))
+                    .and("balance").gte(amount));
+            AccountShard updated = mongoTemplate.findAndModify(query,
+                    new Update().inc("balance", -amount), RETURN_NEW, AccountShard.class);
+            return updated != null ? Optional.of(fromShard(updated)) : sweep(accountNumber, amount);
+        }
+        Query query = Query.query(Criteria.where("accountNumber").is(accountNumber)
+                .and("balance").gte(amount));
+        Update update = new Update().inc("balance", -amount).inc("version", 1);
+        Account updated = mongoTemplate.findAndModify(query, update, RETURN_NEW, Account.class);
+        return updated == null && hotAccounts.isHot(accountNumber)
+                ? sweep(accountNumber, amount)
+                : Optional.ofNullable(updated);
+    }
+
+    @Override
+    public Map<String, String> incrementBalances(Map<String, Long> amountsByAccount) {
+        if (amountsByAccount.isEmpty()) {
+            return Map.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Account.class);
+        BulkOperations shardBulk = null;
+        List<String> plain = new ArrayList<>();
+        List<String> sharded = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : amountsByAccount.entrySet()) {
+            String accountNumber = entry.getKey();
+            int shard = hotAccounts.isHot(accountNumber) ? hotAccounts.randomShard() : 0;
+            if (shard == 0) {
+                bulk.updateOne(Query.query(Criteria.where("accountNumber").is(accountNumber)),
+                        new Update().inc("balance", entry.getValue()).inc("version", 1));
+                plain.add(accountNumber);
+            } else {
+                if (shardBulk == null) {
+                    shardBulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AccountShard.class);
+                }
+                shardBulk.upsert(byShardId(accountNumber, shard), new Update()
+                        .setOnInsert("accountNumber", accountNumber)
+                        .setOnInsert("shard", shard)
+                        .inc("balance", entry.getValue()));
+                sharded.add(accountNumber);
+            }
+        }
+
+        Map<String, String> failures = new HashMap<>();
+        if (!plain.isEmpty()) {
+            int matched;
+            try {
+                matched = bulk.execute().getMatchedCount();
+            } catch (BulkOperationException e) {
+                matched = e.getResult().getMatchedCount();
+                e.getErrors().forEach(error -> failures.put(plain.get(error.getIndex()), error.getMessage()));
+            }
+            if (matched + failures.size() < plain.size()) {
+                // Some accounts were removed since the caller read them: find out which
+                List<String> updated = plain.stream().filter(n -> !failures.containsKey(n)).toList();
+                Query query = Query.query(Criteria.where("accountNumber").in(updated));
+                query.fields().include("accountNumber");
+                Set<String> existing = new HashSet<>();
+                mongoTemplate.find(query, Account.class).forEach(a -> existing.add(a.getAccountNumber()));
+                updated.stream().filter(n -> !existing.contains(n)).forEach(n -> failures.put(n, ACCOUNT_NOT_FOUND));
+            }
+        }
+        if (shardBulk != null) {
+            try {
+                shardBulk.execute();
+            } catch (BulkOperationException e) {
+                e.getErrors().forEach(error -> failures.put(sharded.get(error.getIndex()), error.getMessage()));
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public Map<Integer, String> insertAll(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return Map.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Account.class);
+        accounts.forEach(bulk::insert);
+        try {
+            bulk.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            return failures;
+        }
+    }
+
+    @Override
+    public long shardBalance(String accountNumber) {
+        if (!hotAccounts.isHot(accountNumber)) {
+            return 0L;
+        }
+        return hotAccounts.shardTotal(accountNumber, this::sumShards);
+    }
+
+    @Override
+    public Map<String, Long> shardBalances(Collection<String> accountNumbers) {
+        List<String> hot = accountNumbers.stream().filter(hotAccounts::isHot).toList();
+        if (hot.isEmpty()) {
+            return Map.of();
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("accountNumber").in(hot)),
+                Aggregation.group("accountNumber").sum("balance").as("total"));
+        Map<String, Long> totals = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, AccountShard.class, Document.class)) {
+            totals.put(row.getString("_id"), ((Number) row.get("total")).longValue());
+        }
+        return totals;
+    }
+
+    @Override
+    public void ensureShards(String accountNumber) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AccountShard.class);
+        for (int shard = 1; shard < hotAccounts.shards(); shard++) {
+            bulk.upsert(byShardId(accountNumber, shard), new Update()
+                    .setOnInsert("accountNumber", accountNumber)
+                    .setOnInsert("shard", shard)
+                    .setOnInsert("balance", 0L));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void initVersion(String id) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id).and("version").exists(false)),
+                new Update().set("version", 0L), Account.class);
+    }
+
+    /**
+     * Debits {@code amount} spread over the account document and every shard document. The shards
+     * are drained one at a time, so concurrent debits can see a briefly lower balance; if they win
+     * the race and the sweep comes up short, what it took goes back to the account document.
+     */
+    private Optional<Account> sweep(String accountNumber, long amount) {
+        Account account = mongoTemplate.findOne(
+                Query.query(Criteria.where("accountNumber").is(accountNumber)), Account.class);
+        if (account == null) {
+            return Optional.empty();
+        }
+        long total = account.getBalance() + sumShards(accountNumber);
+        if (total < amount) {
+            return Optional.empty();
+        }
+
+        long remaining = amount;
+        Account before = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("accountNumber").is(accountNumber).and("balance").gt(0)),
+                drain(remaining, true), Account.class);
+        if (before != null) {
+            remaining -= Math.min(before.getBalance(), remaining);
+        }
+        while (remaining > 0) {
+            // Any shard with funds, including ones left over from a larger shard count
+            AccountShard shard = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("accountNumber").is(accountNumber).and("balance").gt(0)),
+                    drain(remaining, false), AccountShard.class);
+            if (shard == null) {
+                break;
+            }
+            remaining -= Math.min(shard.getBalance(), remaining);
+        }
+
+        if (remaining > 0) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("accountNumber").is(accountNumber)),
+                    new Update().inc("balance", amount - remaining).inc("version", 1), Account.class);
+            return Optional.empty();
+        }
+        account.setBalance(total - amount);
+        return Optional.of(account);
+    }
+
+    private long sumShards(String accountNumber) {
+        return shardBalances(List.of(accountNumber)).getOrDefault(accountNumber, 0L);
+    }
+
+    /** Pipeline update taking up to {@code amount} from the balance without going below zero. */
+    static AggregationUpdate drain(long amount, boolean versioned) {
+        Document fields = new Document("balanceMinor",
+                new Document("$max", List.of(0L, new Document("$subtract", List.of("$balanceMinor", amount)))));
+        if (versioned) {
+            fields.append("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L)));
+        }
+        AggregationOperation set = context -> new Document("$set", fields);
+        return AggregationUpdate.from(List.of(set));
+    }
+
+    static Query byShardId(String accountNumber, int shard) {
+        return Query.query(Criteria.where("_id").is(AccountShard.id(accountNumber, shard)));
+    }
+
+    static Account fromShard(AccountShard shard) {
+        return Account.builder().accountNumber(shard.getAccountNumber()).balance(shard.getBalance()).build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.BalanceSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Date;
+import java.util.Optional;
+
+public interface BalanceSnapshotRepository extends MongoRepository<BalanceSnapshot, String> {
+
+    Optional<BalanceSnapshot> findFirstByAccountNumberOrderByAsOfDescEventsDesc(String accountNumber);
+
+    Optional<BalanceSnapshot> findFirstByAccountNumberAndAsOfLessThanEqualOrderByAsOfDescEventsDesc(
+            String accountNumber, Date asOf);
+}
@@ -0,0 +1,7 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Counter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CounterRepository extends MongoRepository<Counter, String>, CounterRepositoryCustom {
+}
@@ -0,0 +1,11 @@
+package com.bankingsystem.simulator.repository;
+
+public interface CounterRepositoryCustom {
+
+    /**
+     * Atomically reserves {@code size} consecutive values of the named counter, creating
+     * the counter at 0 if needed, and returns the first one. The caller owns
+     * [returned, returned + size) exclusively.
+     */
+    long reserveBlock(String name, int size);
+}
@@ -0,0 +1,27 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Counter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class CounterRepositoryCustomImpl implements CounterRepositoryCustom {
+
+    private static final FindAndModifyOptions UPSERT_RETURN_NEW = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long reserveBlock(String name, int size) {
+        Counter counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(name)),
+                new Update().inc("value", size),
+                UPSERT_RETURN_NEW,
+                Counter.class);
+        return counter.getValue() - size;
+    }
+}
@@ -0,0 +1,7 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.IdempotencyKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyKeyRepository extends MongoRepository<IdempotencyKey, String>, IdempotencyKeyRepositoryCustom {
+}
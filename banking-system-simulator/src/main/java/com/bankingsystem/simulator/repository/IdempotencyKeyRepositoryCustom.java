@@ -0,0 +1,27 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.IdempotencyKey;
+
+import java.util.Date;
+
+public interface IdempotencyKeyRepositoryCustom {
+
+    /**
+     * Moves the lease of an IN_PROGRESS key from {@code expiredLease}, as last read, to
+     * {@code owner} until {@code newLease}. Only one of several callers that read the same
+     * lease succeeds. Returns whether this caller now owns the key.
+     */
+    boolean takeOver(String key, Date expiredLease, String owner, Date newLease);
+
+    /** Extends {@code owner}'s claim on an IN_PROGRESS key. Returns false if it no longer holds it. */
+    boolean renew(String key, String owner, Date newLease);
+
+    /** Deletes an IN_PROGRESS key if {@code owner} still holds it. */
+    void release(String key, String owner);
+
+    /**
+     * Replaces the claim with the request's outcome, if the record's owner still holds it.
+     * Returns false if the key was taken over.
+     */
+    boolean complete(IdempotencyKey outcome);
+}
@@ -0,0 +1,48 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.IdempotencyKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+
+@RequiredArgsConstructor
+public class IdempotencyKeyRepositoryCustomImpl implements IdempotencyKeyRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean takeOver(String key, Date expiredLease, String owner, Date newLease) {
+        Query query = Query.query(Criteria.where("_id").is(key)
+                .and("status").is(IdempotencyKey.IN_PROGRESS)
+                .and("expiresAt").is(expiredLease));
+        Update update = new Update().set("owner", owner).set("expiresAt", newLease);
+        return mongoTemplate.updateFirst(query, update, IdempotencyKey.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean renew(String key, String owner, Date newLease) {
+        return mongoTemplate.updateFirst(claimedBy(key, owner), new Update().set("expiresAt", newLease),
+                IdempotencyKey.class).getMatchedCount() == 1;
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        mongoTemplate.remove(claimedBy(key, owner), IdempotencyKey.class);
+    }
+
+    @Override
+    public boolean complete(IdempotencyKey outcome) {
+        return mongoTemplate.replace(claimedBy(outcome.getKey(), outcome.getOwner()), outcome)
+                .getMatchedCount() == 1;
+    }
+
+    private static Query claimedBy(String key, String owner) {
+        return Query.query(Criteria.where("_id").is(key)
+                .and("owner").is(owner)
+                .and("status").is(IdempotencyKey.IN_PROGRESS));
+    }
+}
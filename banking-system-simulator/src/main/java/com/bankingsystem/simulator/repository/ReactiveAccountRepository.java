@@ -0,0 +1,15 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Account;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AccountRepository} for the reactive API.
+ */
+public interface ReactiveAccountRepository extends ReactiveMongoRepository<Account, String>, ReactiveAccountRepositoryCustom {
+
+    Mono<Account> findByAccountNumber(String accountNumber);
+
+    Mono<Boolean> existsByAccountNumber(String accountNumber);
+}
@@ -0,0 +1,24 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Account;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterparts of {@link AccountRepositoryCustom#incrementBalance} and
+ * {@link AccountRepositoryCustom#decrementBalanceIfSufficient}, with the same handling of hot
+ * accounts: the returned balance is then only that of the shard that was updated.
+ */
+public interface ReactiveAccountRepositoryCustom {
+
+    /**
+     * Atomically adds {@code amount} minor units to the balance; emits the updated
+     * account, or completes empty if it does not exist.
+     */
+    Mono<Account> incrementBalance(String accountNumber, long amount);
+
+    /**
+     * Atomically subtracts {@code amount} minor units only if the balance covers it;
+     * completes empty if the account does not exist or the balance is too low.
+     */
+    Mono<Account> decrementBalanceIfSufficient(String accountNumber, long amount);
+}
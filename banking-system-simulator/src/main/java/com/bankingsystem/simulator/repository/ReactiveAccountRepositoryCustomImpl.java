@@ -0,0 +1,124 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.model.entity.AccountShard;
+import com.bankingsystem.simulator.sharding.HotAccounts;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import static com.bankingsystem.simulator.repository.AccountRepositoryCustomImpl.byShardId;
+import static com.bankingsystem.simulator.repository.AccountRepositoryCustomImpl.drain;
+
+/**
+ * The balance updates of {@link AccountRepositoryCustomImpl}, hot-account shards included,
+ * on the reactive driver.
+ */
+@RequiredArgsConstructor
+public class ReactiveAccountRepositoryCustomImpl implements ReactiveAccountRepositoryCustom {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final HotAccounts hotAccounts;
+
+    @Override
+    public Mono<Account> incrementBalance(String accountNumber, long amount) {
+        int shard = hotAccounts.isHot(accountNumber) ? hotAccounts.randomShard() : 0;
+        Mono<Account> accountDocument = Mono.defer(() -> reactiveMongoTemplate.findAndModify(byAccount(accountNumber),
+                new Update().inc("balance", amount).inc("version", 1), RETURN_NEW, Account.class));
+        if (shard == 0) {
+            return accountDocument;
+        }
+        // Shard documents not created yet; the account document always takes the credit
+        return reactiveMongoTemplate.findAndModify(byShardId(accountNumber, shard),
+                        new Update().inc("balance", amount), RETURN_NEW, AccountShard.class)
+                .map(AccountRepositoryCustomImpl::fromShard)
+                .switchIfEmpty(accountDocument);
+    }
+
+    @Override
+    public Mono<Account> decrementBalanceIfSufficient(String accountNumber, long amount) {
+        boolean hot = hotAccounts.isHot(accountNumber);
+        int shard = hot ? hotAccounts.randomShard() : 0;
+        Mono<Account> sweep = Mono.defer(() -> sweep(accountNumber, amount));
+        if (shard > 0) {
+            Query query = Query.query(Criteria.where("_id").is(AccountShard.id(accountNumber, shard))
+                    .and("balance").gte(amount));
+            return reactiveMongoTemplate.findAndModify(query,
+                            new Update().inc("balance", -amount), RETURN_NEW, AccountShard.class)
+                    .map(AccountRepositoryCustomImpl::fromShard)
+                    .switchIfEmpty(sweep);
+        }
+        Query query = Query.query(Criteria.where("accountNumber").is(accountNumber)
+                .and("balance").gte(amount));
+        Update update = new Update().inc("balance", -amount).inc("version", 1);
+        Mono<Account> updated = reactiveMongoTemplate.findAndModify(query, update, RETURN_NEW, Account.class);
+        return hot ? updated.switchIfEmpty(sweep) : updated;
+    }
+
+    /**
+     * Same sweep as the blocking repository: checks the total, drains the account document
+     * and then the shards, and gives back what it took if a concurrent debit left it short.
+     */
+    private Mono<Account> sweep(String accountNumber, long amount) {
+        return reactiveMongoTemplate.findOne(byAccount(accountNumber), Account.class)
+                .zipWith(sumShards(accountNumber))
+                .flatMap(balances -> {
+                    Account account = balances.getT1();
+                    long total = account.getBalance() + balances.getT2();
+                    if (total < amount) {
+                        return Mono.empty();
+                    }
+                    return reactiveMongoTemplate.findAndModify(withFunds(accountNumber), drain(amount, true), Account.class)
+                            .map(before -> amount - Math.min(before.getBalance(), amount))
+                            .defaultIfEmpty(amount)
+                            .flatMap(remaining -> drainShards(accountNumber, remaining))
+                            .flatMap(remaining -> {
+                                if (remaining > 0) {
+                                    return reactiveMongoTemplate.updateFirst(byAccount(accountNumber),
+                                                    new Update().inc("balance", amount - remaining).inc("version", 1),
+                                                    Account.class)
+                                            .then(Mono.<Account>empty());
+                                }
+                                account.setBalance(total - amount);
+                                return Mono.just(account);
+                            });
+                });
+    }
+
+    /** Takes {@code remaining} from the shards one at a time; emits what could not be taken. */
+    private Mono<Long> drainShards(String accountNumber, long remaining) {
+        if (remaining == 0) {
+            return Mono.just(0L);
+        }
+        // Any shard with funds, including ones left over from a larger shard count
+        return reactiveMongoTemplate.findAndModify(withFunds(accountNumber), drain(remaining, false), AccountShard.class)
+                .flatMap(shard -> drainShards(accountNumber, remaining - Math.min(shard.getBalance(), remaining)))
+                .defaultIfEmpty(remaining);
+    }
+
+    private Mono<Long> sumShards(String accountNumber) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("accountNumber").is(accountNumber)),
+                Aggregation.group("accountNumber").sum("balance").as("total"));
+        return reactiveMongoTemplate.aggregate(aggregation, AccountShard.class, Document.class)
+                .next()
+                .map(row -> ((Number) row.get("total")).longValue())
+                .defaultIfEmpty(0L);
+    }
+
+    private static Query byAccount(String accountNumber) {
+        return Query.query(Criteria.where("accountNumber").is(accountNumber));
+    }
+
+    private static Query withFunds(String accountNumber) {
+        return Query.query(Criteria.where("accountNumber").is(accountNumber).and("balance").gt(0));
+    }
+}
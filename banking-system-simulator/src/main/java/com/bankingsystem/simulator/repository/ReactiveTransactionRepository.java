@@ -0,0 +1,11 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link TransactionRepository} for the reactive API.
+ */
+public interface ReactiveTransactionRepository extends ReactiveMongoRepository<Transaction, String>,
+        ReactiveTransactionRepositoryCustom {
+}
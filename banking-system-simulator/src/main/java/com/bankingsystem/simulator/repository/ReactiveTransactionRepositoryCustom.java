@@ -0,0 +1,18 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTransactionRepositoryCustom {
+
+    /**
+     * All of an account's transactions (as source or destination), oldest bucket first.
+     */
+    Flux<Transaction> findBySourceAccountOrDestinationAccount(String source, String destination);
+
+    /**
+     * Inserts a new transaction into the bucket of its timestamp; emits it with its id set.
+     */
+    Mono<Transaction> append(Transaction transaction);
+}
@@ -0,0 +1,64 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets.Bucket;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveTransactionRepositoryCustomImpl implements ReactiveTransactionRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReactiveMongoTemplate archiveTemplate;
+    private final TransactionBuckets buckets;
+
+    public ReactiveTransactionRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate, MongoClient mongoClient,
+                                                   TransactionBuckets buckets) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.buckets = buckets;
+        this.archiveTemplate = buckets.isEnabled()
+                ? new ReactiveMongoTemplate(new SimpleReactiveMongoDatabaseFactory(mongoClient, buckets.archiveDatabase()),
+                        reactiveMongoTemplate.getConverter())
+                : null;
+    }
+
+    @Override
+    public Flux<Transaction> findBySourceAccountOrDestinationAccount(String source, String destination) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("sourceAccount").is(source),
+                Criteria.where("destinationAccount").is(destination)));
+        return Flux.fromIterable(buckets.oldestFirst(null, null))
+                .concatMap(bucket -> template(bucket)
+                        .flatMapMany(template -> template.find(query, Transaction.class, bucket.collection())));
+    }
+
+    @Override
+    public Mono<Transaction> append(Transaction transaction) {
+        Bucket bucket = buckets.bucketFor(transaction.getTimestamp());
+        return template(bucket).flatMap(template -> template.insert(transaction, bucket.collection()));
+    }
+
+    /** Same lookup as {@link TransactionBuckets#template}, without blocking on the existence checks. */
+    private Mono<ReactiveMongoTemplate> template(Bucket listed) {
+        Bucket bucket = buckets.latest(listed);
+        if (!buckets.mayHaveMoved(bucket)) {
+            return Mono.just(bucket.archived() ? archiveTemplate : reactiveMongoTemplate);
+        }
+        return reactiveMongoTemplate.collectionExists(bucket.collection())
+                .flatMap(live -> live
+                        ? Mono.just(false)
+                        : archiveTemplate.collectionExists(bucket.collection()))
+                .map(archived -> {
+                    if (!archived) {
+                        return reactiveMongoTemplate;
+                    }
+                    buckets.movedToArchive(bucket);
+                    return archiveTemplate;
+                });
+    }
+}
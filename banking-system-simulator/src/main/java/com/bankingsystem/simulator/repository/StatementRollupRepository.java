@@ -0,0 +1,17 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface StatementRollupRepository extends MongoRepository<StatementRollup, String>, StatementRollupRepositoryCustom {
+
+    /** Rollups of one granularity up to and including {@code period}, oldest first. */
+    List<StatementRollup> findByAccountNumberAndGranularityAndPeriodLessThanEqualOrderByPeriodAsc(
+            String accountNumber, String granularity, String period);
+
+    /** Rollups of one granularity from {@code from} to {@code to} inclusive, oldest first. */
+    List<StatementRollup> findByAccountNumberAndGranularityAndPeriodGreaterThanEqualAndPeriodLessThanEqualOrderByPeriodAsc(
+            String accountNumber, String granularity, String from, String to);
+}
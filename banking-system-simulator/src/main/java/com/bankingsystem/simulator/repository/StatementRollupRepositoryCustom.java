@@ -0,0 +1,20 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StatementRollupRepositoryCustom {
+
+    /**
+     * Adds each rollup's totals to the stored rollup with the same id, creating it if
+     * needed, in one unordered bulk write of $inc upserts.
+     *
+     * @return the deltas the server rejected; the others were applied
+     */
+    List<StatementRollup> increment(Collection<StatementRollup> deltas);
+
+    /** Replaces all of an account's rollups with {@code rollups}. */
+    void replaceAll(String accountNumber, Collection<StatementRollup> rollups);
+}
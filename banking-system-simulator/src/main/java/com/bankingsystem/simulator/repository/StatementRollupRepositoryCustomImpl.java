@@ -0,0 +1,53 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StatementRollupRepositoryCustomImpl implements StatementRollupRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<StatementRollup> increment(Collection<StatementRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        List<StatementRollup> ordered = new ArrayList<>(deltas);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatementRollup.class);
+        for (StatementRollup delta : ordered) {
+            bulk.upsert(Query.query(Criteria.where("_id").is(delta.getId())), new Update()
+                    .inc("credits", delta.getCredits())
+                    .inc("debits", delta.getDebits())
+                    .inc("creditCount", delta.getCreditCount())
+                    .inc("debitCount", delta.getDebitCount())
+                    .setOnInsert("accountNumber", delta.getAccountNumber())
+                    .setOnInsert("granularity", delta.getGranularity())
+                    .setOnInsert("period", delta.getPeriod()));
+        }
+        try {
+            bulk.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream().map(error -> ordered.get(error.getIndex())).toList();
+        }
+    }
+
+    @Override
+    public void replaceAll(String accountNumber, Collection<StatementRollup> rollups) {
+        mongoTemplate.remove(Query.query(Criteria.where("accountNumber").is(accountNumber)), StatementRollup.class);
+        if (!rollups.isEmpty()) {
+            mongoTemplate.insertAll(rollups);
+        }
+    }
+}
@@ -3,9 +3,9 @@ package com.bankingsystem.simulator.repository;
 import com.bankingsystem.simulator.model.entity.Transaction;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-import java.util.List;
-
-public interface TransactionRepository extends MongoRepository<Transaction, String> {
-
-    List<Transaction> findBySourceAccountOrDestinationAccount(String source, String dest);
+/**
+ * Reads and writes go through the bucket-routed methods of {@link TransactionRepositoryCustom};
+ * the inherited CRUD methods only see the legacy transactions collection.
+ */
+public interface TransactionRepository extends MongoRepository<Transaction, String>, TransactionRepositoryCustom {
 }
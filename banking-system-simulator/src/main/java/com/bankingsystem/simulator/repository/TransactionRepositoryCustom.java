@@ -0,0 +1,77 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.util.PageCursor;
+import org.bson.types.ObjectId;
+
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * One page of an account's transactions (as source or destination), newest first,
+     * ordered by (timestamp, _id) descending. {@code from}, {@code to} and {@code after}
+     * are optional; rows at or before {@code after} in that order are skipped.
+     * Only the response fields are read, and they are decoded without building entities.
+     */
+    List<TransactionRow> findPage(String accountNumber, Date from, Date to, PageCursor after, int limit);
+
+    /**
+     * All of an account's transactions in the optional [from, to) range, oldest first,
+     * read lazily from a server-side cursor. The stream must be closed.
+     */
+    Stream<Transaction> streamHistory(String accountNumber, Date from, Date to);
+
+    /**
+     * All of an account's transactions (as source or destination), oldest bucket first.
+     */
+    List<Transaction> findBySourceAccountOrDestinationAccount(String source, String destination);
+
+    /**
+     * Inserts new transactions, each into the bucket of its timestamp, with one insert per bucket.
+     */
+    void append(Collection<Transaction> transactions);
+
+    /**
+     * Inserts the transactions in one unordered bulk write per bucket. Documents whose _id already
+     * exists are skipped, so re-inserting a batch that was partly written is harmless.
+     *
+     * @return the number of documents actually inserted
+     */
+    int insertIgnoringDuplicates(Collection<Transaction> transactions);
+
+    /**
+     * Folds an account's successful transactions after {@code after} (exclusive) and up to
+     * {@code upTo} (inclusive), in (timestamp, _id) order, into a net balance change.
+     * Both bounds are optional. The sum is computed by one aggregation on the server.
+     */
+    LedgerTail replay(String accountNumber, PageCursor after, Date upTo);
+
+    /**
+     * Daily rollups of an account's successful transactions timestamped before
+     * {@code before}, with days in {@code zone}, grouped by one aggregation on the server.
+     */
+    List<StatementRollup> dailyTotals(String accountNumber, ZoneId zone, Date before);
+
+    /**
+     * A row of {@link #findPage}: the response and the _id that, with its timestamp, positions
+     * the page cursor.
+     */
+    record TransactionRow(ObjectId id, TransactionResponse response) {
+    }
+
+    /**
+     * The result of {@link #replay}: net change in minor units, the number of transactions
+     * folded in and the position of the last of them (null if there were none).
+     */
+    record LedgerTail(long net, long events, PageCursor last) {
+
+        public static final LedgerTail EMPTY = new LedgerTail(0, 0, null);
+    }
+}
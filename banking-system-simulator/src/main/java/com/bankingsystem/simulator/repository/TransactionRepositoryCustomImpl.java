@@ -0,0 +1,321 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets.Bucket;
+import com.bankingsystem.simulator.util.PageCursor;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@RequiredArgsConstructor
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    static final int EXPORT_BATCH_SIZE = 500;
+    private static final int DUPLICATE_KEY = 11000;
+
+    static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "timestamp").and(Sort.by(Sort.Direction.ASC, "_id"));
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "timestamp").and(Sort.by(Sort.Direction.DESC, "_id"));
+    private static final Document NEWEST_FIRST_DOCUMENT = new Document("timestamp", -1).append("_id", -1);
+    private static final TransactionRowCodec ROW_CODEC = new TransactionRowCodec();
+
+    private final TransactionBuckets buckets;
+
+    @Override
+    public List<TransactionRow> findPage(String accountNumber, Date from, Date to, PageCursor after, int limit) {
+        // Criteria here name stored fields directly, so they need no mapping
+        Document filter = historyCriteria(accountNumber, from, to, after).getCriteriaObject();
+        Date upper = after == null ? to : new Date(after.timestamp().getTime() + 1);
+        if (to != null && upper.after(to)) {
+            upper = to;
+        }
+        // Buckets are disjoint in time, so newest first they yield rows already in page order
+        List<TransactionRow> rows = new ArrayList<>(limit);
+        for (Bucket bucket : buckets.newestFirst(from, upper)) {
+            int remaining = limit - rows.size();
+            buckets.template(bucket).execute(bucket.collection(), collection -> collection
+                    .withCodecRegistry(CodecRegistries.fromRegistries(
+                            CodecRegistries.fromCodecs(ROW_CODEC), collection.getCodecRegistry()))
+                    .find(filter, TransactionRow.class)
+                    .projection(TransactionRowCodec.PROJECTION)
+                    .sort(NEWEST_FIRST_DOCUMENT)
+                    .limit(remaining)
+                    .into(rows));
+            if (rows.size() >= limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public Stream<Transaction> streamHistory(String accountNumber, Date from, Date to) {
+        Query query = new Query(historyCriteria(accountNumber, from, to, null))
+                .with(OLDEST_FIRST)
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+        BucketCursor cursor = new BucketCursor(buckets.oldestFirst(from, to).iterator(),
+                bucket -> buckets.template(bucket).stream(query, Transaction.class, bucket.collection()));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
+    @Override
+    public List<Transaction> findBySourceAccountOrDestinationAccount(String source, String destination) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("sourceAccount").is(source),
+                Criteria.where("destinationAccount").is(destination)));
+        List<Transaction> transactions = new ArrayList<>();
+        for (Bucket bucket : buckets.oldestFirst(null, null)) {
+            transactions.addAll(buckets.template(bucket).find(query, Transaction.class, bucket.collection()));
+        }
+        return transactions;
+    }
+
+    @Override
+    public void append(Collection<Transaction> transactions) {
+        buckets.group(transactions, Transaction::getTimestamp)
+                .forEach((bucket, group) -> buckets.template(bucket).insert(group, bucket.collection()));
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(Collection<Transaction> transactions) {
+        int inserted = 0;
+        for (Map.Entry<Bucket, List<Transaction>> group
+                : buckets.group(transactions, Transaction::getTimestamp).entrySet()) {
+            inserted += insertIgnoringDuplicates(group.getKey(), group.getValue());
+        }
+        return inserted;
+    }
+
+    private int insertIgnoringDuplicates(Bucket bucket, List<Transaction> transactions) {
+        BulkOperations bulk = buckets.template(bucket)
+                .bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class, bucket.collection());
+        transactions.forEach(bulk::insert);
+        try {
+            return bulk.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    @Override
+    public LedgerTail replay(String accountNumber, PageCursor after, Date upTo) {
+        Document group = new Document("_id", null)
+                .append("net", new Document("$sum", new Document("$subtract",
+                        List.of(credit(accountNumber), debit(accountNumber)))))
+                .append("events", new Document("$sum", 1L))
+                .append("lastTimestamp", new Document("$last", "$timestamp"))
+                .append("lastId", new Document("$last", "$_id"));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(new Criteria().orOperator(
+                        tailBranch("sourceAccount", accountNumber, after, upTo),
+                        tailBranch("destinationAccount", accountNumber, after, upTo))),
+                Aggregation.sort(OLDEST_FIRST),
+                context -> new Document("$group", group))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        // One fold per bucket, oldest first, so the last non-empty bucket holds the tail's end
+        LedgerTail tail = LedgerTail.EMPTY;
+        for (Bucket bucket : buckets.oldestFirst(after == null ? null : after.timestamp(),
+                upTo == null ? null : new Date(upTo.getTime() + 1))) {
+            Document result = buckets.template(bucket)
+                    .aggregate(aggregation, bucket.collection(), Document.class).getUniqueMappedResult();
+            if (result != null) {
+                tail = new LedgerTail(
+                        tail.net() + ((Number) result.get("net")).longValue(),
+                        tail.events() + ((Number) result.get("events")).longValue(),
+                        new PageCursor(result.getDate("lastTimestamp"), result.getObjectId("lastId")));
+            }
+        }
+        return tail;
+    }
+
+    @Override
+    public List<StatementRollup> dailyTotals(String accountNumber, ZoneId zone, Date before) {
+        Document project = new Document("_id", 0)
+                .append("day", new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                        .append("date", "$timestamp")
+                        .append("timezone", zone.getId())))
+                .append("credit", credit(accountNumber))
+                .append("debit", debit(accountNumber));
+        Document group = new Document("_id", "$day")
+                .append("credits", new Document("$sum", "$credit"))
+                .append("debits", new Document("$sum", "$debit"))
+                .append("creditCount", new Document("$sum", countIfPositive("$credit")))
+                .append("debitCount", new Document("$sum", countIfPositive("$debit")));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(historyCriteria(accountNumber, null, before, null).and("status").is("SUCCESS")),
+                context -> new Document("$project", project),
+                context -> new Document("$group", group))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        // A day in a zone other than UTC can straddle two monthly buckets; its halves are added up
+        Map<String, Document> days = new TreeMap<>();
+        for (Bucket bucket : buckets.oldestFirst(null, before)) {
+            for (Document day : buckets.template(bucket).aggregate(aggregation, bucket.collection(), Document.class)) {
+                days.merge(day.getString("_id"), day, TransactionRepositoryCustomImpl::addDays);
+            }
+        }
+        return days.values().stream()
+                .map(day -> StatementRollup.builder()
+                        .id(StatementRollup.idOf(accountNumber, StatementRollup.DAILY, day.getString("_id")))
+                        .accountNumber(accountNumber)
+                        .granularity(StatementRollup.DAILY)
+                        .period(day.getString("_id"))
+                        .credits(((Number) day.get("credits")).longValue())
+                        .debits(((Number) day.get("debits")).longValue())
+                        .creditCount(((Number) day.get("creditCount")).longValue())
+                        .debitCount(((Number) day.get("debitCount")).longValue())
+                        .build())
+                .toList();
+    }
+
+    private static Document addDays(Document a, Document b) {
+        Document sum = new Document("_id", a.get("_id"));
+        for (String field : List.of("credits", "debits", "creditCount", "debitCount")) {
+            sum.append(field, ((Number) a.get(field)).longValue() + ((Number) b.get(field)).longValue());
+        }
+        return sum;
+    }
+
+    /** Amount credited to the account by a transaction: any transfer in, or a deposit. */
+    private static Document credit(String accountNumber) {
+        return new Document("$cond", List.of(
+                new Document("$or", List.of(
+                        new Document("$eq", List.of("$destinationAccount", accountNumber)),
+                        new Document("$eq", List.of("$type", "DEPOSIT")))),
+                "$amountMinor", 0L));
+    }
+
+    /** Amount debited from the account by a transaction: a withdrawal or a transfer out. */
+    private static Document debit(String accountNumber) {
+        return new Document("$cond", List.of(
+                new Document("$and", List.of(
+                        new Document("$eq", List.of("$sourceAccount", accountNumber)),
+                        new Document("$ne", List.of("$type", "DEPOSIT")))),
+                "$amountMinor", 0L));
+    }
+
+    private static Document countIfPositive(String field) {
+        return new Document("$cond", List.of(new Document("$gt", List.of(field, 0L)), 1L, 0L));
+    }
+
+    private static Criteria tailBranch(String side, String accountNumber, PageCursor after, Date upTo) {
+        Criteria criteria = Criteria.where(side).is(accountNumber);
+        criteria.and("status").is("SUCCESS");
+        if (after != null || upTo != null) {
+            Criteria timestamp = criteria.and("timestamp");
+            if (after != null) timestamp.gte(after.timestamp());
+            if (upTo != null) timestamp.lte(upTo);
+        }
+        if (after != null) {
+            criteria.norOperator(Criteria.where("timestamp").is(after.timestamp()).and("_id").lte(after.id()));
+        }
+        return criteria;
+    }
+
+    /**
+     * A top-level $or with one fully bounded branch per side, so each branch is an
+     * index range scan on (side, timestamp, _id) and the two merge in sort order.
+     */
+    static Criteria historyCriteria(String accountNumber, Date from, Date to, PageCursor after) {
+        return new Criteria().orOperator(
+                branch("sourceAccount", accountNumber, from, to, after),
+                branch("destinationAccount", accountNumber, from, to, after));
+    }
+
+    private static Criteria branch(String side, String accountNumber, Date from, Date to, PageCursor after) {
+        Criteria criteria = Criteria.where(side).is(accountNumber);
+        if (from != null || to != null || after != null) {
+            Criteria timestamp = criteria.and("timestamp");
+            if (from != null) timestamp.gte(from);
+            if (to != null) timestamp.lt(to);
+            if (after != null) timestamp.lte(after.timestamp());
+        }
+        if (after != null) {
+            criteria.norOperator(Criteria.where("timestamp").is(after.timestamp()).and("_id").gte(after.id()));
+        }
+        return criteria;
+    }
+
+    /**
+     * Walks the buckets' cursors one after another. A bucket's cursor is opened only once the
+     * previous one is used up, and is closed as soon as it is. Each cursor fetches its next batch
+     * only when the consumer asks for it. Stream.flatMap would not do this: read through an
+     * iterator, it pulls a whole inner stream into a buffer.
+     */
+    static final class BucketCursor implements Iterator<Transaction>, AutoCloseable {
+
+        private final Iterator<Bucket> remaining;
+        private final Function<Bucket, Stream<Transaction>> open;
+        private Stream<Transaction> current;
+        private Iterator<Transaction> currentIterator = Collections.emptyIterator();
+
+        BucketCursor(Iterator<Bucket> remaining, Function<Bucket, Stream<Transaction>> open) {
+            this.remaining = remaining;
+            this.open = open;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentIterator.hasNext()) {
+                close();
+                if (!remaining.hasNext()) {
+                    return false;
+                }
+                current = open.apply(remaining.next());
+                currentIterator = current.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentIterator.next();
+        }
+
+        @Override
+        public void close() {
+            if (current != null) {
+                current.close();
+                current = null;
+                currentIterator = Collections.emptyIterator();
+            }
+        }
+    }
+}
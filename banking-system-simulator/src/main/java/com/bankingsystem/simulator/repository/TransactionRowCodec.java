@@ -0,0 +1,66 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.repository.TransactionRepositoryCustom.TransactionRow;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import java.util.Date;
+
+/**
+ * Reads transaction documents projected to {@link #PROJECTION} straight from BSON into
+ * {@link TransactionRow}s, with no Transaction entity or intermediate Document.
+ * Read-only and stateless.
+ */
+public final class TransactionRowCodec implements Codec<TransactionRow> {
+
+    /** The TransactionResponse fields, plus _id for the page cursor. */
+    public static final Document PROJECTION = new Document("transactionId", 1)
+            .append("type", 1)
+            .append("amountMinor", 1)
+            .append("timestamp", 1)
+            .append("status", 1);
+
+    @Override
+    public TransactionRow decode(BsonReader reader, DecoderContext decoderContext) {
+        TransactionResponse.TransactionResponseBuilder response = TransactionResponse.builder();
+        ObjectId id = null;
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case "_id" -> id = reader.readObjectId();
+                case "transactionId" -> response.transactionId(reader.readString());
+                case "type" -> response.type(reader.readString());
+                case "amountMinor" -> response.amount(reader.getCurrentBsonType() == BsonType.INT32
+                        ? reader.readInt32()
+                        : reader.readInt64());
+                case "timestamp" -> response.timestamp(new Date(reader.readDateTime()));
+                case "status" -> response.status(reader.readString());
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new TransactionRow(id, response.build());
+    }
+
+    @Override
+    public void encode(BsonWriter writer, TransactionRow value, EncoderContext encoderContext) {
+        throw new UnsupportedOperationException("Transaction rows are read-only");
+    }
+
+    @Override
+    public Class<TransactionRow> getEncoderClass() {
+        return TransactionRow.class;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bankingsystem.simulator.repository.bucket;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the transaction buckets in shape on a single background thread: creates this
+ * month's and next month's bucket, with indexes, before the first write lands in them,
+ * and moves every bucket whose month ended more than {@code archiveAfter} ago to the
+ * archive database. Runs once at startup and then every {@code interval}.
+ */
+@Slf4j
+public class TransactionBucketMaintenance implements AutoCloseable {
+
+    private final TransactionBuckets buckets;
+    private final Period archiveAfter;
+    private final Duration interval;
+    private final Clock clock;
+    private final boolean virtualThread;
+
+    private ScheduledExecutorService executor;
+
+    public TransactionBucketMaintenance(TransactionBuckets buckets, Period archiveAfter, Duration interval,
+                                        Clock clock, boolean virtualThread) {
+        this.buckets = buckets;
+        this.archiveAfter = archiveAfter;
+        this.interval = interval;
+        this.clock = clock;
+        this.virtualThread = virtualThread;
+    }
+
+    public void start() {
+        // Reads must know the existing buckets before the first request arrives
+        try {
+            buckets.refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not list transaction buckets: {}", e.getMessage());
+        }
+        Thread.Builder builder = virtualThread
+                ? Thread.ofVirtual().name("transaction-buckets")
+                : Thread.ofPlatform().name("transaction-buckets").daemon(true);
+        executor = new ScheduledThreadPoolExecutor(1, builder.factory());
+        executor.scheduleWithFixedDelay(this::run, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    void run() {
+        try {
+            buckets.refresh();
+            YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+            buckets.ensure(current);
+            buckets.ensure(current.plusMonths(1));
+
+            // A month is archived once its last day is older than archiveAfter
+            LocalDate cutoff = LocalDate.now(clock.withZone(ZoneOffset.UTC)).minus(archiveAfter);
+            for (TransactionBuckets.Bucket bucket : buckets.all()) {
+                if (!bucket.archived() && bucket.month().atEndOfMonth().isBefore(cutoff)) {
+                    buckets.archive(bucket.month());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Transaction bucket maintenance failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.bankingsystem.simulator.repository.bucket;
+
+import com.bankingsystem.simulator.repository.index.ManagedIndexes;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Where transactions live. With bucketing enabled every UTC month has its own
+ * collection, transactions_yyyyMM, in the application database until it is archived,
+ * then under the same name in the archive database. A transaction goes to the bucket
+ * of its timestamp, and history reads visit only the buckets their time range overlaps.
+ * The transactions collection written before bucketing was enabled is read last, as
+ * the oldest tier, by queries reaching back before its newest document was inserted.
+ * With bucketing disabled everything maps to that one collection.
+ * <p>
+ * Any node may archive a bucket, and the others only learn of it at their next refresh.
+ * Until then, a bucket that is due for archiving but still live here is located when it
+ * is used: if it is gone from the application database and present in the archive, it
+ * is read from there.
+ */
+@Slf4j
+public class TransactionBuckets {
+
+    public static final String LEGACY_COLLECTION = "transactions";
+
+    private static final String PREFIX = "transactions_";
+    private static final Pattern BUCKET_NAME = Pattern.compile(PREFIX + "\\d{6}");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * One place transactions are stored. {@code month} is null for the legacy collection.
+     */
+    public record Bucket(YearMonth month, String collection, boolean archived) {
+    }
+
+    private final MongoTemplate liveTemplate;
+    private final MongoTemplate archiveTemplate;
+    private final Period archiveAfter;
+    private final Clock clock;
+    private final Bucket legacy = new Bucket(null, LEGACY_COLLECTION, false);
+    private final ConcurrentNavigableMap<YearMonth, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    /** Upper bound of the legacy collection's timestamps; null once it is known to be empty. */
+    private volatile Date legacyUntil = new Date(Long.MAX_VALUE);
+
+    /** Bucketing disabled: every transaction is in the legacy collection. */
+    public TransactionBuckets(MongoTemplate liveTemplate) {
+        this(liveTemplate, null, Period.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Bucketing enabled, with archived buckets in the database behind {@code archiveTemplate}.
+     * {@code archiveAfter} is the age at which maintenance archives a bucket, on any node.
+     */
+    public TransactionBuckets(MongoTemplate liveTemplate, MongoTemplate archiveTemplate,
+                              Period archiveAfter, Clock clock) {
+        this.liveTemplate = liveTemplate;
+        this.archiveTemplate = archiveTemplate;
+        this.archiveAfter = archiveAfter;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return archiveTemplate != null;
+    }
+
+    public String archiveDatabase() {
+        return archiveTemplate == null ? null : archiveTemplate.getDb().getName();
+    }
+
+    public static YearMonth monthOf(Date timestamp) {
+        return YearMonth.from(timestamp.toInstant().atZone(ZoneOffset.UTC));
+    }
+
+    public static String collectionOf(YearMonth month) {
+        return PREFIX + MONTH.format(month);
+    }
+
+    /** The bucket a transaction with this timestamp is written to. */
+    public Bucket bucketFor(Date timestamp) {
+        if (!isEnabled()) {
+            return legacy;
+        }
+        // A month seen for the first time is created by the insert; maintenance adds its indexes
+        return buckets.computeIfAbsent(monthOf(timestamp), month -> new Bucket(month, collectionOf(month), false));
+    }
+
+    /**
+     * The buckets that can hold transactions in [from, to), newest first. Both bounds are optional.
+     */
+    public List<Bucket> newestFirst(Date from, Date to) {
+        if (!isEnabled()) {
+            return List.of(legacy);
+        }
+        NavigableMap<YearMonth, Bucket> range = buckets;
+        if (from != null) {
+            range = range.tailMap(monthOf(from), true);
+        }
+        if (to != null) {
+            range = range.headMap(monthOf(new Date(to.getTime() - 1)), true);
+        }
+        List<Bucket> result = new ArrayList<>(range.descendingMap().values());
+        Date until = legacyUntil;
+        if (until != null && (from == null || from.before(until))) {
+            result.add(legacy);
+        }
+        return result;
+    }
+
+    /** {@link #newestFirst} in the opposite order. */
+    public List<Bucket> oldestFirst(Date from, Date to) {
+        return newestFirst(from, to).reversed();
+    }
+
+    /** Groups items by the bucket they are written to, in the order the buckets are first seen. */
+    public <T> Map<Bucket, List<T>> group(Collection<T> items, Function<T, Date> timestamp) {
+        Map<Bucket, List<T>> grouped = new LinkedHashMap<>();
+        for (T item : items) {
+            grouped.computeIfAbsent(bucketFor(timestamp.apply(item)), b -> new ArrayList<>()).add(item);
+        }
+        return grouped;
+    }
+
+    /** Where {@code bucket} is, looked up again if another node may have archived it since the last refresh. */
+    public MongoTemplate template(Bucket bucket) {
+        bucket = latest(bucket);
+        if (mayHaveMoved(bucket) && !liveTemplate.collectionExists(bucket.collection())
+                && archiveTemplate.collectionExists(bucket.collection())) {
+            bucket = movedToArchive(bucket);
+        }
+        return bucket.archived() ? archiveTemplate : liveTemplate;
+    }
+
+    /** The current state of {@code bucket}, which may have been archived since it was listed. */
+    public Bucket latest(Bucket bucket) {
+        return bucket.month() == null ? bucket : buckets.getOrDefault(bucket.month(), bucket);
+    }
+
+    /**
+     * Whether another node may have archived this bucket without this one knowing: it is still
+     * live here, but due for archiving, give or take a day of clock skew between the nodes.
+     */
+    public boolean mayHaveMoved(Bucket bucket) {
+        if (!isEnabled() || bucket.archived() || bucket.month() == null) {
+            return false;
+        }
+        LocalDate cutoff = LocalDate.now(clock.withZone(ZoneOffset.UTC)).minus(archiveAfter).plusDays(1);
+        return bucket.month().atEndOfMonth().isBefore(cutoff);
+    }
+
+    /** Records that another node archived {@code bucket}, which was found in the archive database. */
+    public Bucket movedToArchive(Bucket bucket) {
+        Bucket archived = new Bucket(bucket.month(), bucket.collection(), true);
+        buckets.put(bucket.month(), archived);
+        log.info("Transaction bucket {} was archived by another node", bucket.collection());
+        return archived;
+    }
+
+    public List<Bucket> all() {
+        return List.copyOf(buckets.values());
+    }
+
+    /** Re-reads which buckets exist in the application and archive databases. */
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        Map<YearMonth, Bucket> found = new HashMap<>();
+        for (String name : archiveTemplate.getCollectionNames()) {
+            if (BUCKET_NAME.matcher(name).matches()) {
+                YearMonth month = YearMonth.parse(name.substring(PREFIX.length()), MONTH);
+                found.put(month, new Bucket(month, name, true));
+            }
+        }
+        for (String name : liveTemplate.getCollectionNames()) {
+            if (BUCKET_NAME.matcher(name).matches()) {
+                YearMonth month = YearMonth.parse(name.substring(PREFIX.length()), MONTH);
+                Bucket previous = found.put(month, new Bucket(month, name, false));
+                if (previous != null) {
+                    log.warn("Transaction bucket {} exists both live and archived; reading the live one", name);
+                }
+            }
+        }
+        buckets.putAll(found);
+        legacyUntil = legacyUntil();
+    }
+
+    /**
+     * A transaction's timestamp is taken before it is inserted, so the creation time of the
+     * newest _id, rounded up to the next second, bounds every timestamp in the collection.
+     */
+    private Date legacyUntil() {
+        Document newest = liveTemplate.execute(LEGACY_COLLECTION, collection -> collection.find()
+                .projection(new Document("_id", 1))
+                .sort(new Document("_id", -1))
+                .limit(1)
+                .first());
+        if (newest == null) {
+            return null;
+        }
+        Object id = newest.get("_id");
+        return id instanceof ObjectId objectId
+                ? new Date(objectId.getDate().getTime() + 1000)
+                : new Date(Long.MAX_VALUE);
+    }
+
+    /** Creates a month's live bucket, if it is not there yet, with the transactions indexes. */
+    public void ensure(YearMonth month) {
+        Bucket bucket = buckets.computeIfAbsent(month, m -> new Bucket(m, collectionOf(m), false));
+        if (bucket.archived()) {
+            return;
+        }
+        if (!liveTemplate.collectionExists(bucket.collection())) {
+            liveTemplate.createCollection(bucket.collection());
+            log.info("Created transaction bucket {}", bucket.collection());
+        }
+        for (ManagedIndexes.ManagedIndex index : ManagedIndexes.INDEXES) {
+            if (index.collection().equals(LEGACY_COLLECTION)) {
+                liveTemplate.indexOps(bucket.collection()).createIndex(index.definition());
+            }
+        }
+    }
+
+    /**
+     * Moves a month's bucket, with its indexes, into the archive database. The bucket keeps
+     * being read, from there, by queries whose range reaches it.
+     */
+    public void archive(YearMonth month) {
+        Bucket bucket = buckets.get(month);
+        if (bucket == null || bucket.archived()) {
+            return;
+        }
+        if (!liveTemplate.collectionExists(bucket.collection())) {
+            buckets.remove(month);
+            return;
+        }
+        String from = liveTemplate.getDb().getName() + "." + bucket.collection();
+        String to = archiveTemplate.getDb().getName() + "." + bucket.collection();
+        liveTemplate.getMongoDatabaseFactory().getMongoDatabase("admin")
+                .runCommand(new Document("renameCollection", from).append("to", to));
+        buckets.put(month, new Bucket(month, bucket.collection(), true));
+        log.info("Archived transaction bucket {} to {}", from, to);
+    }
+}
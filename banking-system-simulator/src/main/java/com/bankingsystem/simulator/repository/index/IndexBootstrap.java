@@ -0,0 +1,165 @@
+package com.bankingsystem.simulator.repository.index;
+
+import com.bankingsystem.simulator.config.IndexProperties;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the {@link ManagedIndexes} set in the background once the application is
+ * ready, then checks that every managed index exists and that no hot query is
+ * planned as a collection scan. Indexes and queries on transactions also cover every
+ * monthly bucket, live or archived. Violations are logged, or stop the application
+ * when banking.mongo.indexes.on-violation=FAIL.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IndexBootstrap {
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionBuckets buckets;
+    private final IndexProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isBootstrap()) {
+            log.info("Index bootstrap disabled");
+            return;
+        }
+        CompletableFuture.runAsync(this::run, runnable -> {
+            Thread t = new Thread(runnable, "index-bootstrap");
+            t.setDaemon(true);
+            t.start();
+        });
+    }
+
+    void run() {
+        // An index that cannot be built (e.g. duplicate account numbers under the unique index)
+        // is a violation like any other, and the checks below still run
+        List<String> violations = new ArrayList<>(createIndexes());
+        violations.addAll(check("missing-index check", this::findMissingIndexes));
+        if (properties.isVerifyQueryPlans()) {
+            violations.addAll(check("query plan check", this::findCollectionScans));
+        }
+        if (violations.isEmpty()) {
+            log.info("Index set verified: {} indexes, {} hot queries",
+                    ManagedIndexes.INDEXES.size(), ManagedIndexes.HOT_QUERIES.size());
+        } else {
+            handleViolations(violations);
+        }
+    }
+
+    /** Builds every managed index; returns one violation per index that could not be built. */
+    List<String> createIndexes() {
+        List<String> failures = new ArrayList<>();
+        for (ManagedIndexes.ManagedIndex index : ManagedIndexes.INDEXES) {
+            for (Target target : targets(index.collection())) {
+                try {
+                    target.template().indexOps(target.collection()).createIndex(index.definition());
+                    log.info("Index {} ensured on {}", index.name(), target.collection());
+                } catch (RuntimeException e) {
+                    failures.add("Could not build index " + index.name() + " on " + target.collection()
+                            + ": " + e.getMessage());
+                }
+            }
+        }
+        return failures;
+    }
+
+    private static List<String> check(String name, Supplier<List<String>> check) {
+        try {
+            return check.get();
+        } catch (RuntimeException e) {
+            return List.of("Index " + name + " could not run: " + e.getMessage());
+        }
+    }
+
+    List<String> findMissingIndexes() {
+        List<String> missing = new ArrayList<>();
+        for (ManagedIndexes.ManagedIndex index : ManagedIndexes.INDEXES) {
+            for (Target target : targets(index.collection())) {
+                Set<String> existing = target.template().indexOps(target.collection()).getIndexInfo().stream()
+                        .map(IndexInfo::getName)
+                        .collect(Collectors.toSet());
+                if (!existing.contains(index.name())) {
+                    missing.add("Missing index " + index.name() + " on " + target.collection());
+                }
+            }
+        }
+        return missing;
+    }
+
+    List<String> findCollectionScans() {
+        List<String> scans = new ArrayList<>();
+        for (ManagedIndexes.HotQuery query : ManagedIndexes.HOT_QUERIES) {
+            for (Target target : targets(query.collection())) {
+                Document find = new Document("find", target.collection()).append("filter", query.filter());
+                if (query.sort() != null) {
+                    find.append("sort", query.sort());
+                }
+                Document explain = target.template().getDb().runCommand(
+                        new Document("explain", find).append("verbosity", "queryPlanner"));
+                Document planner = explain.get("queryPlanner", Document.class);
+                Object winningPlan = planner == null ? null : planner.get("winningPlan");
+                if (containsStage(winningPlan, "COLLSCAN")) {
+                    scans.add("Hot query " + query.name() + " runs a COLLSCAN on " + target.collection());
+                }
+            }
+        }
+        return scans;
+    }
+
+    /** The collections a managed collection name stands for: transactions is also every bucket. */
+    private List<Target> targets(String collection) {
+        List<Target> targets = new ArrayList<>();
+        targets.add(new Target(mongoTemplate, collection));
+        if (collection.equals(TransactionBuckets.LEGACY_COLLECTION)) {
+            for (TransactionBuckets.Bucket bucket : buckets.all()) {
+                targets.add(new Target(buckets.template(bucket), bucket.collection()));
+            }
+        }
+        return targets;
+    }
+
+    private record Target(MongoTemplate template, String collection) {
+    }
+
+    private void handleViolations(List<String> violations) {
+        violations.forEach(v -> log.warn("Index check: {}", v));
+        if (properties.getOnViolation() == IndexProperties.OnViolation.FAIL) {
+            log.error("Stopping application: {} index violation(s)", violations.size());
+            System.exit(SpringApplication.exit(context, () -> 1));
+        }
+    }
+
+    /** Walks a plan tree (classic or SBE explain output) looking for the given stage. */
+    static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document doc) {
+            if (stage.equals(doc.get("stage"))) {
+                return true;
+            }
+            return doc.values().stream().anyMatch(v -> containsStage(v, stage));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(v -> containsStage(v, stage));
+        }
+        return false;
+    }
+}
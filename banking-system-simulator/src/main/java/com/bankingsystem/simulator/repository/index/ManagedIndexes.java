@@ -0,0 +1,90 @@
+package com.bankingsystem.simulator.repository.index;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The index set the application owns, and the repository queries that must be served by it.
+ * Keep the two lists in step: every hot query needs an index whose prefix matches its filter.
+ */
+public final class ManagedIndexes {
+
+    public static final List<ManagedIndex> INDEXES = List.of(
+            new ManagedIndex("accounts", new Index()
+                    .on("accountNumber", Sort.Direction.ASC)
+                    .unique()
+                    .named("ux_accountNumber")),
+            // _id is the keyset tie-breaker, so history pages are served in index order without a SORT stage
+            new ManagedIndex("transactions", new Index()
+                    .on("sourceAccount", Sort.Direction.ASC)
+                    .on("timestamp", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("ix_sourceAccount_timestamp_id")),
+            new ManagedIndex("transactions", new Index()
+                    .on("destinationAccount", Sort.Direction.ASC)
+                    .on("timestamp", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("ix_destinationAccount_timestamp_id")),
+            new ManagedIndex("balance_snapshots", new Index()
+                    .on("accountNumber", Sort.Direction.ASC)
+                    .on("asOf", Sort.Direction.DESC)
+                    .on("events", Sort.Direction.DESC)
+                    .named("ix_accountNumber_asOf_events")),
+            new ManagedIndex("statement_rollups", new Index()
+                    .on("accountNumber", Sort.Direction.ASC)
+                    .on("granularity", Sort.Direction.ASC)
+                    .on("period", Sort.Direction.ASC)
+                    .named("ix_accountNumber_granularity_period")),
+            new ManagedIndex("account_shards", new Index()
+                    .on("accountNumber", Sort.Direction.ASC)
+                    .on("balanceMinor", Sort.Direction.ASC)
+                    .named("ix_accountNumber_balanceMinor")),
+            // Each key carries its own expiry time
+            new ManagedIndex("idempotency_keys", new Index()
+                    .on("expiresAt", Sort.Direction.ASC)
+                    .expire(Duration.ZERO)
+                    .named("ttl_expiresAt"))
+    );
+
+    /** Filters mirror the derived queries in the repositories they are named after. */
+    public static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("AccountRepository.findByAccountNumber", "accounts",
+                    new Document("accountNumber", "X"), null),
+            new HotQuery("TransactionRepository.findBySourceAccountOrDestinationAccount", "transactions",
+                    new Document("$or", List.of(
+                            new Document("sourceAccount", "X"),
+                            new Document("destinationAccount", "X"))), null),
+            new HotQuery("TransactionRepository.findPage", "transactions",
+                    new Document("$or", List.of(
+                            new Document("sourceAccount", "X").append("timestamp", new Document("$lte", new Date(0))),
+                            new Document("destinationAccount", "X").append("timestamp", new Document("$lte", new Date(0))))),
+                    new Document("timestamp", -1).append("_id", -1)),
+            new HotQuery("BalanceSnapshotRepository.findFirstByAccountNumberAndAsOfLessThanEqual", "balance_snapshots",
+                    new Document("accountNumber", "X").append("asOf", new Document("$lte", new Date(0))),
+                    new Document("asOf", -1).append("events", -1)),
+            new HotQuery("StatementRollupRepository.findByAccountNumberAndGranularityAndPeriodLessThanEqual", "statement_rollups",
+                    new Document("accountNumber", "X").append("granularity", "MONTHLY")
+                            .append("period", new Document("$lte", "2000-01")),
+                    new Document("period", 1)),
+            new HotQuery("AccountRepository.shardBalances", "account_shards",
+                    new Document("accountNumber", new Document("$in", List.of("X"))), null)
+    );
+
+    private ManagedIndexes() {
+    }
+
+    public record ManagedIndex(String collection, Index definition) {
+
+        public String name() {
+            return (String) definition.getIndexOptions().get("name");
+        }
+    }
+
+    public record HotQuery(String name, String collection, Document filter, Document sort) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.bankingsystem.simulator.repository.migration;
+
+import com.bankingsystem.simulator.config.MigrationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-place document migrations, applied once all beans are created and before the web
+ * server starts, because unmigrated documents read as zero balances and amounts. Each
+ * step is one updateMany with an aggregation pipeline, so every document is rewritten
+ * atomically, and its filter only matches documents that still need it, so steps are
+ * safe to re-run on every start. A step that fails stops the application.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SchemaMigrations implements SmartInitializingSingleton {
+
+    static final List<Step> STEPS = List.of(
+            // Double major units -> Int64 minor units. Adds to balanceMinor rather than
+            // overwriting it, in case a deposit reached the document before the migration did.
+            new Step("accounts.balance -> balanceMinor", "accounts",
+                    new Document("balance", new Document("$exists", true)),
+                    List.of(
+                            new Document("$set", new Document("balanceMinor", new Document("$add", List.of(
+                                    new Document("$ifNull", List.of("$balanceMinor", 0L)),
+                                    toMinorUnits("$balance"))))),
+                            new Document("$unset", "balance"))),
+            new Step("transactions.amount -> amountMinor", "transactions",
+                    new Document("amount", new Document("$exists", true)),
+                    List.of(
+                            new Document("$set", new Document("amountMinor", toMinorUnits("$amount"))),
+                            new Document("$unset", "amount"))),
+            // Optimistic locking: documents written before Account had @Version start at 0
+            new Step("accounts.version", "accounts",
+                    new Document("version", new Document("$exists", false)),
+                    List.of(new Document("$set", new Document("version", 0L))))
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final MigrationProperties properties;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            log.info("Schema migrations disabled");
+            return;
+        }
+        run();
+    }
+
+    void run() {
+        for (Step step : STEPS) {
+            try {
+                long modified = mongoTemplate.getCollection(step.collection())
+                        .updateMany(step.filter(), step.pipeline())
+                        .getModifiedCount();
+                if (modified > 0) {
+                    log.info("Migration {}: {} documents updated", step.name(), modified);
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Schema migration " + step.name() + " failed", e);
+            }
+        }
+    }
+
+    private static Document toMinorUnits(String doubleField) {
+        return new Document("$toLong", new Document("$round", List.of(
+                new Document("$multiply", List.of(doubleField, 100)), 0)));
+    }
+
+    record Step(String name, String collection, Document filter, List<Document> pipeline) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.bankingsystem.simulator.service;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface AccountImportService {
+
+    enum Format { CSV, NDJSON }
+
+    /**
+     * Creates an account for every valid {@code AccountCreateRequest} row in {@code in} and
+     * writes one NDJSON result per row to {@code out}, in input order, as each chunk is written.
+     * CSV input needs a header row with a holderName column. With {@code errorsOnly} only
+     * REJECTED and FAILED rows are written.
+     */
+    Summary importAccounts(InputStream in, Format format, boolean errorsOnly, OutputStream out);
+
+    record Summary(long rows, long created, long rejected, long failed) {
+    }
+}
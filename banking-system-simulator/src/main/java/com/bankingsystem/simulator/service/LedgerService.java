@@ -0,0 +1,20 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.model.dto.LedgerBalanceResponse;
+import com.bankingsystem.simulator.model.entity.BalanceSnapshot;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Balances derived from the transactions collection: the latest applicable snapshot
+ * plus a replay of the transactions after it.
+ */
+public interface LedgerService {
+
+    /** The balance after every transaction up to {@code asOf} (inclusive); null for now. */
+    LedgerBalanceResponse getBalance(String accountNumber, Date asOf);
+
+    /** Folds the transactions since the latest snapshot into a new one. Empty if there were none. */
+    Optional<BalanceSnapshot> snapshot(String accountNumber);
+}
@@ -0,0 +1,23 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.dto.TransferRequest;
+import com.bankingsystem.simulator.model.dto.WithdrawRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the {@link TransactionService} operations. Failures are
+ * signalled as error signals carrying the same exceptions.
+ */
+public interface ReactiveTransactionService {
+
+    Mono<TransactionResponse> deposit(String accountNumber, DepositRequest request);
+
+    Mono<TransactionResponse> withdraw(String accountNumber, WithdrawRequest request);
+
+    Mono<TransactionResponse> transfer(TransferRequest request);
+
+    Flux<TransactionResponse> getTransactions(String accountNumber);
+}
@@ -0,0 +1,18 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.model.dto.StatementResponse;
+
+import java.util.List;
+
+/**
+ * Account statements computed from the daily and monthly rollups only; the
+ * transactions collection is never read.
+ */
+public interface StatementService {
+
+    /** The statement for one month ({@code yyyy-MM}) or one day ({@code yyyy-MM-dd}). */
+    StatementResponse getStatement(String accountNumber, String period);
+
+    /** Monthly statements from {@code from} to {@code to} ({@code yyyy-MM}, inclusive). */
+    List<StatementResponse> getMonthlyStatements(String accountNumber, String from, String to);
+}
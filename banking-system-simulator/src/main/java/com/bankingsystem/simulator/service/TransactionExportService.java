@@ -0,0 +1,13 @@
+package com.bankingsystem.simulator.service;
+
+import java.io.OutputStream;
+import java.util.Date;
+
+public interface TransactionExportService {
+
+    /**
+     * Writes the account's transactions in [from, to) to {@code out} as NDJSON, oldest first,
+     * and returns the number of rows written. {@code from} and {@code to} are optional.
+     */
+    long exportTransactions(String accountNumber, Date from, Date to, OutputStream out);
+}
@@ -1,6 +1,9 @@
 package com.bankingsystem.simulator.service;
 
+import com.bankingsystem.simulator.model.dto.BatchTransferResponse;
 import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.TransactionPageRequest;
+import com.bankingsystem.simulator.model.dto.TransactionPageResponse;
 import com.bankingsystem.simulator.model.dto.WithdrawRequest;
 import com.bankingsystem.simulator.model.dto.TransferRequest;
 import com.bankingsystem.simulator.model.dto.TransactionResponse;
@@ -15,5 +18,9 @@ public interface TransactionService {
 
     TransactionResponse transfer(TransferRequest request);
 
+    BatchTransferResponse transferBatch(List<TransferRequest> requests);
+
     List<TransactionResponse> getTransactions(String accountNumber);
+
+    TransactionPageResponse getTransactionPage(String accountNumber, TransactionPageRequest request);
 }
@@ -0,0 +1,248 @@
+package com.bankingsystem.simulator.service.impl;
+
+import com.bankingsystem.simulator.config.AccountImportProperties;
+import com.bankingsystem.simulator.model.dto.AccountCreateRequest;
+import com.bankingsystem.simulator.model.dto.AccountImportResult;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.service.AccountImportService;
+import com.bankingsystem.simulator.util.AccountNumberGenerator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class AccountImportServiceImpl implements AccountImportService {
+
+    static final String CREATED = "CREATED";
+    static final String REJECTED = "REJECTED";
+    static final String FAILED = "FAILED";
+    private static final String BOM = "\uFEFF";
+
+    private final AccountRepository accountRepository;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+
+    public AccountImportServiceImpl(AccountRepository accountRepository, AccountNumberGenerator accountNumberGenerator,
+                                    Validator validator, ObjectMapper objectMapper, AccountImportProperties properties) {
+        if (properties.getChunkSize() <= 0) {
+            throw new IllegalArgumentException("banking.accounts.import.chunk-size must be greater than 0");
+        }
+        this.accountRepository = accountRepository;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(AccountCreateRequest.class);
+        this.resultWriter = objectMapper.writerFor(AccountImportResult.class);
+        this.chunkSize = properties.getChunkSize();
+    }
+
+    /** A non-blank input line and its 1-based line number. */
+    private record Line(long number, String text) {
+    }
+
+    /** A parsed row: the trimmed holder name, or why the row was rejected. */
+    private record Row(long line, String holderName, String error) {
+    }
+
+    @Override
+    public Summary importAccounts(InputStream in, Format format, boolean errorsOnly, OutputStream out) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        long rows = 0;
+        long created = 0;
+        long failed = 0;
+        try {
+            int holderColumn = -1;
+            if (format == Format.CSV) {
+                String header;
+                do {
+                    header = reader.readLine();
+                    lineNumber++;
+                } while (header != null && header.isBlank());
+                holderColumn = header == null ? -1 : indexOfIgnoreCase(Csv.split(header.replace(BOM, "")), "holderName");
+                if (holderColumn < 0) {
+                    // The response is already a 200 stream, so this is reported like any other bad row
+                    writeResult(AccountImportResult.builder().line(lineNumber).status(REJECTED)
+                            .error("CSV header must contain a holderName column").build(), out);
+                    out.flush();
+                    return new Summary(1, 0, 1, 0);
+                }
+            }
+
+            log.info("Account import started ({})", format);
+            List<Line> chunk = new ArrayList<>(chunkSize);
+            String text;
+            while (true) {
+                text = reader.readLine();
+                if (text != null) {
+                    lineNumber++;
+                    if (!text.isBlank()) {
+                        chunk.add(new Line(lineNumber, text));
+                    }
+                }
+                if (chunk.size() == chunkSize || (text == null && !chunk.isEmpty())) {
+                    long[] outcome = importChunk(chunk, format, holderColumn, errorsOnly, out);
+                    rows += chunk.size();
+                    created += outcome[0];
+                    failed += outcome[1];
+                    chunk.clear();
+                }
+                if (text == null) {
+                    break;
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Account import aborted at line " + lineNumber, e);
+        }
+
+        Summary summary = new Summary(rows, created, rows - created - failed, failed);
+        log.info("Account import finished: {}", summary);
+        return summary;
+    }
+
+    /** Validates, numbers and inserts one chunk, then writes its results. Returns {created, failed}. */
+    private long[] importChunk(List<Line> chunk, Format format, int holderColumn, boolean errorsOnly,
+                               OutputStream out) throws IOException {
+        // Parsing and validation are independent per row; toList keeps the input order
+        List<Row> parsed = chunk.parallelStream()
+                .map(line -> parse(line, format, holderColumn))
+                .toList();
+
+        List<Row> valid = parsed.stream().filter(row -> row.error() == null).toList();
+        List<String> numbers = accountNumberGenerator.generateAll(valid.stream().map(Row::holderName).toList());
+        Date now = new Date();
+        List<Account> accounts = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            accounts.add(Account.builder()
+                    .holderName(valid.get(i).holderName())
+                    .accountNumber(numbers.get(i))
+                    .balance(0L)
+                    .status("ACTIVE")
+                    .createdAt(now)
+                    .version(0L)   // bulk inserts do not initialise @Version
+                    .build());
+        }
+        Map<Integer, String> failures = accounts.isEmpty() ? Map.of() : accountRepository.insertAll(accounts);
+
+        int next = 0;
+        for (Row row : parsed) {
+            AccountImportResult.AccountImportResultBuilder result = AccountImportResult.builder()
+                    .line(row.line())
+                    .holderName(row.holderName());
+            if (row.error() != null) {
+                result.status(REJECTED).error(row.error());
+            } else {
+                int index = next++;
+                String failure = failures.get(index);
+                if (failure != null) {
+                    result.status(FAILED).error(failure);
+                } else if (errorsOnly) {
+                    continue;
+                } else {
+                    result.status(CREATED).accountNumber(numbers.get(index));
+                }
+            }
+            writeResult(result.build(), out);
+        }
+        out.flush();
+        return new long[]{valid.size() - failures.size(), failures.size()};
+    }
+
+    private void writeResult(AccountImportResult result, OutputStream out) throws IOException {
+        out.write(resultWriter.writeValueAsBytes(result));
+        out.write('\n');
+    }
+
+    private Row parse(Line line, Format format, int holderColumn) {
+        AccountCreateRequest request;
+        if (format == Format.CSV) {
+            List<String> fields = Csv.split(line.text());
+            request = new AccountCreateRequest();
+            request.setHolderName(holderColumn < fields.size() ? fields.get(holderColumn) : null);
+        } else {
+            try {
+                request = requestReader.readValue(line.text());
+            } catch (JacksonException e) {
+                return new Row(line.number(), null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (request == null) {
+                // A literal null line binds to no request at all
+                return new Row(line.number(), null, "Expected a JSON object");
+            }
+        }
+
+        Set<ConstraintViolation<AccountCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<AccountCreateRequest> first = violations.iterator().next();
+            return new Row(line.number(), request.getHolderName(), first.getPropertyPath() + ": " + first.getMessage());
+        }
+        return new Row(line.number(), request.getHolderName().trim(), null);
+    }
+
+    private static int indexOfIgnoreCase(List<String> values, String wanted) {
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i).trim().equalsIgnoreCase(wanted)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Splits one CSV line (RFC 4180 quoting, no line breaks inside fields). */
+    static final class Csv {
+
+        private Csv() {
+        }
+
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
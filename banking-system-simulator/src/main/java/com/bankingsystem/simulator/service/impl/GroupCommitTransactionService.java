@@ -0,0 +1,79 @@
+package com.bankingsystem.simulator.service.impl;
+
+import com.bankingsystem.simulator.engine.TransferGroupCommitter;
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.exception.InsufficientBalanceException;
+import com.bankingsystem.simulator.exception.InvalidAmountException;
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.model.dto.*;
+import com.bankingsystem.simulator.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static com.bankingsystem.simulator.service.impl.TransactionServiceImpl.*;
+
+/**
+ * Sends single transfers of {@link TransactionServiceImpl} through a
+ * {@link TransferGroupCommitter}, so concurrent transfers share one batch commit.
+ * Each caller still gets its own response, or the exception the direct path
+ * would have thrown. Everything else goes straight to the delegate.
+ */
+@RequiredArgsConstructor
+public class GroupCommitTransactionService implements TransactionService {
+
+    private final TransactionServiceImpl delegate;
+    private final TransferGroupCommitter committer;
+
+    @Override
+    public TransactionResponse deposit(String accountNumber, DepositRequest request) {
+        return delegate.deposit(accountNumber, request);
+    }
+
+    @Override
+    public TransactionResponse withdraw(String accountNumber, WithdrawRequest request) {
+        return delegate.withdraw(accountNumber, request);
+    }
+
+    @Override
+    public TransactionResponse transfer(TransferRequest request) {
+        if (request.getAmount() <= 0)
+            throw new InvalidAmountException("Amount must be greater than 0");
+
+        BatchTransferItemResult result;
+        try {
+            result = committer.submit(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if ("SUCCESS".equals(result.getStatus())) {
+            return result.getTransaction();
+        }
+        throw switch (result.getError()) {
+            case SOURCE_NOT_FOUND, DESTINATION_NOT_FOUND -> new AccountNotFoundException(result.getError());
+            case INSUFFICIENT_FUNDS -> new InsufficientBalanceException(result.getError());
+            // A server-side failure, not the client's: its rollback is best effort
+            case TRANSFER_NOT_APPLIED -> new IllegalStateException(result.getError());
+            default -> new InvalidInputException(result.getError());
+        };
+    }
+
+    @Override
+    public BatchTransferResponse transferBatch(List<TransferRequest> requests) {
+        return delegate.transferBatch(requests);
+    }
+
+    @Override
+    public List<TransactionResponse> getTransactions(String accountNumber) {
+        return delegate.getTransactions(accountNumber);
+    }
+
+    @Override
+    public TransactionPageResponse getTransactionPage(String accountNumber, TransactionPageRequest request) {
+        return delegate.getTransactionPage(accountNumber, request);
+    }
+}
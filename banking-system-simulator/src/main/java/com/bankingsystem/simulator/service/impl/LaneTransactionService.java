@@ -0,0 +1,51 @@
+package com.bankingsystem.simulator.service.impl;
+
+import com.bankingsystem.simulator.engine.AccountLaneExecutor;
+import com.bankingsystem.simulator.model.dto.*;
+import com.bankingsystem.simulator.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Runs every money-moving operation of {@link TransactionServiceImpl} on the
+ * account's lane, so each account has a single writer. Reads are not laned.
+ */
+@RequiredArgsConstructor
+public class LaneTransactionService implements TransactionService {
+
+    private final TransactionServiceImpl delegate;
+    private final AccountLaneExecutor lanes;
+
+    @Override
+    public TransactionResponse deposit(String accountNumber, DepositRequest request) {
+        return lanes.execute(accountNumber, () -> delegate.deposit(accountNumber, request));
+    }
+
+    @Override
+    public TransactionResponse withdraw(String accountNumber, WithdrawRequest request) {
+        return lanes.execute(accountNumber, () -> delegate.withdraw(accountNumber, request));
+    }
+
+    @Override
+    public TransactionResponse transfer(TransferRequest request) {
+        return lanes.execute(request.getSourceAccount(), request.getDestinationAccount(),
+                () -> delegate.transfer(request));
+    }
+
+    @Override
+    public BatchTransferResponse transferBatch(List<TransferRequest> requests) {
+        // Batch debits are guarded atomic updates, so they are safe to run next to the lanes
+        return delegate.transferBatch(requests);
+    }
+
+    @Override
+    public List<TransactionResponse> getTransactions(String accountNumber) {
+        return delegate.getTransactions(accountNumber);
+    }
+
+    @Override
+    public TransactionPageResponse getTransactionPage(String accountNumber, TransactionPageRequest request) {
+        return delegate.getTransactionPage(accountNumber, request);
+    }
+}
@@ -0,0 +1,88 @@
+package com.bankingsystem.simulator.service.impl;
+
+import com.bankingsystem.simulator.config.LedgerProperties;
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.model.dto.LedgerBalanceResponse;
+import com.bankingsystem.simulator.model.entity.BalanceSnapshot;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.repository.BalanceSnapshotRepository;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import com.bankingsystem.simulator.repository.TransactionRepositoryCustom.LedgerTail;
+import com.bankingsystem.simulator.service.LedgerService;
+import com.bankingsystem.simulator.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Snapshots are never updated, only added, so a balance as of any time starts from the
+ * newest snapshot at or before it and replays at most one snapshot interval of history.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "banking.ledger", name = "enabled", havingValue = "true")
+public class LedgerServiceImpl implements LedgerService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final LedgerProperties properties;
+
+    @Override
+    public LedgerBalanceResponse getBalance(String accountNumber, Date asOf) {
+
+        if (!accountRepository.existsByAccountNumber(accountNumber))
+            throw new AccountNotFoundException("Account not found: " + accountNumber);
+
+        BalanceSnapshot snapshot = (asOf == null
+                ? snapshotRepository.findFirstByAccountNumberOrderByAsOfDescEventsDesc(accountNumber)
+                : snapshotRepository.findFirstByAccountNumberAndAsOfLessThanEqualOrderByAsOfDescEventsDesc(accountNumber, asOf))
+                .orElse(null);
+        LedgerTail tail = transactionRepository.replay(accountNumber, position(snapshot), asOf);
+
+        log.info("Ledger balance for {} as of {}: replayed {} transactions after snapshot {}",
+                accountNumber, asOf, tail.events(), snapshot == null ? null : snapshot.getAsOf());
+
+        return LedgerBalanceResponse.builder()
+                .accountNumber(accountNumber)
+                .balance((snapshot == null ? 0 : snapshot.getBalance()) + tail.net())
+                .asOf(asOf)
+                .events((snapshot == null ? 0 : snapshot.getEvents()) + tail.events())
+                .snapshotAsOf(snapshot == null ? null : snapshot.getAsOf())
+                .replayedEvents(tail.events())
+                .build();
+    }
+
+    @Override
+    public Optional<BalanceSnapshot> snapshot(String accountNumber) {
+
+        BalanceSnapshot latest = snapshotRepository.findFirstByAccountNumberOrderByAsOfDescEventsDesc(accountNumber)
+                .orElse(null);
+        Date settled = new Date(System.currentTimeMillis() - properties.getSettle().toMillis());
+        LedgerTail tail = transactionRepository.replay(accountNumber, position(latest), settled);
+        if (tail.events() == 0) {
+            return Optional.empty();
+        }
+
+        BalanceSnapshot snapshot = snapshotRepository.save(BalanceSnapshot.builder()
+                .accountNumber(accountNumber)
+                .balance((latest == null ? 0 : latest.getBalance()) + tail.net())
+                .events((latest == null ? 0 : latest.getEvents()) + tail.events())
+                .asOf(tail.last().timestamp())
+                .lastEventId(tail.last().id().toHexString())
+                .createdAt(new Date())
+                .build());
+        log.debug("Snapshot for {} at {} after {} transactions", accountNumber, snapshot.getAsOf(), snapshot.getEvents());
+        return Optional.of(snapshot);
+    }
+
+    private static PageCursor position(BalanceSnapshot snapshot) {
+        return snapshot == null ? null : new PageCursor(snapshot.getAsOf(), new ObjectId(snapshot.getLastEventId()));
+    }
+}
@@ -0,0 +1,141 @@
+package com.bankingsystem.simulator.service.impl;
+
+import com.bankingsystem.simulator.cache.AccountCache;
+import com.bankingsystem.simulator.event.TransactionsRecordedEvent;
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.exception.InsufficientBalanceException;
+import com.bankingsystem.simulator.exception.InvalidAmountException;
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.dto.TransferRequest;
+import com.bankingsystem.simulator.model.dto.WithdrawRequest;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.ReactiveAccountRepository;
+import com.bankingsystem.simulator.repository.ReactiveTransactionRepository;
+import com.bankingsystem.simulator.service.ReactiveTransactionService;
+import com.bankingsystem.simulator.util.Money;
+import com.bankingsystem.simulator.util.TransactionIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Same balance updates as {@link TransactionServiceImpl} (atomic $inc and guarded
+ * decrement), issued through the reactive driver so no thread waits on Mongo.
+ * Transactions are saved directly, even when the write-behind journal is enabled.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveTransactionServiceImpl implements ReactiveTransactionService {
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final AccountCache accountCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<TransactionResponse> deposit(String accountNumber, DepositRequest request) {
+
+        if (request.getAmount() <= 0)
+            return Mono.error(new InvalidAmountException("Amount must be greater than 0"));
+
+        return accountRepository.incrementBalance(accountNumber, request.getAmount())
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Account not found: " + accountNumber)))
+                .flatMap(account -> {
+                    accountCache.invalidate(accountNumber);
+                    log.info("Deposit successful. New balance: {}", Money.toDecimal(account.getBalance()));
+                    return saveTransaction("DEPOSIT", request.getAmount(), accountNumber, null);
+                });
+    }
+
+    @Override
+    public Mono<TransactionResponse> withdraw(String accountNumber, WithdrawRequest request) {
+
+        if (request.getAmount() <= 0)
+            return Mono.error(new InvalidAmountException("Amount must be greater than 0"));
+
+        return accountRepository.decrementBalanceIfSufficient(accountNumber, request.getAmount())
+                .switchIfEmpty(debitRejected(accountNumber, "Insufficient balance",
+                        () -> new AccountNotFoundException("Account not found: " + accountNumber)))
+                .flatMap(account -> {
+                    accountCache.invalidate(accountNumber);
+                    log.info("Withdrawal successful. New balance: {}", Money.toDecimal(account.getBalance()));
+                    return saveTransaction("WITHDRAW", request.getAmount(), accountNumber, null);
+                });
+    }
+
+    @Override
+    public Mono<TransactionResponse> transfer(TransferRequest request) {
+
+        if (request.getAmount() <= 0)
+            return Mono.error(new InvalidAmountException("Amount must be greater than 0"));
+
+        String sourceAccount = request.getSourceAccount();
+        String destinationAccount = request.getDestinationAccount();
+        long amount = request.getAmount();
+
+        return accountRepository.decrementBalanceIfSufficient(sourceAccount, amount)
+                .switchIfEmpty(debitRejected(sourceAccount, "Insufficient funds",
+                        () -> new AccountNotFoundException("Source account not found")))
+                .flatMap(source -> {
+                    accountCache.invalidate(sourceAccount);
+                    // Refund the source if the destination does not exist
+                    return accountRepository.incrementBalance(destinationAccount, amount)
+                            .switchIfEmpty(accountRepository.incrementBalance(sourceAccount, amount)
+                                    .doOnNext(refunded -> accountCache.invalidate(sourceAccount))
+                                    .then(Mono.error(() -> new AccountNotFoundException("Destination account not found"))))
+                            .flatMap(destination -> {
+                                accountCache.invalidate(destinationAccount);
+                                log.info("Transfer successful. Source balance: {}", Money.toDecimal(source.getBalance()));
+                                return saveTransaction("TRANSFER", amount, sourceAccount, destinationAccount);
+                            });
+                });
+    }
+
+    @Override
+    public Flux<TransactionResponse> getTransactions(String accountNumber) {
+        return transactionRepository.findBySourceAccountOrDestinationAccount(accountNumber, accountNumber)
+                .map(TransactionResponse::from);
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    /** A guarded debit matched nothing: tell a missing account apart from a low balance. */
+    private Mono<Account> debitRejected(String accountNumber, String insufficientMessage,
+                                        Supplier<AccountNotFoundException> notFound) {
+        return Mono.defer(() -> accountRepository.existsByAccountNumber(accountNumber))
+                .flatMap(exists -> Mono.error(exists
+                        ? new InsufficientBalanceException(insufficientMessage)
+                        : notFound.get()));
+    }
+
+    private Mono<TransactionResponse> saveTransaction(String type, long amount, String source, String destination) {
+        Transaction txn = Transaction.builder()
+                .transactionId(TransactionIdGenerator.generate())
+                .type(type)
+                .amount(amount)
+                .timestamp(new Date())
+                .status("SUCCESS")
+                .sourceAccount(source)
+                .destinationAccount(destination)
+                .build();
+        return transactionRepository.append(txn)
+                // Listeners may block on Mongo, which must not happen on a reactive driver thread
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> {
+                    log.info("Transaction saved: {}", saved.getTransactionId());
+                    eventPublisher.publishEvent(new TransactionsRecordedEvent(List.of(saved)));
+                })
+                .map(TransactionResponse::from);
+    }
+}
@@ -0,0 +1,147 @@
+package com.bankingsystem.simulator.service.impl;
+
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.model.dto.StatementResponse;
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.repository.StatementRollupRepository;
+import com.bankingsystem.simulator.service.StatementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Accounts open with a zero balance, so a period's opening balance is the net of every
+ * earlier period: the monthly rollups before it, plus for a day the daily rollups
+ * earlier in its month.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StatementServiceImpl implements StatementService {
+
+    static final int MAX_MONTHS = 120;
+
+    private final AccountRepository accountRepository;
+    private final StatementRollupRepository rollupRepository;
+
+    @Override
+    public StatementResponse getStatement(String accountNumber, String period) {
+
+        if (period == null)
+            throw new InvalidInputException("period is required");
+
+        requireAccount(accountNumber);
+        log.info("Statement for {} period {}", accountNumber, period);
+
+        if (period.length() == 7) {
+            YearMonth month = parseMonth(period);
+            List<StatementRollup> months = rollupRepository.findByAccountNumberAndGranularityAndPeriodLessThanEqualOrderByPeriodAsc(
+                    accountNumber, StatementRollup.MONTHLY, month.toString());
+            long opening = netBefore(months, month.toString());
+            return statement(accountNumber, month.toString(), opening, find(months, month.toString()));
+        }
+
+        LocalDate day = parseDay(period);
+        YearMonth month = YearMonth.from(day);
+        long opening = netBefore(rollupRepository.findByAccountNumberAndGranularityAndPeriodLessThanEqualOrderByPeriodAsc(
+                accountNumber, StatementRollup.MONTHLY, month.minusMonths(1).toString()), month.toString());
+        List<StatementRollup> days = rollupRepository
+                .findByAccountNumberAndGranularityAndPeriodGreaterThanEqualAndPeriodLessThanEqualOrderByPeriodAsc(
+                        accountNumber, StatementRollup.DAILY, month.atDay(1).toString(), day.toString());
+        opening += netBefore(days, day.toString());
+        return statement(accountNumber, day.toString(), opening, find(days, day.toString()));
+    }
+
+    @Override
+    public List<StatementResponse> getMonthlyStatements(String accountNumber, String from, String to) {
+
+        if (from == null || to == null)
+            throw new InvalidInputException("from and to are required");
+        YearMonth first = parseMonth(from);
+        YearMonth last = parseMonth(to);
+        if (first.isAfter(last))
+            throw new InvalidInputException("from must not be after to");
+        if (first.plusMonths(MAX_MONTHS).isBefore(last.plusMonths(1)))
+            throw new InvalidInputException("At most " + MAX_MONTHS + " months per request");
+
+        requireAccount(accountNumber);
+        log.info("Monthly statements for {} from {} to {}", accountNumber, first, last);
+
+        List<StatementRollup> months = rollupRepository.findByAccountNumberAndGranularityAndPeriodLessThanEqualOrderByPeriodAsc(
+                accountNumber, StatementRollup.MONTHLY, last.toString());
+        Map<String, StatementRollup> byPeriod = months.stream()
+                .collect(Collectors.toMap(StatementRollup::getPeriod, Function.identity()));
+
+        long balance = netBefore(months, first.toString());
+        List<StatementResponse> statements = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            StatementResponse statement = statement(accountNumber, month.toString(), balance, byPeriod.get(month.toString()));
+            statements.add(statement);
+            balance = statement.getClosingBalance();
+        }
+        return statements;
+    }
+
+    // ---------------- Helper Methods ----------------
+
+    private void requireAccount(String accountNumber) {
+        if (!accountRepository.existsByAccountNumber(accountNumber))
+            throw new AccountNotFoundException("Account not found: " + accountNumber);
+    }
+
+    /** Net of the rollups whose period sorts before {@code period}. */
+    private static long netBefore(List<StatementRollup> rollups, String period) {
+        long net = 0;
+        for (StatementRollup rollup : rollups) {
+            if (rollup.getPeriod().compareTo(period) < 0) {
+                net += rollup.net();
+            }
+        }
+        return net;
+    }
+
+    private static StatementRollup find(List<StatementRollup> rollups, String period) {
+        return rollups.stream().filter(r -> r.getPeriod().equals(period)).findFirst().orElse(null);
+    }
+
+    private static StatementResponse statement(String accountNumber, String period, long opening, StatementRollup rollup) {
+        StatementRollup totals = rollup != null ? rollup : new StatementRollup();
+        return StatementResponse.builder()
+                .accountNumber(accountNumber)
+                .period(period)
+                .openingBalance(opening)
+                .totalIn(totals.getCredits())
+                .totalOut(totals.getDebits())
+                .closingBalance(opening + totals.net())
+                .creditCount(totals.getCreditCount())
+                .debitCount(totals.getDebitCount())
+                .build();
+    }
+
+    private static YearMonth parseMonth(String value) {
+        try {
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidInputException("Invalid month (expected yyyy-MM): " + value);
+        }
+    }
+
+    private static LocalDate parseDay(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidInputException("Invalid period (expected yyyy-MM or yyyy-MM-dd): " + value);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bankingsystem.simulator.service.impl;
+
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.model.dto.TransactionExportRow;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import com.bankingsystem.simulator.service.TransactionExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    static final int FLUSH_EVERY = 500;
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectWriter rowWriter;
+
+    public TransactionExportServiceImpl(TransactionRepository transactionRepository, ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.rowWriter = objectMapper.writerFor(TransactionExportRow.class);
+    }
+
+    @Override
+    public long exportTransactions(String accountNumber, Date from, Date to, OutputStream out) {
+
+        if (from != null && to != null && !from.before(to))
+            throw new InvalidInputException("from must be before to");
+
+        log.info("Exporting transactions for account {}", accountNumber);
+
+        long rows = 0;
+        // Rows are written as the cursor yields them; a slow client blocks the write,
+        // which stops the cursor from fetching further batches.
+        try (Stream<Transaction> txns = transactionRepository.streamHistory(accountNumber, from, to)) {
+            Iterator<Transaction> it = txns.iterator();
+            while (it.hasNext()) {
+                out.write(rowWriter.writeValueAsBytes(toRow(it.next())));
+                out.write('\n');
+                if (++rows % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export of account " + accountNumber + " aborted after " + rows + " rows", e);
+        }
+
+        log.info("Exported {} transactions for account {}", rows, accountNumber);
+        return rows;
+    }
+
+    private TransactionExportRow toRow(Transaction txn) {
+        return TransactionExportRow.builder()
+                .transactionId(txn.getTransactionId())
+                .type(txn.getType())
+                .amount(txn.getAmount())
+                .timestamp(txn.getTimestamp())
+                .status(txn.getStatus())
+                .sourceAccount(txn.getSourceAccount())
+                .destinationAccount(txn.getDestinationAccount())
+                .build();
+    }
+}
@@ -1,22 +1,38 @@
 package com.bankingsystem.simulator.service.impl;
 
+import com.bankingsystem.simulator.cache.AccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.event.TransactionsRecordedEvent;
 import com.bankingsystem.simulator.exception.AccountNotFoundException;
 import com.bankingsystem.simulator.exception.InsufficientBalanceException;
 import com.bankingsystem.simulator.exception.InvalidAmountException;
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.journal.TransactionWriter;
 import com.bankingsystem.simulator.model.dto.*;
 import com.bankingsystem.simulator.model.entity.Account;
 import com.bankingsystem.simulator.model.entity.Transaction;
 import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.repository.AccountRepositoryCustom;
 import com.bankingsystem.simulator.repository.TransactionRepository;
+import com.bankingsystem.simulator.repository.TransactionRepositoryCustom.TransactionRow;
 import com.bankingsystem.simulator.service.TransactionService;
+import com.bankingsystem.simulator.util.Money;
+import com.bankingsystem.simulator.util.PageCursor;
 import com.bankingsystem.simulator.util.TransactionIdGenerator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,24 +40,34 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    static final int MAX_BATCH_TRANSFERS = 10_000;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final String SOURCE_NOT_FOUND = "Source account not found";
+    static final String DESTINATION_NOT_FOUND = "Destination account not found";
+    static final String INSUFFICIENT_FUNDS = "Insufficient funds";
+    static final String TRANSFER_NOT_APPLIED = "Transfer could not be completed and was rolled back";
+
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final AccountCache accountCache;
+    private final TransactionWriter transactionWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountContention accountContention;
 
     @Override
     public TransactionResponse deposit(String accountNumber, DepositRequest request) {
 
-        log.info("Deposit request received for {} amount {}", accountNumber, request.getAmount());
+        log.info("Deposit request received for {} amount {}", accountNumber, Money.toDecimal(request.getAmount()));
 
-        if (request.getAmount() == null || request.getAmount() <= 0)
+        if (request.getAmount() <= 0)
             throw new InvalidAmountException("Amount must be greater than 0");
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        Account account = accountRepository.incrementBalance(accountNumber, request.getAmount())
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+        accountCache.invalidate(accountNumber);
 
-        account.setBalance(account.getBalance() + request.getAmount());
-        accountRepository.save(account);
-
-        log.info("Deposit successful. New balance: {}", account.getBalance());
+        log.info("Deposit successful. New balance: {}", Money.toDecimal(account.getBalance()));
 
         Transaction txn = saveTransaction(
                 "DEPOSIT",
@@ -51,27 +77,25 @@ public class TransactionServiceImpl implements TransactionService {
                 null
         );
 
-        return toResponse(txn);
+        return TransactionResponse.from(txn);
     }
 
     @Override
     public TransactionResponse withdraw(String accountNumber, WithdrawRequest request) {
 
-        log.info("Withdraw request for {} amount {}", accountNumber, request.getAmount());
+        log.info("Withdraw request for {} amount {}", accountNumber, Money.toDecimal(request.getAmount()));
 
-        if (request.getAmount() == null || request.getAmount() <= 0)
+        if (request.getAmount() <= 0)
             throw new InvalidAmountException("Amount must be greater than 0");
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
-
-        if (account.getBalance() < request.getAmount())
-            throw new InsufficientBalanceException("Insufficient balance");
+        // Guarded $inc: the balance check and the debit happen in one atomic update
+        Account account = accountRepository.decrementBalanceIfSufficient(accountNumber, request.getAmount())
+                .orElseThrow(() -> accountRepository.existsByAccountNumber(accountNumber)
+                        ? new InsufficientBalanceException("Insufficient balance")
+                        : new AccountNotFoundException("Account not found: " + accountNumber));
+        accountCache.invalidate(accountNumber);
 
-        account.setBalance(account.getBalance() - request.getAmount());
-        accountRepository.save(account);
-
-        log.info("Withdrawal successful. New balance: {}", account.getBalance());
+        log.info("Withdrawal successful. New balance: {}", Money.toDecimal(account.getBalance()));
 
         Transaction txn = saveTransaction(
                 "WITHDRAW",
@@ -81,7 +105,7 @@ public class TransactionServiceImpl implements TransactionService {
                 null
         );
 
-        return toResponse(txn);
+        return TransactionResponse.from(txn);
     }
 
     @Override
@@ -90,29 +114,29 @@ public class TransactionServiceImpl implements TransactionService {
         log.info("Transfer request: {} -> {} amount {}",
                 request.getSourceAccount(),
                 request.getDestinationAccount(),
-                request.getAmount());
+                Money.toDecimal(request.getAmount()));
 
-        if (request.getAmount() == null || request.getAmount() <= 0)
+        if (request.getAmount() <= 0)
             throw new InvalidAmountException("Amount must be greater than 0");
 
-        Account source = accountRepository.findByAccountNumber(request.getSourceAccount())
-                .orElseThrow(() -> new AccountNotFoundException("Source account not found"));
-
-        Account destination = accountRepository.findByAccountNumber(request.getDestinationAccount())
-                .orElseThrow(() -> new AccountNotFoundException("Destination account not found"));
-
-        if (source.getBalance() < request.getAmount())
-            throw new InsufficientBalanceException("Insufficient funds");
-
-        // Deduct from source
-        source.setBalance(source.getBalance() - request.getAmount());
-        accountRepository.save(source);
-
-        // Add to destination
-        destination.setBalance(destination.getBalance() + request.getAmount());
-        accountRepository.save(destination);
-
-        log.info("Transfer successful. Source balance: {}", source.getBalance());
+        // Deduct from source (atomic, only if the balance covers it)
+        Account source = accountRepository.decrementBalanceIfSufficient(request.getSourceAccount(), request.getAmount())
+                .orElseThrow(() -> accountRepository.existsByAccountNumber(request.getSourceAccount())
+                        ? new InsufficientBalanceException(INSUFFICIENT_FUNDS)
+                        : new AccountNotFoundException(SOURCE_NOT_FOUND));
+        accountCache.invalidate(source.getAccountNumber());
+
+        // Add to destination; refund the source if the destination does not exist
+        Account destination = accountRepository.incrementBalance(request.getDestinationAccount(), request.getAmount())
+                .orElse(null);
+        if (destination == null) {
+            accountRepository.incrementBalance(source.getAccountNumber(), request.getAmount());
+            accountCache.invalidate(source.getAccountNumber());
+            throw new AccountNotFoundException(DESTINATION_NOT_FOUND);
+        }
+        accountCache.invalidate(destination.getAccountNumber());
+
+        log.info("Transfer successful. Source balance: {}", Money.toDecimal(source.getBalance()));
 
         Transaction txn = saveTransaction(
                 "TRANSFER",
@@ -122,7 +146,172 @@ public class TransactionServiceImpl implements TransactionService {
                 destination.getAccountNumber()
         );
 
-        return toResponse(txn);
+        return TransactionResponse.from(txn);
+    }
+
+    @Override
+    public BatchTransferResponse transferBatch(List<TransferRequest> requests) {
+
+        if (requests == null || requests.isEmpty())
+            throw new InvalidInputException("Batch must contain at least one transfer");
+        if (requests.size() > MAX_BATCH_TRANSFERS)
+            throw new InvalidInputException("Batch cannot contain more than " + MAX_BATCH_TRANSFERS + " transfers");
+
+        log.info("Batch transfer request with {} items", requests.size());
+
+        BatchTransferItemResult[] results = new BatchTransferItemResult[requests.size()];
+
+        // Validate every item and load all referenced accounts with a single query
+        Set<String> accountNumbers = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validateBatchItem(requests.get(i));
+            if (error != null) {
+                results[i] = failed(i, error);
+            } else {
+                accountNumbers.add(requests.get(i).getSourceAccount());
+                accountNumbers.add(requests.get(i).getDestinationAccount());
+            }
+        }
+        Map<String, Long> available = new HashMap<>();
+        for (Account account : accountRepository.findByAccountNumberIn(accountNumbers)) {
+            available.put(account.getAccountNumber(), account.getBalance());
+        }
+        // Hot accounts hold part of their balance in shard documents
+        accountRepository.shardBalances(available.keySet()).forEach((n, b) -> available.merge(n, b, Long::sum));
+
+        // Plan against the snapshot. Incoming credits are not counted towards a source's funds,
+        // so a debit that fails later never invalidates another account's debit.
+        Map<String, Long> debits = new LinkedHashMap<>();
+        Map<String, Integer> debitItems = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) continue;
+            TransferRequest req = requests.get(i);
+            Long balance = available.get(req.getSourceAccount());
+            if (balance == null) {
+                results[i] = failed(i, SOURCE_NOT_FOUND);
+            } else if (!available.containsKey(req.getDestinationAccount())) {
+                results[i] = failed(i, DESTINATION_NOT_FOUND);
+            } else if (balance < req.getAmount()) {
+                results[i] = failed(i, INSUFFICIENT_FUNDS);
+            } else {
+                available.put(req.getSourceAccount(), balance - req.getAmount());
+                debits.merge(req.getSourceAccount(), req.getAmount(), Long::sum);
+                debitItems.merge(req.getSourceAccount(), 1, Integer::sum);
+            }
+        }
+
+        // One guarded debit per source account. If it misses, the snapshot said the balance covered it,
+        // so a concurrent debit got there first: the source's items are then debited one at a time and
+        // only those the remaining balance no longer covers fail.
+        Map<String, Long> debited = new LinkedHashMap<>();
+        try {
+            debits.forEach((accountNumber, total) -> {
+                if (accountRepository.decrementBalanceIfSufficient(accountNumber, total).isPresent()) {
+                    debited.put(accountNumber, total);
+                    return;
+                }
+                accountContention.record(accountNumber, "transferBatch");
+                boolean single = debitItems.get(accountNumber) == 1;
+                for (int i = 0; i < requests.size(); i++) {
+                    TransferRequest req = requests.get(i);
+                    if (results[i] != null || !req.getSourceAccount().equals(accountNumber)) continue;
+                    if (!single && accountRepository.decrementBalanceIfSufficient(accountNumber, req.getAmount()).isPresent()) {
+                        debited.merge(accountNumber, req.getAmount(), Long::sum);
+                    } else {
+                        results[i] = failed(i, INSUFFICIENT_FUNDS);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            compensate(debited, "debits of a failed batch");
+            throw e;
+        }
+
+        Map<String, Long> credits = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) continue;
+            credits.merge(requests.get(i).getDestinationAccount(), requests.get(i).getAmount(), Long::sum);
+        }
+        Map<String, String> creditFailures;
+        try {
+            creditFailures = accountRepository.incrementBalances(credits);
+        } catch (RuntimeException e) {
+            log.error("Batch transfer credits failed, treating all {} as not applied: {}", credits, e.getMessage());
+            creditFailures = new HashMap<>();
+            for (String accountNumber : credits.keySet()) {
+                creditFailures.put(accountNumber, e.getMessage());
+            }
+        }
+
+        // Refund the sources of credits that did not land, as transfer() does for a missing destination
+        Map<String, Long> refunds = new LinkedHashMap<>();
+        List<Transaction> txns = new ArrayList<>();
+        List<Integer> txnIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) continue;
+            TransferRequest req = requests.get(i);
+            String creditFailure = creditFailures.get(req.getDestinationAccount());
+            if (creditFailure != null) {
+                results[i] = failed(i, AccountRepositoryCustom.ACCOUNT_NOT_FOUND.equals(creditFailure)
+                        ? DESTINATION_NOT_FOUND
+                        : TRANSFER_NOT_APPLIED);
+                refunds.merge(req.getSourceAccount(), req.getAmount(), Long::sum);
+                continue;
+            }
+            txns.add(buildTransaction("TRANSFER", req.getAmount(), "SUCCESS",
+                    req.getSourceAccount(), req.getDestinationAccount()));
+            txnIndexes.add(i);
+        }
+        compensate(refunds, "credits that did not land");
+
+        debits.keySet().forEach(accountCache::invalidate);
+        credits.keySet().forEach(accountCache::invalidate);
+        if (!txns.isEmpty()) {
+            try {
+                transactionWriter.writeAll(txns);
+            } catch (RuntimeException e) {
+                // Money must not move without a record of it: undo these transfers
+                log.error("Batch transfer records could not be written, reversing {} transfers: {}",
+                        txns.size(), e.getMessage());
+                Map<String, Long> reversal = new LinkedHashMap<>();
+                for (int k = 0; k < txns.size(); k++) {
+                    Transaction txn = txns.get(k);
+                    reversal.merge(txn.getSourceAccount(), txn.getAmount(), Long::sum);
+                    reversal.merge(txn.getDestinationAccount(), -txn.getAmount(), Long::sum);
+                    results[txnIndexes.get(k)] = failed(txnIndexes.get(k), TRANSFER_NOT_APPLIED);
+                }
+                compensate(reversal, "reversal of unrecorded transfers");
+                txns.clear();
+                txnIndexes.clear();
+            }
+        }
+        if (!txns.isEmpty()) {
+            // The transfers are applied and recorded: from here on the batch must not throw,
+            // or callers such as the group committer would take them for not applied
+            try {
+                eventPublisher.publishEvent(new TransactionsRecordedEvent(txns));
+            } catch (RuntimeException e) {
+                log.error("Listeners failed for {} recorded batch transfers: {}", txns.size(), e.getMessage());
+            }
+        }
+
+        for (int k = 0; k < txns.size(); k++) {
+            int i = txnIndexes.get(k);
+            results[i] = BatchTransferItemResult.builder()
+                    .index(i)
+                    .status("SUCCESS")
+                    .transaction(TransactionResponse.from(txns.get(k)))
+                    .build();
+        }
+
+        log.info("Batch transfer finished: {} succeeded, {} failed", txns.size(), requests.size() - txns.size());
+
+        return BatchTransferResponse.builder()
+                .total(requests.size())
+                .succeeded(txns.size())
+                .failed(requests.size() - txns.size())
+                .results(List.of(results))
+                .build();
     }
 
     @Override
@@ -133,14 +322,59 @@ public class TransactionServiceImpl implements TransactionService {
         List<Transaction> txns = transactionRepository
                 .findBySourceAccountOrDestinationAccount(accountNumber, accountNumber);
 
-        return txns.stream().map(this::toResponse).collect(Collectors.toList());
+        return txns.stream().map(TransactionResponse::from).collect(Collectors.toList());
+    }
+
+    @Override
+    public TransactionPageResponse getTransactionPage(String accountNumber, TransactionPageRequest request) {
+
+        int limit = request.getLimit() == null ? DEFAULT_PAGE_SIZE : request.getLimit();
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new InvalidInputException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().before(request.getTo()))
+            throw new InvalidInputException("from must be before to");
+
+        PageCursor after = request.getCursor() == null ? null : PageCursor.decode(request.getCursor());
+
+        log.info("Fetching {} transactions for account {} after {}", limit, accountNumber, request.getCursor());
+
+        // Fetch one extra row to learn whether another page exists
+        List<TransactionRow> rows = transactionRepository.findPage(
+                accountNumber, request.getFrom(), request.getTo(), after, limit + 1);
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            TransactionRow last = rows.get(limit - 1);
+            nextCursor = new PageCursor(last.response().getTimestamp(), last.id()).encode();
+        }
+
+        List<TransactionResponse> transactions = new ArrayList<>(rows.size());
+        for (TransactionRow row : rows) {
+            transactions.add(row.response());
+        }
+        return TransactionPageResponse.builder()
+                .transactions(transactions)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     // ---------------- Helper Methods ----------------
 
-    private Transaction saveTransaction(String type, Double amount, String status, String source, String destination) {
+    private Transaction saveTransaction(String type, long amount, String status, String source, String destination) {
+
+        Transaction txn = buildTransaction(type, amount, status, source, destination);
 
-        Transaction txn = Transaction.builder()
+        transactionWriter.write(txn);
+        eventPublisher.publishEvent(new TransactionsRecordedEvent(List.of(txn)));
+
+        log.info("Transaction saved: {}", txn.getTransactionId());
+
+        return txn;
+    }
+
+    private Transaction buildTransaction(String type, long amount, String status, String source, String destination) {
+        return Transaction.builder()
                 .transactionId(TransactionIdGenerator.generate())
                 .type(type)
                 .amount(amount)
@@ -149,21 +383,43 @@ public class TransactionServiceImpl implements TransactionService {
                 .sourceAccount(source)
                 .destinationAccount(destination)
                 .build();
+    }
 
-        transactionRepository.save(txn);
-
-        log.info("Transaction saved: {}", txn.getTransactionId());
+    /**
+     * Adds the amounts back as compensation. A compensation that cannot be applied leaves the
+     * balances wrong, so it is logged as an error with what needs reconciling.
+     */
+    private void compensate(Map<String, Long> amounts, String reason) {
+        if (amounts.isEmpty()) {
+            return;
+        }
+        try {
+            accountRepository.incrementBalances(amounts).forEach((accountNumber, error) ->
+                    log.error("Batch transfer compensation of {} on {} ({}) failed: {}",
+                            amounts.get(accountNumber), accountNumber, reason, error));
+        } catch (RuntimeException e) {
+            log.error("Batch transfer compensation {} ({}) failed: {}", amounts, reason, e.getMessage());
+        }
+        amounts.keySet().forEach(accountCache::invalidate);
+    }
 
-        return txn;
+    private String validateBatchItem(TransferRequest req) {
+        if (req == null)
+            return "Transfer is required";
+        if (req.getSourceAccount() == null || req.getSourceAccount().isBlank())
+            return "Source account is required";
+        if (req.getDestinationAccount() == null || req.getDestinationAccount().isBlank())
+            return "Destination account is required";
+        if (req.getAmount() <= 0)
+            return "Amount must be greater than 0";
+        return null;
     }
 
-    private TransactionResponse toResponse(Transaction txn) {
-        return TransactionResponse.builder()
-                .transactionId(txn.getTransactionId())
-                .type(txn.getType())
-                .amount(txn.getAmount())
-                .timestamp(txn.getTimestamp())
-                .status(txn.getStatus())
+    private BatchTransferItemResult failed(int index, String error) {
+        return BatchTransferItemResult.builder()
+                .index(index)
+                .status("FAILED")
+                .error(error)
                 .build();
     }
 }
@@ -0,0 +1,51 @@
+package com.bankingsystem.simulator.sharding;
+
+import com.bankingsystem.simulator.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Creates the shard documents of the configured hot accounts in the background once the
+ * application is ready. Until a shard exists, credits picked for it go to the account document.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AccountShardBootstrap {
+
+    private final HotAccounts hotAccounts;
+    private final AccountRepository accountRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (hotAccounts.accounts().isEmpty() || hotAccounts.shards() < 2) {
+            return;
+        }
+        CompletableFuture.runAsync(this::run, runnable -> {
+            Thread t = new Thread(runnable, "account-shard-bootstrap");
+            t.setDaemon(true);
+            t.start();
+        });
+    }
+
+    void run() {
+        for (String accountNumber : hotAccounts.accounts()) {
+            try {
+                if (accountRepository.existsByAccountNumber(accountNumber)) {
+                    accountRepository.ensureShards(accountNumber);
+                    log.info("Account {} sharded {} ways", accountNumber, hotAccounts.shards());
+                } else {
+                    log.warn("Hot account {} does not exist; its shards will be created on its first batch credit",
+                            accountNumber);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not create shards for account {}", accountNumber, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bankingsystem.simulator.sharding;
+
+import com.bankingsystem.simulator.config.ShardingProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+
+/**
+ * The accounts configured for balance sharding, and a short-lived cache of their
+ * summed shard balances so that balance reads do not aggregate the shards every time.
+ */
+@Component
+public class HotAccounts {
+
+    private final Set<String> accounts;
+    private final int shards;
+    private final Cache<String, Long> shardTotals;
+
+    public HotAccounts(ShardingProperties properties) {
+        if (properties.getShards() < 1) {
+            throw new IllegalArgumentException("banking.accounts.sharding.shards must be at least 1");
+        }
+        this.accounts = Set.copyOf(properties.getHotAccounts());
+        this.shards = properties.getShards();
+        this.shardTotals = properties.getTotalCacheTtl().isZero()
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(Math.max(accounts.size(), 1))
+                        .expireAfterWrite(properties.getTotalCacheTtl())
+                        .build();
+    }
+
+    public boolean isHot(String accountNumber) {
+        return shards > 1 && accounts.contains(accountNumber);
+    }
+
+    public Set<String> accounts() {
+        return accounts;
+    }
+
+    /** Shards per hot account, including the account document. */
+    public int shards() {
+        return shards;
+    }
+
+    /** A shard picked uniformly at random; 0 is the account document. */
+    public int randomShard() {
+        return ThreadLocalRandom.current().nextInt(shards);
+    }
+
+    /** Sum of shards 1..K-1, served from the cache while it is fresh. */
+    public long shardTotal(String accountNumber, ToLongFunction<String> loader) {
+        return shardTotals == null
+                ? loader.applyAsLong(accountNumber)
+                : shardTotals.get(accountNumber, loader::applyAsLong);
+    }
+}
@@ -0,0 +1,143 @@
+package com.bankingsystem.simulator.statement;
+
+import com.bankingsystem.simulator.config.StatementProperties;
+import com.bankingsystem.simulator.model.dto.StatementBackfillStatus;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.repository.StatementRollupRepository;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds every account's rollups from the transactions collection. Accounts are
+ * independent, so they are rebuilt {@code backfillParallelism} at a time: one
+ * aggregation per account for its daily totals (served by the history indexes), then a
+ * replace of its rollups.
+ * <p>
+ * Live traffic keeps flowing. The backfill picks a cutoff, fences this node's
+ * {@link StatementRollupUpdater} at it, and waits {@code backfillSettle} so that every
+ * transaction timestamped before the cutoff has been written. Each account is then
+ * rebuilt from those transactions only, and the updater adds the later ones once the
+ * account's rollups have been replaced. The fence is local: on several nodes, the
+ * others' updaters must be disabled while the backfill runs, or their writes during an
+ * account's replace can be lost.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "banking.statements", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementBackfill {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final StatementRollupRepository rollupRepository;
+    private final StatementRollupUpdater updater;
+    private final StatementProperties properties;
+
+    private final AtomicLong rebuilt = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running;
+    private volatile Date startedAt;
+    private volatile Date finishedAt;
+
+    /** Starts a backfill in the background unless one is already running. */
+    public synchronized StatementBackfillStatus start() {
+        if (!running) {
+            running = true;
+            rebuilt.set(0);
+            failed.set(0);
+            startedAt = new Date();
+            finishedAt = null;
+            Thread t = new Thread(this::run, "statement-backfill");
+            t.setDaemon(true);
+            t.start();
+        }
+        return status();
+    }
+
+    public StatementBackfillStatus status() {
+        return StatementBackfillStatus.builder()
+                .running(running)
+                .accountsRebuilt(rebuilt.get())
+                .accountsFailed(failed.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+
+    private void run() {
+        int parallelism = properties.getBackfillParallelism();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        // Bounds the accounts read ahead of the workers
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        Date cutoff = new Date();
+        updater.fence(cutoff);
+        try (Stream<Account> accounts = accountRepository.streamAccountNumbers()) {
+            Thread.sleep(properties.getBackfillSettle().toMillis());
+            accounts.forEach(account -> {
+                inFlight.acquireUninterruptibly();
+                workers.execute(() -> {
+                    try {
+                        rebuild(account.getAccountNumber(), cutoff);
+                        updater.release(account.getAccountNumber());
+                        rebuilt.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        log.warn("Statement backfill failed for {}: {}", account.getAccountNumber(), e.getMessage());
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            });
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Statement backfill stopped: {}", e.getMessage());
+        } finally {
+            workers.shutdownNow();
+            updater.unfence();
+            finishedAt = new Date();
+            running = false;
+            log.info("Statement backfill finished: {} accounts rebuilt, {} failed", rebuilt.get(), failed.get());
+        }
+    }
+
+    void rebuild(String accountNumber, Date cutoff) {
+        List<StatementRollup> days = transactionRepository.dailyTotals(accountNumber, properties.getZone(), cutoff);
+        Map<String, StatementRollup> months = new LinkedHashMap<>();
+        for (StatementRollup day : days) {
+            String period = day.getPeriod().substring(0, 7);
+            StatementRollup month = months.computeIfAbsent(period, p -> StatementRollup.builder()
+                    .id(StatementRollup.idOf(accountNumber, StatementRollup.MONTHLY, p))
+                    .accountNumber(accountNumber)
+                    .granularity(StatementRollup.MONTHLY)
+                    .period(p)
+                    .build());
+            month.setCredits(month.getCredits() + day.getCredits());
+            month.setDebits(month.getDebits() + day.getDebits());
+            month.setCreditCount(month.getCreditCount() + day.getCreditCount());
+            month.setDebitCount(month.getDebitCount() + day.getDebitCount());
+        }
+        List<StatementRollup> rollups = new ArrayList<>(days);
+        rollups.addAll(months.values());
+        rollupRepository.replaceAll(accountNumber, rollups);
+    }
+}
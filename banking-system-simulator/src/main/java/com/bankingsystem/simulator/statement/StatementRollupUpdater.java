@@ -0,0 +1,234 @@
+package com.bankingsystem.simulator.statement;
+
+import com.bankingsystem.simulator.config.StatementProperties;
+import com.bankingsystem.simulator.event.TransactionsRecordedEvent;
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.StatementRollupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds recorded transactions to the daily and monthly rollups of every account they
+ * touch. The listener only merges the deltas into an in-memory buffer, so requests
+ * never wait on it; a background thread writes the buffer every flush interval as a
+ * single bulk write of $inc upserts, one per account and period however many
+ * transactions hit it. Rollups therefore lag the transactions by up to one interval.
+ * Deltas whose write fails go back into the buffer and are retried at the next flush,
+ * up to {@code maxPending} buffered deltas; beyond that they are dropped and counted
+ * (banking.statements.rollups, outcome=dropped). A write whose reply is lost may have
+ * been applied, and is then counted twice when retried.
+ * <p>
+ * The buffer is memory only: whatever it holds when the process dies is lost, and
+ * statements stay short by those transactions until the backfill is run.
+ * <p>
+ * While the backfill runs, it fences the updater at its cutoff time. Until an account
+ * has been rebuilt, its transactions timestamped before the cutoff are left to the
+ * backfill, and later ones are held back, then added on top of the rebuilt rollups.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "banking.statements", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementRollupUpdater implements AutoCloseable {
+
+    static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final StatementRollupRepository rollupRepository;
+    private final StatementProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Object lock = new Object();
+    // Held while a flush writes, so a fence can wait for the write in progress
+    private final Object flushing = new Object();
+    private Map<String, StatementRollup> pending = new LinkedHashMap<>();
+    private Date cutoff;
+    private final Set<String> released = new HashSet<>();
+    private final Map<String, Map<String, StatementRollup>> held = new HashMap<>();
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        long interval = properties.getFlushInterval().toMillis();
+        executor = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("statement-rollups").daemon(true).factory());
+        executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        flush();
+    }
+
+    @EventListener
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        synchronized (lock) {
+            for (Transaction txn : event.transactions()) {
+                add(txn);
+            }
+        }
+    }
+
+    /** Writes everything buffered so far in one bulk write. */
+    void flush() {
+        synchronized (flushing) {
+            Map<String, StatementRollup> deltas;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                deltas = pending;
+                pending = new LinkedHashMap<>();
+            }
+            List<StatementRollup> failed;
+            String reason;
+            try {
+                failed = rollupRepository.increment(deltas.values());
+                reason = "rejected by the server";
+            } catch (RuntimeException e) {
+                failed = List.copyOf(deltas.values());
+                reason = e.getMessage();
+            }
+            if (!failed.isEmpty()) {
+                requeue(failed, reason);
+            }
+        }
+    }
+
+    private void requeue(List<StatementRollup> failed, String reason) {
+        synchronized (lock) {
+            if (pending.size() + failed.size() > properties.getMaxPending()) {
+                meterRegistry.counter("banking.statements.rollups", "outcome", "dropped").increment(failed.size());
+                log.error("Dropped {} statement rollup deltas, the buffer is full; run the backfill: {}",
+                        failed.size(), reason);
+                return;
+            }
+            meterRegistry.counter("banking.statements.rollups", "outcome", "retried").increment(failed.size());
+            log.warn("Statement rollups not updated, {} deltas will be retried: {}", failed.size(), reason);
+            // Deltas buffered since the failed write are added to the ones being retried
+            Map<String, StatementRollup> merged = new LinkedHashMap<>();
+            failed.forEach(delta -> merged.put(delta.getId(), delta));
+            pending.values().forEach(delta -> merge(merged, delta));
+            pending = merged;
+        }
+    }
+
+    /**
+     * Fences the updater for a backfill that rebuilds every account from the transactions
+     * timestamped before {@code cutoff}. Waits for a write in progress, and discards the
+     * buffered deltas: they are all for earlier transactions, which the backfill counts.
+     */
+    void fence(Date cutoff) {
+        synchronized (flushing) {
+            synchronized (lock) {
+                this.cutoff = cutoff;
+                pending = new LinkedHashMap<>();
+            }
+        }
+    }
+
+    /** Ends the fence for an account whose rollups were rebuilt; its held deltas are written next. */
+    void release(String accountNumber) {
+        synchronized (lock) {
+            released.add(accountNumber);
+            Map<String, StatementRollup> deltas = held.remove(accountNumber);
+            if (deltas != null) {
+                deltas.values().forEach(delta -> merge(pending, delta));
+            }
+        }
+    }
+
+    /** Ends the fence; deltas still held for accounts that were not rebuilt are written next. */
+    void unfence() {
+        synchronized (lock) {
+            held.values().forEach(deltas -> deltas.values().forEach(delta -> merge(pending, delta)));
+            held.clear();
+            released.clear();
+            cutoff = null;
+        }
+    }
+
+    private void add(Transaction txn) {
+        ZonedDateTime time = txn.getTimestamp().toInstant().atZone(properties.getZone());
+        if ("DEPOSIT".equals(txn.getType())) {
+            add(txn, txn.getSourceAccount(), time, txn.getAmount(), 0);
+        } else {
+            add(txn, txn.getSourceAccount(), time, 0, txn.getAmount());
+            if (txn.getDestinationAccount() != null) {
+                add(txn, txn.getDestinationAccount(), time, txn.getAmount(), 0);
+            }
+        }
+    }
+
+    private void add(Transaction txn, String accountNumber, ZonedDateTime time, long credit, long debit) {
+        Map<String, StatementRollup> deltas = deltasFor(accountNumber, txn.getTimestamp());
+        if (deltas == null) {
+            return;
+        }
+        addTo(deltas, accountNumber, StatementRollup.DAILY, DAY.format(time), credit, debit);
+        addTo(deltas, accountNumber, StatementRollup.MONTHLY, MONTH.format(time), credit, debit);
+    }
+
+    /** Where an account's deltas go, or null when the running backfill counts the transaction. */
+    private Map<String, StatementRollup> deltasFor(String accountNumber, Date timestamp) {
+        if (cutoff == null || released.contains(accountNumber)) {
+            return pending;
+        }
+        if (timestamp.before(cutoff)) {
+            return null;
+        }
+        return held.computeIfAbsent(accountNumber, a -> new LinkedHashMap<>());
+    }
+
+    private static void merge(Map<String, StatementRollup> deltas, StatementRollup delta) {
+        StatementRollup existing = deltas.putIfAbsent(delta.getId(), delta);
+        if (existing != null) {
+            existing.setCredits(existing.getCredits() + delta.getCredits());
+            existing.setDebits(existing.getDebits() + delta.getDebits());
+            existing.setCreditCount(existing.getCreditCount() + delta.getCreditCount());
+            existing.setDebitCount(existing.getDebitCount() + delta.getDebitCount());
+        }
+    }
+
+    private static void addTo(Map<String, StatementRollup> deltas, String accountNumber, String granularity,
+                              String period, long credit, long debit) {
+        StatementRollup delta = deltas.computeIfAbsent(StatementRollup.idOf(accountNumber, granularity, period),
+                id -> StatementRollup.builder()
+                        .id(id)
+                        .accountNumber(accountNumber)
+                        .granularity(granularity)
+                        .period(period)
+                        .build());
+        if (credit > 0) {
+            delta.setCredits(delta.getCredits() + credit);
+            delta.setCreditCount(delta.getCreditCount() + 1);
+        }
+        if (debit > 0) {
+            delta.setDebits(delta.getDebits() + debit);
+            delta.setDebitCount(delta.getDebitCount() + 1);
+        }
+    }
+}
@@ -1,12 +1,153 @@
 package com.bankingsystem.simulator.util;
 
-import java.util.Random;
+import com.bankingsystem.simulator.config.AccountNumberProperties;
+import com.bankingsystem.simulator.repository.CounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hi/lo account number allocator. Each node reserves a block of sequence values from
+ * the "accountNumber" counter with one atomic update and hands them out from memory
+ * with a lock-free increment; only refilling an exhausted block takes a lock.
+ *
+ * Format: two letters from the holder's name, a 9-digit sequence and a Luhn check
+ * digit over the sequence, e.g. CH0000012344. Uniqueness comes from the sequence
+ * alone, so different initials never collide either.
+ */
+@Component
+@Slf4j
 public class AccountNumberGenerator {
 
-    public static String generate(String holderName) {
-        String initials = holderName.substring(0, 2).toUpperCase();
-        int randomDigits = new Random().nextInt(9000) + 1000;  // generates 1000–9999
-        return initials + randomDigits;
+    static final String COUNTER_NAME = "accountNumber";
+    static final int SEQUENCE_DIGITS = 9;
+    static final long MAX_SEQUENCE = 999_999_999L;
+
+    private final CounterRepository counterRepository;
+    private final int blockSize;
+    private final AtomicReference<Block> current = new AtomicReference<>();
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public AccountNumberGenerator(CounterRepository counterRepository, AccountNumberProperties properties) {
+        if (properties.getBlockSize() <= 0) {
+            throw new IllegalArgumentException("banking.account-number.block-size must be greater than 0");
+        }
+        this.counterRepository = counterRepository;
+        this.blockSize = properties.getBlockSize();
+    }
+
+    public String generate(String holderName) {
+        return format(initials(holderName), nextSequence());
+    }
+
+    /**
+     * Account numbers for many holders at once, from one block reserved for the whole list
+     * with a single counter update. Used by bulk imports so they do not drain the shared block.
+     */
+    public List<String> generateAll(List<String> holderNames) {
+        if (holderNames.isEmpty()) {
+            return List.of();
+        }
+        long start = counterRepository.reserveBlock(COUNTER_NAME, holderNames.size());
+        if (start + holderNames.size() - 1 > MAX_SEQUENCE) {
+            throw new IllegalStateException("Account number sequence exhausted");
+        }
+        List<String> numbers = new ArrayList<>(holderNames.size());
+        for (int i = 0; i < holderNames.size(); i++) {
+            numbers.add(format(initials(holderNames.get(i)), start + i));
+        }
+        return numbers;
+    }
+
+    long nextSequence() {
+        while (true) {
+            Block block = current.get();
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // Another thread may have refilled while we waited for the lock
+            if (current.get() == exhausted) {
+                long start = counterRepository.reserveBlock(COUNTER_NAME, blockSize);
+                if (start + blockSize - 1 > MAX_SEQUENCE) {
+                    throw new IllegalStateException("Account number sequence exhausted");
+                }
+                current.set(new Block(start + blockSize, new AtomicLong(start)));
+                log.info("Reserved account number block [{}, {})", start, start + blockSize);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    static String initials(String holderName) {
+        StringBuilder sb = new StringBuilder(2);
+        for (int i = 0; i < holderName.length() && sb.length() < 2; i++) {
+            char c = holderName.charAt(i);
+            if (Character.isLetter(c) && c < 128) {
+                sb.append(Character.toUpperCase(c));
+            }
+        }
+        while (sb.length() < 2) {
+            sb.append('X');
+        }
+        return sb.toString();
+    }
+
+    static String format(String initials, long sequence) {
+        String digits = Long.toString(sequence);
+        StringBuilder sb = new StringBuilder(2 + SEQUENCE_DIGITS + 1).append(initials);
+        for (int i = digits.length(); i < SEQUENCE_DIGITS; i++) {
+            sb.append('0');
+        }
+        sb.append(digits);
+        sb.append(luhnCheckDigit(sb, 2, sb.length()));
+        return sb.toString();
+    }
+
+    /** True if the number has the generated shape and a matching check digit. */
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != 2 + SEQUENCE_DIGITS + 1) {
+            return false;
+        }
+        for (int i = 2; i < accountNumber.length(); i++) {
+            if (!Character.isDigit(accountNumber.charAt(i))) {
+                return false;
+            }
+        }
+        int end = accountNumber.length() - 1;
+        return luhnCheckDigit(accountNumber, 2, end) == accountNumber.charAt(end);
+    }
+
+    private static char luhnCheckDigit(CharSequence s, int from, int to) {
+        int sum = 0;
+        boolean doubleIt = true; // rightmost payload digit is doubled
+        for (int i = to - 1; i >= from; i--) {
+            int d = s.charAt(i) - '0';
+            if (doubleIt) {
+                d *= 2;
+                if (d > 9) d -= 9;
+            }
+            sum += d;
+            doubleIt = !doubleIt;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    private record Block(long end, AtomicLong next) {
     }
 }
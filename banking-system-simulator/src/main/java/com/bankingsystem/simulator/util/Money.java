@@ -0,0 +1,34 @@
+package com.bankingsystem.simulator.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money is held as a primitive long of minor units (cents) everywhere inside the
+ * application. Decimal values only exist at the JSON boundary and in log output.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Exact conversion of a decimal amount to minor units.
+     *
+     * @throws ArithmeticException if the amount has more than two decimal places or overflows a long
+     */
+    public static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /** Rounds a legacy floating-point amount to the nearest minor unit. */
+    public static long fromDouble(double amount) {
+        return Math.round(amount * 100);
+    }
+}
@@ -0,0 +1,30 @@
+package com.bankingsystem.simulator.util;
+
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque continuation token for keyset pagination on (timestamp, _id).
+ * The token is the position of the last row of a page; the next page starts after it.
+ */
+public record PageCursor(Date timestamp, ObjectId id) {
+
+    public String encode() {
+        String raw = timestamp.getTime() + ":" + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int sep = raw.indexOf(':');
+            return new PageCursor(new Date(Long.parseLong(raw.substring(0, sep))), new ObjectId(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidInputException("Invalid cursor");
+        }
+    }
+}
@@ -1,14 +1,108 @@
 package com.bankingsystem.simulator.util;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Snowflake-style transaction ids: TXN-yyyyMMdd-NNNN-MMMMMMMMSSSS, where NNNN is the
+ * node id, MMMMMMMM the millisecond of the day and SSSS a per-millisecond sequence.
+ *
+ * The (millis, sequence) pair lives in one AtomicLong and advances with a CAS, so ids
+ * from one node are unique and strictly increasing without locking. When more than
+ * 4096 ids are requested in one millisecond, or the clock steps back, the sequence
+ * carries into the next millisecond instead of waiting. The node id keeps instances
+ * apart; set it with banking.node.id (see NodeProperties) or BANKING_NODE_ID.
+ */
 public class TransactionIdGenerator {
 
-    private static int counter = 1;
+    static final int SEQUENCE_BITS = 12;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    public static final int MAX_NODE_ID = 9999;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final AtomicLong LAST = new AtomicLong();
+    private static volatile String nodePart = formatNode(defaultNodeId());
+    private static volatile Day day = Day.of(System.currentTimeMillis());
 
     public static String generate() {
-        String date = new SimpleDateFormat("yyyyMMdd").format(new Date());
-        return "TXN-" + date + "-" + (counter++);
+        long id = next();
+        long millis = id >>> SEQUENCE_BITS;
+        Day d = day;
+        if (millis < d.start || millis >= d.end) {
+            d = Day.of(millis);
+            day = d;
+        }
+        StringBuilder sb = new StringBuilder(30)
+                .append("TXN-").append(d.text).append('-').append(nodePart).append('-');
+        appendPadded(sb, millis - d.start, 8);
+        appendPadded(sb, id & SEQUENCE_MASK, 4);
+        return sb.toString();
+    }
+
+    public static void setNodeId(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE_ID);
+        }
+        nodePart = formatNode(nodeId);
+    }
+
+    /** Next (millis << SEQUENCE_BITS | sequence) value; strictly increasing. */
+    static long next() {
+        long now = System.currentTimeMillis();
+        while (true) {
+            long prev = LAST.get();
+            long candidate = now > (prev >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : prev + 1;
+            if (LAST.compareAndSet(prev, candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void appendPadded(StringBuilder sb, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            sb.append('0');
+        }
+        sb.append(digits);
+    }
+
+    private static String formatNode(int nodeId) {
+        StringBuilder sb = new StringBuilder(4);
+        appendPadded(sb, nodeId, 4);
+        return sb.toString();
+    }
+
+    private static int defaultNodeId() {
+        String configured = System.getenv("BANKING_NODE_ID");
+        if (configured != null && !configured.isBlank()) {
+            return Integer.parseInt(configured.trim());
+        }
+        // Best effort when nothing is configured: derive one from host name and pid
+        String identity;
+        try {
+            identity = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            identity = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return Math.floorMod(identity.hashCode(), MAX_NODE_ID + 1);
+    }
+
+    /** The local day containing a timestamp, with its formatted yyyyMMdd text. */
+    private record Day(long start, long end, String text) {
+
+        static Day of(long millis) {
+            LocalDate date = Instant.ofEpochMilli(millis).atZone(ZONE).toLocalDate();
+            return new Day(
+                    date.atStartOfDay(ZONE).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(ZONE).toInstant().toEpochMilli(),
+                    DAY_FORMAT.format(date));
+        }
     }
 }
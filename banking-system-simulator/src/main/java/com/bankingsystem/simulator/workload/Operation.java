@@ -0,0 +1,5 @@
+package com.bankingsystem.simulator.workload;
+
+public enum Operation {
+    DEPOSIT, WITHDRAW, TRANSFER, HISTORY
+}
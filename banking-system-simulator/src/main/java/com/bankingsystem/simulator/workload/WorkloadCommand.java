@@ -0,0 +1,61 @@
+package com.bankingsystem.simulator.workload;
+
+import com.bankingsystem.simulator.config.WorkloadProperties;
+import com.bankingsystem.simulator.service.AccountService;
+import com.bankingsystem.simulator.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the workload simulator once the application is ready when started with the
+ * "workload" profile, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=workload --banking.workload.clients=128}.
+ */
+@Component
+@Profile("workload")
+@Slf4j
+@RequiredArgsConstructor
+public class WorkloadCommand {
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final WorkloadProperties properties;
+    private final ApplicationContext context;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofPlatform().name("workload").start(this::run);
+    }
+
+    private void run() {
+        int exitCode = 0;
+        try {
+            WorkloadReport report = new WorkloadRunner(accountService, transactionService, properties).run();
+            String text = report.format();
+            log.info("Workload finished\n{}", text);
+            if (properties.getReportFile() != null) {
+                Files.writeString(Path.of(properties.getReportFile()), text);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        } catch (RuntimeException | IOException e) {
+            log.error("Workload failed", e);
+            exitCode = 1;
+        }
+        if (properties.isExitOnFinish()) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bankingsystem.simulator.workload;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-operation results of a workload run. Latencies are in microseconds.
+ */
+public record WorkloadReport(String description, double seconds, List<Row> rows) {
+
+    public record Row(String operation, long count, long rejected, long errors,
+                      long p50, long p99, long p999, long max) {
+
+        public double throughput(double seconds) {
+            return count / seconds;
+        }
+    }
+
+    public Row row(String operation) {
+        return rows.stream().filter(r -> r.operation().equals(operation)).findFirst().orElseThrow();
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder(description).append('\n');
+        out.append(String.format(Locale.ROOT, "%-10s %10s %10s %10s %10s %10s %10s %9s %7s%n",
+                "operation", "count", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "rejected", "errors"));
+        for (Row r : rows) {
+            out.append(String.format(Locale.ROOT, "%-10s %10d %10.1f %10.3f %10.3f %10.3f %10.3f %9d %7d%n",
+                    r.operation(), r.count(), r.throughput(seconds),
+                    r.p50() / 1000.0, r.p99() / 1000.0, r.p999() / 1000.0, r.max() / 1000.0,
+                    r.rejected(), r.errors()));
+        }
+        return out.toString();
+    }
+}
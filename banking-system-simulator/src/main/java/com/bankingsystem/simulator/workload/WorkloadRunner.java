@@ -0,0 +1,288 @@
+package com.bankingsystem.simulator.workload;
+
+import com.bankingsystem.simulator.config.WorkloadProperties;
+import com.bankingsystem.simulator.exception.InsufficientBalanceException;
+import com.bankingsystem.simulator.model.dto.AccountCreateRequest;
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.TransactionPageRequest;
+import com.bankingsystem.simulator.model.dto.TransferRequest;
+import com.bankingsystem.simulator.model.dto.WithdrawRequest;
+import com.bankingsystem.simulator.service.AccountService;
+import com.bankingsystem.simulator.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the account and transaction services with concurrent clients. It creates and
+ * funds the accounts, runs the warm-up and then the measured phase, and returns a
+ * latency report per operation. Accounts are picked with Zipfian skew. In open-loop
+ * mode each operation's latency counts from its scheduled start, so a slow server
+ * shows up as latency rather than as fewer requests (no coordinated omission).
+ */
+@Slf4j
+public class WorkloadRunner {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int HISTORY_PAGE_SIZE = 50;
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final WorkloadProperties properties;
+
+    private final Operation[] operations = Operation.values();
+    private final OperationStats[] stats = new OperationStats[operations.length];
+    private final int[] cumulativeWeights = new int[operations.length];
+
+    public WorkloadRunner(AccountService accountService, TransactionService transactionService,
+                          WorkloadProperties properties) {
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.properties = properties;
+
+        WorkloadProperties.Mix mix = properties.getMix();
+        int[] weights = {mix.getDeposit(), mix.getWithdraw(), mix.getTransfer(), mix.getHistory()};
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Operation weights must not be negative");
+            }
+            total += weights[i];
+            cumulativeWeights[i] = total;
+            stats[i] = new OperationStats();
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one operation weight must be positive");
+        }
+        if (properties.getClients() <= 0 || properties.getAccounts() < 2) {
+            throw new IllegalArgumentException("Need at least one client and two accounts");
+        }
+        if (properties.getMinAmount() <= 0 || properties.getMaxAmount() < properties.getMinAmount()) {
+            throw new IllegalArgumentException("Amounts must satisfy 0 < minAmount <= maxAmount");
+        }
+    }
+
+    public WorkloadReport run() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(properties.getClients(),
+                Thread.ofPlatform().name("workload-client-", 0).daemon(true).factory());
+        try {
+            String[] accounts = createAccounts(pool);
+            ZipfianGenerator zipf = new ZipfianGenerator(accounts.length, properties.getZipfExponent());
+
+            long start = System.nanoTime();
+            long measureFrom = start + properties.getWarmup().toNanos();
+            long end = measureFrom + properties.getDuration().toNanos();
+            log.info("Workload started: {}", describe());
+
+            List<Future<?>> clients = new ArrayList<>();
+            for (int c = 0; c < properties.getClients(); c++) {
+                Client client = new Client(c, accounts, zipf, start, measureFrom, end);
+                clients.add(pool.submit(client::run));
+            }
+            await(clients);
+
+            double seconds = properties.getDuration().toNanos() / 1e9;
+            return report(seconds);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private String[] createAccounts(ExecutorService pool) throws InterruptedException {
+        String[] accounts = new String[properties.getAccounts()];
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < accounts.length; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> {
+                AccountCreateRequest create = new AccountCreateRequest();
+                create.setHolderName("Workload Client " + index);
+                accounts[index] = accountService.createAccount(create).getAccountNumber();
+                DepositRequest deposit = new DepositRequest();
+                deposit.setAmount(properties.getInitialBalance());
+                transactionService.deposit(accounts[index], deposit);
+            }));
+        }
+        await(futures);
+        log.info("Created and funded {} workload accounts", accounts.length);
+        return accounts;
+    }
+
+    private final class Client {
+
+        private final String[] accounts;
+        private final ZipfianGenerator zipf;
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long end;
+        private final long intervalNanos;
+        private long nextStart;
+
+        Client(int index, String[] accounts, ZipfianGenerator zipf, long start, long measureFrom, long end) {
+            this.accounts = accounts;
+            this.zipf = zipf;
+            this.random = new SplittableRandom(index * 0x9E3779B97F4A7C15L);
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.intervalNanos = properties.getTargetRate() > 0
+                    ? (long) (properties.getClients() * 1e9 / properties.getTargetRate())
+                    : 0;
+            // Stagger the clients' schedules across one interval
+            this.nextStart = start + intervalNanos * index / properties.getClients();
+        }
+
+        void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                long scheduled;
+                if (intervalNanos > 0) {
+                    scheduled = nextStart;
+                    nextStart += intervalNanos;
+                    long wait = scheduled - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    scheduled = System.nanoTime();
+                }
+                if (scheduled >= end) {
+                    return;
+                }
+
+                int op = pickOperation();
+                boolean rejected = false;
+                boolean failed = false;
+                try {
+                    execute(operations[op]);
+                } catch (InsufficientBalanceException e) {
+                    rejected = true;
+                } catch (RuntimeException e) {
+                    failed = true;
+                    stats[op].lastError = e.toString();
+                }
+                long latencyMicros = (System.nanoTime() - scheduled) / 1000;
+
+                if (scheduled >= measureFrom) {
+                    stats[op].record(latencyMicros, rejected, failed);
+                }
+            }
+        }
+
+        private int pickOperation() {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int op = 0;
+            while (roll >= cumulativeWeights[op]) {
+                op++;
+            }
+            return op;
+        }
+
+        private void execute(Operation operation) {
+            String account = accounts[zipf.next(random)];
+            long amount = random.nextLong(properties.getMinAmount(), properties.getMaxAmount() + 1);
+            switch (operation) {
+                case DEPOSIT -> {
+                    DepositRequest req = new DepositRequest();
+                    req.setAmount(amount);
+                    transactionService.deposit(account, req);
+                }
+                case WITHDRAW -> {
+                    WithdrawRequest req = new WithdrawRequest();
+                    req.setAmount(amount);
+                    transactionService.withdraw(account, req);
+                }
+                case TRANSFER -> {
+                    String destination = accounts[zipf.next(random)];
+                    if (destination.equals(account)) {
+                        destination = accounts[(zipf.next(random) + 1) % accounts.length];
+                    }
+                    TransferRequest req = new TransferRequest();
+                    req.setSourceAccount(account);
+                    req.setDestinationAccount(destination);
+                    req.setAmount(amount);
+                    transactionService.transfer(req);
+                }
+                case HISTORY -> {
+                    TransactionPageRequest req = new TransactionPageRequest();
+                    req.setLimit(HISTORY_PAGE_SIZE);
+                    transactionService.getTransactionPage(account, req);
+                }
+            }
+        }
+    }
+
+    private static final class OperationStats {
+        final Recorder latencies = new Recorder(1, MAX_LATENCY_MICROS, 3);
+        final LongAdder rejected = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        volatile String lastError;
+
+        void record(long latencyMicros, boolean rejected, boolean failed) {
+            if (failed) {
+                errors.increment();
+                return;
+            }
+            latencies.recordValue(Math.min(Math.max(latencyMicros, 1), MAX_LATENCY_MICROS));
+            if (rejected) {
+                this.rejected.increment();
+            }
+        }
+    }
+
+    private WorkloadReport report(double seconds) {
+        List<WorkloadReport.Row> rows = new ArrayList<>();
+        Histogram total = new Histogram(1, MAX_LATENCY_MICROS, 3);
+        long totalRejected = 0;
+        long totalErrors = 0;
+        for (int i = 0; i < operations.length; i++) {
+            Histogram h = stats[i].latencies.getIntervalHistogram();
+            long rejected = stats[i].rejected.sum();
+            long errors = stats[i].errors.sum();
+            if (h.getTotalCount() == 0 && errors == 0) {
+                continue;
+            }
+            if (stats[i].lastError != null) {
+                log.warn("{} errors: {}, last: {}", operations[i], errors, stats[i].lastError);
+            }
+            total.add(h);
+            totalRejected += rejected;
+            totalErrors += errors;
+            rows.add(row(operations[i].name(), h, rejected, errors));
+        }
+        rows.add(row("TOTAL", total, totalRejected, totalErrors));
+        return new WorkloadReport(describe(), seconds, rows);
+    }
+
+    private static WorkloadReport.Row row(String name, Histogram h, long rejected, long errors) {
+        return new WorkloadReport.Row(name, h.getTotalCount(), rejected, errors,
+                h.getValueAtPercentile(50), h.getValueAtPercentile(99), h.getValueAtPercentile(99.9),
+                h.getMaxValue());
+    }
+
+    private String describe() {
+        return String.format(Locale.ROOT, "%d clients, %d accounts, zipf s=%.2f, %s, %.1fs measured after %.1fs warm-up",
+                properties.getClients(), properties.getAccounts(), properties.getZipfExponent(),
+                properties.getTargetRate() > 0 ? "open loop at " + properties.getTargetRate() + " ops/s" : "closed loop",
+                properties.getDuration().toMillis() / 1000.0, properties.getWarmup().toMillis() / 1000.0);
+    }
+
+    private static void await(List<Future<?>> futures) throws InterruptedException {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Workload client failed", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.bankingsystem.simulator.workload;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks in [0, n) with P(k) proportional to 1 / (k + 1)^s, so rank 0 is the
+ * hottest. Sampling is a binary search over the precomputed cumulative distribution.
+ */
+public class ZipfianGenerator {
+
+    private final double[] cdf;
+
+    public ZipfianGenerator(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be greater than 0");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    public int next(RandomGenerator random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        int rank = i >= 0 ? i : -i - 1;
+        return Math.min(rank, cdf.length - 1);
+    }
+}
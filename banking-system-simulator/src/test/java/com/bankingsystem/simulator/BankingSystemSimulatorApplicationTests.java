@@ -3,7 +3,8 @@ package com.bankingsystem.simulator;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No MongoDB here: migrations run before startup completes and would fail it
+@SpringBootTest(properties = "banking.mongo.migrations.enabled=false")
 class BankingSystemSimulatorApplicationTests {
 
     @Test
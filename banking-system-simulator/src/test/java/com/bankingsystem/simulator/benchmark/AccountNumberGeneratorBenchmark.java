@@ -0,0 +1,61 @@
+package com.bankingsystem.simulator.benchmark;
+
+import com.bankingsystem.simulator.config.AccountNumberProperties;
+import com.bankingsystem.simulator.repository.CounterRepository;
+import com.bankingsystem.simulator.support.RepositoryStandIn;
+import com.bankingsystem.simulator.util.AccountNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AccountNumberGenerator with an in-memory counter, so the numbers show the hi/lo
+ * block hand-out and formatting cost; the block refill is a single atomic add.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountNumberGeneratorBenchmark {
+
+    private AccountNumberGenerator generator;
+
+    public static class InMemoryCounter {
+        private final AtomicLong value = new AtomicLong();
+
+        public long reserveBlock(String name, int size) {
+            return value.addAndGet(size) - size;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        AccountNumberProperties properties = new AccountNumberProperties();
+        generator = new AccountNumberGenerator(
+                RepositoryStandIn.of(CounterRepository.class, new InMemoryCounter()), properties);
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate("Chandrasekhar");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateContended() {
+        return generator.generate("Chandrasekhar");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccountNumberGeneratorBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.bankingsystem.simulator.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bankingsystem.simulator.cache.NoOpAccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.config.ContentionProperties;
+import com.bankingsystem.simulator.journal.MongoTransactionWriter;
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import com.bankingsystem.simulator.service.impl.TransactionServiceImpl;
+import com.bankingsystem.simulator.support.InMemoryAccountStore;
+import com.bankingsystem.simulator.support.InMemoryTransactionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent-request capacity of the servlet thread model with and without virtual
+ * threads. Each invocation is a wave of {@code concurrency} simultaneous deposits
+ * through TransactionServiceImpl, whose repositories add {@code MONGO_RTT_MS} per call
+ * to stand in for Mongo round trips. "platform" is a fixed pool the size of Tomcat's
+ * default 200 request threads; "virtual" is one virtual thread per request, as with
+ * spring.threads.virtual.enabled=true. The platform pool's wave time grows with
+ * concurrency / 200 round trips; virtual threads overlap every request's waits, so
+ * their wave time is bounded by CPU instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestConcurrencyBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long MONGO_RTT_MS = 2;
+    private static final int ACCOUNTS = 1000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "2000", "10000"})
+    public int concurrency;
+
+    private ExecutorService executor;
+    private TransactionServiceImpl service;
+    private DepositRequest request;
+
+    @Setup
+    public void setUp() {
+        // Per-request info logging to the console would otherwise be the bottleneck being measured
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+        InMemoryAccountStore accounts = new InMemoryAccountStore();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.save(Account.builder().accountNumber("ACC" + i).balance(0L).holderName("Load").status("ACTIVE").build());
+        }
+        InMemoryTransactionStore transactions = new InMemoryTransactionStore();
+        TransactionRepository transactionRepository = withLatency(TransactionRepository.class, transactions.asRepository());
+        service = new TransactionServiceImpl(
+                withLatency(AccountRepository.class, accounts.asRepository()),
+                transactionRepository,
+                new NoOpAccountCache(),
+                new MongoTransactionWriter(transactionRepository),
+                event -> { },
+                new AccountContention(new ContentionProperties(), new SimpleMeterRegistry()));
+
+        request = new DepositRequest();
+        request.setAmount(100L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int wave() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            String accountNumber = "ACC" + (i % ACCOUNTS);
+            futures.add(executor.submit(() -> service.deposit(accountNumber, request)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return futures.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R withLatency(Class<R> type, R target) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() != Object.class) {
+                Thread.sleep(MONGO_RTT_MS);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestConcurrencyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,50 @@
+package com.bankingsystem.simulator.benchmark;
+
+import com.bankingsystem.simulator.util.TransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionIdGenerator against the previous SimpleDateFormat + static int counter
+ * implementation, single-threaded and contended. Run main() or use the JMH runner.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionIdGeneratorBenchmark {
+
+    private static int legacyCounter = 1;
+
+    @Benchmark
+    public String generate() {
+        return TransactionIdGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateContended() {
+        return TransactionIdGenerator.generate();
+    }
+
+    @Benchmark
+    public String legacyGenerate() {
+        String date = new SimpleDateFormat("yyyyMMdd").format(new Date());
+        return "TXN-" + date + "-" + (legacyCounter++);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionIdGeneratorBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.bankingsystem.simulator.benchmark;
+
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response path of every transaction call: entity-to-DTO mapping and JSON
+ * serialisation of the TransactionResponse, separately and together.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionMappingBenchmark {
+
+    private Transaction transaction;
+    private TransactionResponse response;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        transaction = Transaction.builder()
+                .id("6553f1c0a1b2c3d4e5f60718")
+                .transactionId("TXN-20251117-0001-000000420001")
+                .type("TRANSFER")
+                .amount(123_456L)
+                .timestamp(new Date())
+                .status("SUCCESS")
+                .sourceAccount("CH0000012347")
+                .destinationAccount("CR0000056781")
+                .build();
+        response = TransactionResponse.from(transaction);
+        writer = JsonMapper.builder().build().writerFor(TransactionResponse.class);
+    }
+
+    @Benchmark
+    public TransactionResponse toResponse() {
+        return TransactionResponse.from(transaction);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] toResponseAndSerialize() {
+        return writer.writeValueAsBytes(TransactionResponse.from(transaction));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionMappingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
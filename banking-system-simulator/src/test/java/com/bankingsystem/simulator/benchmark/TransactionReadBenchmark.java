@@ -0,0 +1,83 @@
+package com.bankingsystem.simulator.benchmark;
+
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.TransactionRepositoryCustom.TransactionRow;
+import com.bankingsystem.simulator.repository.TransactionRowCodec;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per history row of turning the BSON the driver receives into a TransactionResponse.
+ * "entity" is the old read path: the whole document decoded to a Document, mapped to a
+ * Transaction and then to a response. "projected" is TransactionRowCodec reading the
+ * projected document straight into a row. Compare {@code gc.alloc.rate.norm} (bytes/op).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionReadBenchmark {
+
+    private static final DecoderContext CONTEXT = DecoderContext.builder().build();
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final TransactionRowCodec rowCodec = new TransactionRowCodec();
+    private MappingMongoConverter converter;
+    private RawBsonDocument full;
+    private RawBsonDocument projected;
+
+    @Setup
+    public void setUp() {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+
+        Document stored = new Document("_id", new ObjectId("6553f1c0a1b2c3d4e5f60718"))
+                .append("transactionId", "TXN-20251117-0001-000000420001")
+                .append("type", "TRANSFER")
+                .append("amountMinor", 123_456L)
+                .append("timestamp", new Date())
+                .append("status", "SUCCESS")
+                .append("sourceAccount", "CH0000012347")
+                .append("destinationAccount", "CR0000056781")
+                .append("_class", Transaction.class.getName());
+        full = new RawBsonDocument(stored, documentCodec);
+
+        Document fields = new Document("_id", stored.get("_id"));
+        TransactionRowCodec.PROJECTION.keySet().forEach(name -> fields.append(name, stored.get(name)));
+        projected = new RawBsonDocument(fields, documentCodec);
+    }
+
+    @Benchmark
+    public TransactionResponse entity() {
+        Document document = documentCodec.decode(full.asBsonReader(), CONTEXT);
+        return TransactionResponse.from(converter.read(Transaction.class, document));
+    }
+
+    @Benchmark
+    public TransactionRow projected() {
+        return rowCodec.decode(projected.asBsonReader(), CONTEXT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionReadBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.bankingsystem.simulator.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bankingsystem.simulator.cache.NoOpAccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.config.ContentionProperties;
+import com.bankingsystem.simulator.journal.MongoTransactionWriter;
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.dto.TransferRequest;
+import com.bankingsystem.simulator.model.dto.WithdrawRequest;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import com.bankingsystem.simulator.service.impl.TransactionServiceImpl;
+import com.bankingsystem.simulator.support.InMemoryAccountStore;
+import com.bankingsystem.simulator.support.RepositoryStandIn;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionServiceImpl deposit / withdraw / transfer against the in-memory
+ * repository stand-ins, i.e. the service's own CPU and allocation cost without Mongo.
+ * Transactions are discarded rather than kept, so the heap does not grow over a run.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    private TransactionServiceImpl service;
+    private String[] accountNumbers;
+    private DepositRequest deposit;
+    private WithdrawRequest withdraw;
+    private TransferRequest[] transfers;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            return next++ & (ACCOUNTS - 1);
+        }
+    }
+
+    public static class DiscardingTransactionStore {
+        public TransactionRepository asRepository() {
+            return RepositoryStandIn.of(TransactionRepository.class, this);
+        }
+
+        public Object save(Object entity) {
+            return entity;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // Per-operation info logging would otherwise dominate every measurement
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        InMemoryAccountStore accounts = new InMemoryAccountStore();
+        accountNumbers = new String[ACCOUNTS];
+        transfers = new TransferRequest[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers[i] = "BM" + String.format("%09d", i);
+            accounts.save(Account.builder().accountNumber(accountNumbers[i])
+                    .balance(Long.MAX_VALUE / 4).holderName("Bench").status("ACTIVE").build());
+        }
+        for (int i = 0; i < ACCOUNTS; i++) {
+            transfers[i] = new TransferRequest();
+            transfers[i].setSourceAccount(accountNumbers[i]);
+            transfers[i].setDestinationAccount(accountNumbers[(i + 1) % ACCOUNTS]);
+            transfers[i].setAmount(100L);
+        }
+        DiscardingTransactionStore transactions = new DiscardingTransactionStore();
+        service = new TransactionServiceImpl(accounts.asRepository(), transactions.asRepository(),
+                new NoOpAccountCache(), new MongoTransactionWriter(transactions.asRepository()), event -> { },
+                new AccountContention(new ContentionProperties(), new SimpleMeterRegistry()));
+
+        deposit = new DepositRequest();
+        deposit.setAmount(100L);
+        withdraw = new WithdrawRequest();
+        withdraw.setAmount(100L);
+    }
+
+    @Benchmark
+    public TransactionResponse deposit(Cursor cursor) {
+        return service.deposit(accountNumbers[cursor.advance()], deposit);
+    }
+
+    @Benchmark
+    public TransactionResponse withdraw(Cursor cursor) {
+        return service.withdraw(accountNumbers[cursor.advance()], withdraw);
+    }
+
+    @Benchmark
+    public TransactionResponse transfer(Cursor cursor) {
+        return service.transfer(transfers[cursor.advance()]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionServiceBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
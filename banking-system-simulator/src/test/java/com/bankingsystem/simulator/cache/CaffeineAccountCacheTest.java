@@ -0,0 +1,78 @@
+package com.bankingsystem.simulator.cache;
+
+import com.bankingsystem.simulator.model.dto.CacheStatsResponse;
+import com.bankingsystem.simulator.model.entity.Account;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaffeineAccountCacheTest {
+
+    private final CaffeineAccountCache cache = new CaffeineAccountCache(100, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Optional<Account> load(String accountNumber) {
+        loads.incrementAndGet();
+        return accountNumber.startsWith("MISSING")
+                ? Optional.empty()
+                : Optional.of(Account.builder().accountNumber(accountNumber).balance(100L).build());
+    }
+
+    @Test
+    void get_loadsOnceThenHits() {
+        cache.get("A1", this::load);
+        cache.get("A1", this::load);
+
+        CacheStatsResponse stats = cache.stats();
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        cache.get("A1", this::load);
+        cache.invalidate("A1");
+        cache.get("A1", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void missingAccounts_areNotCached() {
+        assertTrue(cache.get("MISSING1", this::load).isEmpty());
+        assertTrue(cache.get("MISSING1", this::load).isEmpty());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateDuringLoad_doesNotCacheTheStaleValue() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Account>> slowRead = CompletableFuture.supplyAsync(() -> cache.get("A1", key -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return load(key);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        cache.invalidate("A1");   // a write landed while the read was in flight
+        release.countDown();
+        assertTrue(slowRead.get(5, TimeUnit.SECONDS).isPresent());
+
+        cache.get("A1", this::load);
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,64 @@
+package com.bankingsystem.simulator.concurrency;
+
+import com.bankingsystem.simulator.config.ContentionProperties;
+import com.bankingsystem.simulator.exception.ConcurrentUpdateException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ContentionProperties properties = new ContentionProperties();
+    private final AccountContention contention = new AccountContention(properties, registry);
+
+    private OptimisticRetry retry(int maxAttempts) {
+        properties.setMaxAttempts(maxAttempts);
+        properties.setInitialBackoff(Duration.ofNanos(1000));
+        return new OptimisticRetry(properties, contention);
+    }
+
+    @Test
+    void run_retriesConflictsAndCountsThemPerAccount() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry(5).run("HOT", "updateAccount", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2L, contention.top(10).get("HOT"));
+        assertEquals(2.0, registry.get("banking.account.contention").tag("operation", "updateAccount").counter().count());
+    }
+
+    @Test
+    void run_givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrentUpdateException.class, () -> retry(3).run("HOT", "deleteAccount", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflict");
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void top_ordersAccountsByConflicts() {
+        contention.record("A", "updateAccount");
+        contention.record("B", "updateAccount");
+        contention.record("B", "transferBatch");
+
+        assertEquals(List.of("B", "A"), List.copyOf(contention.top(10).keySet()));
+        assertEquals(List.of("B"), List.copyOf(contention.top(1).keySet()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.bankingsystem.simulator.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLaneExecutorTest {
+
+    private final AccountLaneExecutor lanes = new AccountLaneExecutor(8);
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        lanes.close();
+    }
+
+    @Test
+    void sameAccount_operationsNeverOverlap() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        int[] counter = {0}; // deliberately unsynchronized: the lane is the only writer
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            futures.add(CompletableFuture.runAsync(() -> lanes.execute("ACC1", () -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                counter[0]++;
+                inFlight.decrementAndGet();
+                return null;
+            }), callers));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        assertEquals(1, maxInFlight.get());
+        assertEquals(2000, counter[0]);
+    }
+
+    @Test
+    void crossingTransfers_doNotDeadlock() throws Exception {
+        String a = "AAA1";
+        String b = findAccountInOtherLane(a);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            boolean forward = i % 2 == 0;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> forward ? lanes.execute(a, b, () -> 1) : lanes.execute(b, a, () -> 1), callers));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        assertEquals(1000, futures.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    @Test
+    void execute_rethrowsRuntimeExceptionsUnwrapped() {
+        assertThrows(IllegalArgumentException.class, () -> lanes.execute("ACC1", () -> {
+            throw new IllegalArgumentException("boom");
+        }));
+    }
+
+    @Test
+    void queueDepths_hasOneEntryPerLane() {
+        assertEquals(8, lanes.queueDepths().length);
+    }
+
+    private String findAccountInOtherLane(String account) {
+        for (int i = 0; ; i++) {
+            String candidate = "BBB" + i;
+            if (lanes.laneOf(candidate) != lanes.laneOf(account)) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.bankingsystem.simulator.engine;
+
+import com.bankingsystem.simulator.model.dto.BatchTransferItemResult;
+import com.bankingsystem.simulator.model.dto.BatchTransferResponse;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.dto.TransferRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferGroupCommitterTest {
+
+    private final List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+    private TransferGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        committer.close();
+    }
+
+    /** Echoes each transfer back as its own result; odd amounts fail. */
+    private BatchTransferResponse echo(List<TransferRequest> requests) {
+        groupSizes.add(requests.size());
+        List<BatchTransferItemResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            long amount = requests.get(i).getAmount();
+            results.add(amount % 2 == 0
+                    ? BatchTransferItemResult.builder().index(i).status("SUCCESS")
+                        .transaction(TransactionResponse.builder().amount(amount).build()).build()
+                    : BatchTransferItemResult.builder().index(i).status("FAILED").error("Insufficient funds").build());
+        }
+        return BatchTransferResponse.builder().total(requests.size()).results(results).build();
+    }
+
+    private TransferGroupCommitter start(Function<List<TransferRequest>, BatchTransferResponse> batch,
+                                         int maxBatch, Duration window) {
+        committer = new TransferGroupCommitter(batch, maxBatch, window, false);
+        committer.start();
+        return committer;
+    }
+
+    private static TransferRequest transfer(long amount) {
+        TransferRequest request = new TransferRequest();
+        request.setSourceAccount("ACC1");
+        request.setDestinationAccount("ACC2");
+        request.setAmount(amount);
+        return request;
+    }
+
+    @Test
+    void concurrentTransfers_shareGroups_andEachCallerGetsItsOwnResult() throws Exception {
+        start(this::echo, 1000, Duration.ofMillis(50));
+
+        List<CompletableFuture<BatchTransferItemResult>> futures = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            futures.add(committer.submit(transfer(i)));
+        }
+
+        for (int i = 1; i <= 100; i++) {
+            BatchTransferItemResult result = futures.get(i - 1).get(5, TimeUnit.SECONDS);
+            if (i % 2 == 0) {
+                assertEquals("SUCCESS", result.getStatus());
+                assertEquals(i, result.getTransaction().getAmount());
+            } else {
+                assertEquals("Insufficient funds", result.getError());
+            }
+        }
+        assertEquals(100, groupSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(groupSizes.size() < 100, "transfers were not grouped: " + groupSizes);
+    }
+
+    @Test
+    void groupsNeverExceedMaxBatch() throws Exception {
+        start(this::echo, 8, Duration.ofMillis(50));
+
+        List<CompletableFuture<BatchTransferItemResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(committer.submit(transfer(2)));
+        }
+        for (CompletableFuture<BatchTransferItemResult> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertTrue(groupSizes.stream().allMatch(size -> size <= 8), "oversized group: " + groupSizes);
+    }
+
+    @Test
+    void failedCommit_failsEveryCallerInTheGroup() {
+        start(requests -> {
+            throw new IllegalStateException("mongo down");
+        }, 100, Duration.ofMillis(20));
+
+        CompletableFuture<BatchTransferItemResult> first = committer.submit(transfer(2));
+        CompletableFuture<BatchTransferItemResult> second = committer.submit(transfer(4));
+
+        for (CompletableFuture<BatchTransferItemResult> future : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertEquals("mongo down", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void failedCommit_isRetriedPerTransfer_soOnlyTheFailingCallerFails() throws Exception {
+        start(requests -> {
+            if (requests.stream().anyMatch(r -> r.getAmount() == 3)) {
+                throw new IllegalStateException("mongo down");
+            }
+            return echo(requests);
+        }, 100, Duration.ofMillis(50));
+
+        CompletableFuture<BatchTransferItemResult> first = committer.submit(transfer(2));
+        CompletableFuture<BatchTransferItemResult> poison = committer.submit(transfer(3));
+        CompletableFuture<BatchTransferItemResult> second = committer.submit(transfer(4));
+
+        assertEquals("SUCCESS", first.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals("SUCCESS", second.get(5, TimeUnit.SECONDS).getStatus());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> poison.get(5, TimeUnit.SECONDS));
+        assertEquals("mongo down", e.getCause().getMessage());
+    }
+
+    @Test
+    void submitsRacingClose_areEitherRejectedOrCompleted() throws Exception {
+        start(this::echo, 16, Duration.ofMillis(1));
+        List<CompletableFuture<BatchTransferItemResult>> accepted = new CopyOnWriteArrayList<>();
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            submitters.add(Thread.ofPlatform().start(() -> {
+                try {
+                    while (true) {
+                        accepted.add(committer.submit(transfer(2)));
+                        LockSupport.parkNanos(10_000);
+                    }
+                } catch (RejectedExecutionException e) {
+                    // closed
+                }
+            }));
+        }
+        Thread.sleep(20);
+
+        committer.close();
+        for (Thread submitter : submitters) {
+            submitter.join(5_000);
+        }
+
+        assertFalse(accepted.isEmpty());
+        for (CompletableFuture<BatchTransferItemResult> future : accepted) {
+            assertTrue(future.isDone(), "a future accepted before close never completed");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.bankingsystem.simulator.idempotency;
+
+import com.bankingsystem.simulator.config.IdempotencyProperties;
+import com.bankingsystem.simulator.exception.IdempotencyConflictException;
+import com.bankingsystem.simulator.exception.InsufficientBalanceException;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.entity.IdempotencyKey;
+import com.bankingsystem.simulator.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final IdempotencyStore store = new IdempotencyStore(repository, new IdempotencyProperties());
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.complete(any())).thenReturn(true);
+    }
+
+    private TransactionResponse deposit() {
+        executions.incrementAndGet();
+        return TransactionResponse.builder().transactionId("TXN-1").type("DEPOSIT").amount(500L)
+                .timestamp(new Date()).status("SUCCESS").build();
+    }
+
+    @Test
+    void withoutKey_runsEveryTime() {
+        store.execute(null, "DEPOSIT:A:500", this::deposit);
+        store.execute(null, "DEPOSIT:A:500", this::deposit);
+
+        assertEquals(2, executions.get());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void retries_replayTheFirstResponseFromMemory() {
+        IdempotencyStore.Result first = store.execute("k1", "DEPOSIT:A:500", this::deposit);
+        IdempotencyStore.Result retry = store.execute("k1", "DEPOSIT:A:500", this::deposit);
+
+        assertEquals(1, executions.get());
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals("TXN-1", retry.response().getTransactionId());
+        assertEquals(500L, retry.response().getAmount());
+        verify(repository, times(1)).insert(any(IdempotencyKey.class));
+        verify(repository, times(1)).complete(argThat(k -> IdempotencyKey.COMPLETED.equals(k.getStatus())));
+    }
+
+    @Test
+    void keyCompletedElsewhere_isReplayedFromMongo() {
+        when(repository.insert(any(IdempotencyKey.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(repository.findById("k1")).thenReturn(Optional.of(IdempotencyKey.builder().key("k1")
+                .fingerprint("DEPOSIT:A:500").status(IdempotencyKey.COMPLETED)
+                .transactionId("TXN-0").amount(500L).build()));
+
+        IdempotencyStore.Result result = store.execute("k1", "DEPOSIT:A:500", this::deposit);
+
+        assertTrue(result.replayed());
+        assertEquals("TXN-0", result.response().getTransactionId());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void keyInProgressOrReusedForAnotherRequest_isAConflict() {
+        when(repository.insert(any(IdempotencyKey.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(repository.findById("k1")).thenReturn(Optional.of(IdempotencyKey.builder().key("k1")
+                .fingerprint("DEPOSIT:A:500").status(IdempotencyKey.IN_PROGRESS).build()));
+
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("k1", "DEPOSIT:A:500", this::deposit));
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("k1", "WITHDRAW:A:500", this::deposit));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void keyOfACrashedRequest_isTakenOverOnceItsLeaseExpires() {
+        Date expiredLease = new Date(System.currentTimeMillis() - 1_000);
+        when(repository.insert(any(IdempotencyKey.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(repository.findById("k1")).thenReturn(Optional.of(IdempotencyKey.builder().key("k1")
+                .fingerprint("DEPOSIT:A:500").status(IdempotencyKey.IN_PROGRESS).expiresAt(expiredLease).build()));
+        when(repository.takeOver(eq("k1"), eq(expiredLease), anyString(), any(Date.class))).thenReturn(true);
+
+        IdempotencyStore.Result result = store.execute("k1", "DEPOSIT:A:500", this::deposit);
+
+        assertFalse(result.replayed());
+        assertEquals(1, executions.get());
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(repository).takeOver(eq("k1"), eq(expiredLease), owner.capture(), any(Date.class));
+        verify(repository).complete(argThat(k -> IdempotencyKey.COMPLETED.equals(k.getStatus())
+                && owner.getValue().equals(k.getOwner())));
+    }
+
+    @Test
+    void keyWithALiveLease_orATakeOverLostToAnotherRetry_isAConflict() {
+        long now = System.currentTimeMillis();
+        when(repository.insert(any(IdempotencyKey.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(repository.findById("k1")).thenReturn(Optional.of(IdempotencyKey.builder().key("k1")
+                .fingerprint("DEPOSIT:A:500").status(IdempotencyKey.IN_PROGRESS).expiresAt(new Date(now + 30_000)).build()));
+        when(repository.findById("k2")).thenReturn(Optional.of(IdempotencyKey.builder().key("k2")
+                .fingerprint("DEPOSIT:A:500").status(IdempotencyKey.IN_PROGRESS).expiresAt(new Date(now - 1_000)).build()));
+        when(repository.takeOver(eq("k2"), any(Date.class), anyString(), any(Date.class))).thenReturn(false);
+
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("k1", "DEPOSIT:A:500", this::deposit));
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("k2", "DEPOSIT:A:500", this::deposit));
+        verify(repository, never()).takeOver(eq("k1"), any(), any(), any());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void claim_isALeaseNotTheFullTtl() {
+        long before = System.currentTimeMillis();
+        store.execute("k1", "DEPOSIT:A:500", this::deposit);
+
+        verify(repository).insert(argThat((IdempotencyKey k) -> IdempotencyKey.IN_PROGRESS.equals(k.getStatus())
+                && k.getExpiresAt().getTime() <= before + 60_000));
+    }
+
+    @Test
+    void requestRejectedBeforeMovingMoney_releasesItsOwnClaim() {
+        assertThrows(InsufficientBalanceException.class, () -> store.execute("k1", "WITHDRAW:A:500", () -> {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }));
+
+        ArgumentCaptor<IdempotencyKey> claim = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(repository).insert(claim.capture());
+        verify(repository).release("k1", claim.getValue().getOwner());
+        verify(repository, never()).complete(any());
+    }
+
+    @Test
+    void requestFailingAfterItMayHaveMovedMoney_isRecordedAndNotRunAgain() {
+        assertThrows(IllegalStateException.class, () -> store.execute("k1", "DEPOSIT:A:500", () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("connection reset");
+        }));
+
+        verify(repository, never()).release(any(), any());
+        verify(repository).complete(argThat(k -> IdempotencyKey.FAILED.equals(k.getStatus())));
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("k1", "DEPOSIT:A:500", this::deposit));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void runningRequest_keepsItsLeaseRenewed() {
+        store.execute("k1", "DEPOSIT:A:500", () -> {
+            when(repository.renew(eq("k1"), anyString(), any(Date.class))).thenReturn(true);
+            store.renewLeases();
+            return deposit();
+        });
+
+        ArgumentCaptor<IdempotencyKey> claim = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(repository).insert(claim.capture());
+        verify(repository).renew(eq("k1"), eq(claim.getValue().getOwner()), any(Date.class));
+
+        store.renewLeases();
+        verify(repository, times(1)).renew(any(), any(), any());
+    }
+
+    @Test
+    void outcomeThatCouldNotBeStored_isStoredByTheRenewalThread() {
+        when(repository.complete(any())).thenThrow(new IllegalStateException("down")).thenReturn(true);
+
+        IdempotencyStore.Result result = store.execute("k1", "DEPOSIT:A:500", this::deposit);
+        assertEquals("TXN-1", result.response().getTransactionId());
+
+        store.renewLeases();
+        store.renewLeases();
+
+        verify(repository, times(2)).complete(argThat(k -> IdempotencyKey.COMPLETED.equals(k.getStatus())));
+        verify(repository, never()).renew(any(), any(), any());
+    }
+}
@@ -0,0 +1,137 @@
+package com.bankingsystem.simulator.journal;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendedRecordsReadBackInOrder() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(dir, SEGMENT_SIZE)) {
+            journal.awaitDurable(journal.append(List.of(txn(1), txn(2))));
+            journal.append(List.of(txn(3)));
+
+            TransactionJournal.Batch batch = journal.read(journal.checkpoint(), 10);
+
+            assertEquals(List.of("T1", "T2", "T3"), ids(batch));
+            assertEquals(journal.written(), batch.end());
+            Transaction first = batch.transactions().get(0);
+            assertEquals(100L, first.getAmount());
+            assertEquals("SRC", first.getSourceAccount());
+            assertNull(first.getDestinationAccount());
+            assertEquals(new Date(1_700_000_000_000L), first.getTimestamp());
+        }
+    }
+
+    @Test
+    void rotatesSegmentsAndDeletesThemOnceCommitted() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(dir, SEGMENT_SIZE)) {
+            List<Transaction> txns = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                txns.add(txn(i));
+            }
+            journal.append(txns);
+            assertTrue(segmentCount() > 1);
+
+            TransactionJournal.Batch batch = journal.read(journal.checkpoint(), 1000);
+            assertEquals(200, batch.transactions().size());
+            assertEquals("T199", batch.transactions().get(199).getTransactionId());
+
+            journal.commit(batch.end());
+            assertEquals(1, segmentCount());
+            assertTrue(journal.read(journal.checkpoint(), 10).transactions().isEmpty());
+        }
+    }
+
+    @Test
+    void reopenReplaysFromCheckpointAndDropsTornTail() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(dir, SEGMENT_SIZE)) {
+            journal.append(List.of(txn(1)));
+            journal.commit(journal.read(journal.checkpoint(), 10).end());
+            journal.awaitDurable(journal.append(List.of(txn(2), txn(3))));
+        }
+        // Simulate a crash halfway through the next append: a header with no valid payload
+        try (Stream<Path> files = Files.list(dir)) {
+            Path segment = files.filter(f -> f.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+            TransactionJournal.Position end;
+            try (TransactionJournal journal = TransactionJournal.open(dir, SEGMENT_SIZE)) {
+                end = journal.written();
+            }
+            try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+                file.seek(end.offset());
+                file.writeInt(40);
+                file.writeInt(12345);
+            }
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(dir, SEGMENT_SIZE)) {
+            assertEquals(List.of("T2", "T3"), ids(journal.read(journal.checkpoint(), 10)));
+
+            journal.append(List.of(txn(4)));
+            assertEquals(List.of("T2", "T3", "T4"), ids(journal.read(journal.checkpoint(), 10)));
+        }
+    }
+
+    @Test
+    void concurrentAppendsAreAllDurableAndReadable() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try (TransactionJournal journal = TransactionJournal.open(dir, SEGMENT_SIZE)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> {
+                    journal.awaitDurable(journal.append(List.of(txn(n))));
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+            assertEquals(400, journal.read(journal.checkpoint(), 1000).transactions().size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    private static List<String> ids(TransactionJournal.Batch batch) {
+        return batch.transactions().stream().map(Transaction::getTransactionId).toList();
+    }
+
+    private static Transaction txn(int n) {
+        return Transaction.builder()
+                .id(String.format("%024x", n))
+                .transactionId("T" + n)
+                .type("DEPOSIT")
+                .amount(100L * (n == 0 ? 1 : n))
+                .timestamp(new Date(1_700_000_000_000L))
+                .status("SUCCESS")
+                .sourceAccount("SRC")
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.bankingsystem.simulator.metrics;
+
+import com.bankingsystem.simulator.cache.NoOpAccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.concurrency.OptimisticRetry;
+import com.bankingsystem.simulator.config.ContentionProperties;
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.service.AccountService;
+import com.bankingsystem.simulator.service.impl.AccountServiceImpl;
+import com.bankingsystem.simulator.util.AccountNumberGenerator;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsPostProcessorTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final CommandListener listener = new MongoRequestStatsListener();
+    private final AccountService service = instrument(
+            new AccountServiceImpl(accountRepository, mock(AccountNumberGenerator.class), new NoOpAccountCache(),
+                    new OptimisticRetry(new ContentionProperties(), mock(AccountContention.class))));
+
+    private AccountService instrument(AccountServiceImpl target) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("registry", registry);
+        ServiceMetricsPostProcessor postProcessor = new ServiceMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+        postProcessor.setBeanFactory(beanFactory);
+        postProcessor.setBeanClassLoader(getClass().getClassLoader());
+        return (AccountService) postProcessor.postProcessAfterInitialization(target, "accountServiceImpl");
+    }
+
+    @Test
+    void successfulCalls_areTimedWithTheirMongoCommands() {
+        when(accountRepository.findByAccountNumber("JO1234")).thenAnswer(i -> {
+            listener.commandSucceeded(new CommandSucceededEvent(null, 1, 1, null, "accounts", "find", new BsonDocument(), 2_000_000L));
+            return Optional.of(Account.builder().accountNumber("JO1234").balance(0L).build());
+        });
+
+        assertTrue(AopUtils.isCglibProxy(service));
+        service.getAccount("JO1234");
+        service.getAccount("JO1234");
+
+        assertEquals(2, registry.get(ServiceMetricsInterceptor.CALLS)
+                .tags("service", "AccountService", "method", "getAccount", "outcome", "success").timer().count());
+        assertEquals(2.0, registry.get(ServiceMetricsInterceptor.MONGO_COMMANDS)
+                .tags("method", "getAccount").summary().totalAmount());
+        assertEquals(4.0, registry.get(ServiceMetricsInterceptor.MONGO_TIME)
+                .tags("method", "getAccount").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void failures_areTaggedWithTheExceptionType() {
+        when(accountRepository.findByAccountNumber("NOPE")).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> service.getAccount("NOPE"));
+
+        assertEquals(1, registry.get(ServiceMetricsInterceptor.CALLS)
+                .tags("method", "getAccount", "outcome", "failure", "exception", "AccountNotFoundException").timer().count());
+        assertEquals(0, registry.get(ServiceMetricsInterceptor.CALLS)
+                .tags("method", "getAccount", "outcome", "success").timer().count());
+    }
+}
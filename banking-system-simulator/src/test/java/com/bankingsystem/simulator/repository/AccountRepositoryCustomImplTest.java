@@ -0,0 +1,136 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.config.ShardingProperties;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.model.entity.AccountShard;
+import com.bankingsystem.simulator.sharding.HotAccounts;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountRepositoryCustomImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private AccountRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setHotAccounts(List.of("HOT"));
+        properties.setShards(2);
+        properties.setTotalCacheTtl(Duration.ZERO);
+        repository = new AccountRepositoryCustomImpl(mongoTemplate, new HotAccounts(properties));
+    }
+
+    private void givenBalances(long account, long shards) {
+        // Every single-shard debit misses, so the withdrawal has to sweep
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Account.class))).thenReturn(null);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(AccountShard.class))).thenReturn(null);
+        when(mongoTemplate.findOne(any(Query.class), eq(Account.class)))
+                .thenReturn(Account.builder().accountNumber("HOT").balance(account).build());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(AccountShard.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("_id", "HOT").append("total", shards)),
+                        new Document()));
+    }
+
+    @Test
+    void plainAccounts_neverTouchShards() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Account.class)))
+                .thenReturn(Account.builder().accountNumber("N").balance(500L).build());
+
+        assertTrue(repository.incrementBalance("N", 100L).isPresent());
+        assertEquals(0L, repository.shardBalance("N"));
+        assertTrue(repository.shardBalances(List.of("N")).isEmpty());
+        verify(mongoTemplate).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Account.class));
+        verifyNoMoreInteractions(mongoTemplate);
+    }
+
+    @Test
+    void sweep_drainsEveryShardWhenNoSingleShardCoversTheDebit() {
+        givenBalances(300L, 500L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(Account.class)))
+                .thenReturn(Account.builder().accountNumber("HOT").balance(300L).build());
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(AccountShard.class)))
+                .thenReturn(AccountShard.builder().accountNumber("HOT").shard(1).balance(500L).build());
+
+        Optional<Account> debited = repository.decrementBalanceIfSufficient("HOT", 600L);
+
+        assertTrue(debited.isPresent());
+        assertEquals(200L, debited.get().getBalance());
+        verify(mongoTemplate).findAndModify(any(Query.class), any(UpdateDefinition.class), eq(AccountShard.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Account.class));
+    }
+
+    @Test
+    void sweep_failsFastWhenTheTotalIsInsufficient() {
+        givenBalances(300L, 500L);
+
+        assertTrue(repository.decrementBalanceIfSufficient("HOT", 900L).isEmpty());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(UpdateDefinition.class), eq(Account.class));
+    }
+
+    @Test
+    void sweep_refundsWhatItTookWhenARaceLeavesItShort() {
+        givenBalances(300L, 500L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(Account.class)))
+                .thenReturn(Account.builder().accountNumber("HOT").balance(300L).build());
+        // Another withdrawal emptied the shard between the total and the drain
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(AccountShard.class)))
+                .thenReturn(null);
+
+        assertTrue(repository.decrementBalanceIfSufficient("HOT", 600L).isEmpty());
+        verify(mongoTemplate).updateFirst(any(Query.class),
+                argThat(u -> u instanceof Update update
+                        && update.getUpdateObject().get("$inc", Document.class).get("balance").equals(300L)),
+                eq(Account.class));
+    }
+
+    @Test
+    void incrementBalances_reportsAccountsThatNoLongerExist() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Account.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(result);
+        when(result.getMatchedCount()).thenReturn(1);
+        when(mongoTemplate.find(any(Query.class), eq(Account.class)))
+                .thenReturn(List.of(Account.builder().accountNumber("N1").build()));
+
+        Map<String, String> failures = repository.incrementBalances(Map.of("N1", 100L, "N2", 200L));
+
+        assertEquals(Map.of("N2", AccountRepositoryCustom.ACCOUNT_NOT_FOUND), failures);
+    }
+
+    @Test
+    void incrementBalances_allMatched_needsNoLookup() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Account.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(result);
+        when(result.getMatchedCount()).thenReturn(2);
+
+        assertTrue(repository.incrementBalances(Map.of("N1", 100L, "N2", 200L)).isEmpty());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Account.class));
+    }
+}
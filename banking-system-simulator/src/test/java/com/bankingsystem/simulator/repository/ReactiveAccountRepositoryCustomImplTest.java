@@ -0,0 +1,106 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.config.ShardingProperties;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.model.entity.AccountShard;
+import com.bankingsystem.simulator.sharding.HotAccounts;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveAccountRepositoryCustomImplTest {
+
+    private final ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+    private ReactiveAccountRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setHotAccounts(List.of("HOT"));
+        properties.setShards(2);
+        properties.setTotalCacheTtl(Duration.ZERO);
+        repository = new ReactiveAccountRepositoryCustomImpl(template, new HotAccounts(properties));
+    }
+
+    private void givenBalances(long account, long shards) {
+        // Every single-shard debit misses, so the withdrawal has to sweep
+        when(template.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Account.class))).thenReturn(Mono.empty());
+        when(template.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(AccountShard.class))).thenReturn(Mono.empty());
+        when(template.findOne(any(Query.class), eq(Account.class)))
+                .thenReturn(Mono.just(Account.builder().accountNumber("HOT").balance(account).build()));
+        when(template.aggregate(any(Aggregation.class), eq(AccountShard.class), eq(Document.class)))
+                .thenReturn(Flux.just(new Document("_id", "HOT").append("total", shards)));
+    }
+
+    @Test
+    void plainAccounts_neverTouchShards() {
+        when(template.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Account.class)))
+                .thenReturn(Mono.just(Account.builder().accountNumber("N").balance(500L).build()))
+                .thenReturn(Mono.empty());
+
+        assertNotNull(repository.incrementBalance("N", 100L).block());
+        assertNull(repository.decrementBalanceIfSufficient("N", 1_000L).block());
+        verify(template, times(2)).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Account.class));
+        verifyNoMoreInteractions(template);
+    }
+
+    @Test
+    void hotAccount_debitSweepsTheShardsWhenNoSingleOneCoversIt() {
+        givenBalances(300L, 500L);
+        when(template.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(Account.class)))
+                .thenReturn(Mono.just(Account.builder().accountNumber("HOT").balance(300L).build()));
+        when(template.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(AccountShard.class)))
+                .thenReturn(Mono.just(AccountShard.builder().accountNumber("HOT").shard(1).balance(500L).build()));
+
+        Account debited = repository.decrementBalanceIfSufficient("HOT", 600L).block();
+
+        assertNotNull(debited);
+        assertEquals(200L, debited.getBalance());
+        verify(template, never()).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Account.class));
+    }
+
+    @Test
+    void hotAccount_debitFailsFastWhenTheTotalIsInsufficient() {
+        givenBalances(300L, 500L);
+
+        assertNull(repository.decrementBalanceIfSufficient("HOT", 900L).block());
+        verify(template, never()).findAndModify(any(Query.class), any(UpdateDefinition.class), eq(Account.class));
+    }
+
+    @Test
+    void hotAccount_sweepRefundsWhatItTookWhenARaceLeavesItShort() {
+        givenBalances(300L, 500L);
+        when(template.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(Account.class)))
+                .thenReturn(Mono.just(Account.builder().accountNumber("HOT").balance(300L).build()));
+        when(template.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(AccountShard.class)))
+                .thenReturn(Mono.empty());
+        when(template.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Account.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        assertNull(repository.decrementBalanceIfSufficient("HOT", 600L).block());
+        verify(template).updateFirst(any(Query.class),
+                argThat(u -> u instanceof Update update
+                        && update.getUpdateObject().get("$inc", Document.class).get("balance").equals(300L)),
+                eq(Account.class));
+    }
+}
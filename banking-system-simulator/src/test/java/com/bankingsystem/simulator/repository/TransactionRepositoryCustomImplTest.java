@@ -0,0 +1,98 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets.Bucket;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionRepositoryCustomImplTest {
+
+    private final TransactionBuckets buckets = mock(TransactionBuckets.class);
+    private final MongoTemplate template = mock(MongoTemplate.class);
+    private final TransactionRepositoryCustomImpl repository = new TransactionRepositoryCustomImpl(buckets);
+    private final List<String> events = new ArrayList<>();
+
+    /** A bucket cursor that records every document it hands out, as a Mongo cursor would fetch them. */
+    private final class FakeCursor {
+        final String collection;
+        final AtomicInteger read = new AtomicInteger();
+
+        FakeCursor(String collection) {
+            this.collection = collection;
+        }
+
+        Stream<Transaction> open() {
+            events.add("open " + collection);
+            Iterator<Transaction> documents = IntStream.range(0, 3)
+                    .mapToObj(i -> Transaction.builder().transactionId(collection + "-" + i).build())
+                    .peek(t -> read.incrementAndGet())
+                    .iterator();
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(documents, Spliterator.ORDERED), false)
+                    .onClose(() -> events.add("close " + collection));
+        }
+    }
+
+    @Test
+    void streamHistory_readsNothingAheadAndOpensOneBucketCursorAtATime() {
+        FakeCursor september = new FakeCursor("transactions_202609");
+        FakeCursor october = new FakeCursor("transactions_202610");
+        Bucket first = new Bucket(YearMonth.of(2026, 9), september.collection, false);
+        Bucket second = new Bucket(YearMonth.of(2026, 10), october.collection, false);
+        when(buckets.oldestFirst(null, null)).thenReturn(List.of(first, second));
+        when(buckets.template(any(Bucket.class))).thenReturn(template);
+        when(template.stream(any(Query.class), eq(Transaction.class), eq(september.collection)))
+                .thenAnswer(invocation -> september.open());
+        when(template.stream(any(Query.class), eq(Transaction.class), eq(october.collection)))
+                .thenAnswer(invocation -> october.open());
+
+        try (Stream<Transaction> history = repository.streamHistory("A", null, null)) {
+            Iterator<Transaction> iterator = history.iterator();
+
+            assertEquals("transactions_202609-0", iterator.next().getTransactionId());
+            // Stream.flatMap would have pulled the whole bucket here
+            assertEquals(1, september.read.get());
+            assertEquals(List.of("open transactions_202609"), events);
+
+            List<String> ids = new ArrayList<>();
+            iterator.forEachRemaining(t -> ids.add(t.getTransactionId()));
+            assertEquals(5, ids.size());
+            assertEquals(List.of("open transactions_202609", "close transactions_202609",
+                    "open transactions_202610"), events.subList(0, 3));
+        }
+        assertEquals("close transactions_202610", events.getLast());
+    }
+
+    @Test
+    void streamHistory_closedEarly_closesTheOpenBucketCursor() {
+        FakeCursor september = new FakeCursor("transactions_202609");
+        when(buckets.oldestFirst(null, null)).thenReturn(List.of(
+                new Bucket(YearMonth.of(2026, 9), september.collection, false),
+                new Bucket(YearMonth.of(2026, 10), "transactions_202610", false)));
+        when(buckets.template(any(Bucket.class))).thenReturn(template);
+        when(template.stream(any(Query.class), eq(Transaction.class), anyString()))
+                .thenAnswer(invocation -> september.open());
+
+        try (Stream<Transaction> history = repository.streamHistory("A", null, null)) {
+            history.iterator().next();
+        }
+
+        assertEquals(List.of("open transactions_202609", "close transactions_202609"), events);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bankingsystem.simulator.repository;
+
+import com.bankingsystem.simulator.repository.TransactionRepositoryCustom.TransactionRow;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionRowCodecTest {
+
+    private final TransactionRowCodec codec = new TransactionRowCodec();
+
+    private TransactionRow decode(Document document) {
+        return codec.decode(new RawBsonDocument(document, new DocumentCodec()).asBsonReader(),
+                DecoderContext.builder().build());
+    }
+
+    @Test
+    void decode_readsResponseFieldsAndSkipsTheRest() {
+        ObjectId id = new ObjectId();
+        Date at = new Date(1_700_000_000_000L);
+        TransactionRow row = decode(new Document("_id", id)
+                .append("transactionId", "T1")
+                .append("sourceAccount", "A")
+                .append("type", "TRANSFER")
+                .append("amountMinor", 12_345L)
+                .append("nested", new Document("ignored", true))
+                .append("timestamp", at)
+                .append("status", "SUCCESS"));
+
+        assertEquals(id, row.id());
+        assertEquals("T1", row.response().getTransactionId());
+        assertEquals("TRANSFER", row.response().getType());
+        assertEquals(12_345L, row.response().getAmount());
+        assertEquals(at, row.response().getTimestamp());
+        assertEquals("SUCCESS", row.response().getStatus());
+    }
+
+    @Test
+    void decode_toleratesNullsAndInt32Amounts() {
+        TransactionRow row = decode(new Document("_id", new ObjectId())
+                .append("amountMinor", 500)
+                .append("status", null));
+
+        assertEquals(500L, row.response().getAmount());
+        assertNull(row.response().getStatus());
+    }
+}
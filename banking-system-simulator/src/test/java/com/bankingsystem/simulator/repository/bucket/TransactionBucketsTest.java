@@ -0,0 +1,140 @@
+package com.bankingsystem.simulator.repository.bucket;
+
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets.Bucket;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.CollectionCallback;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionBucketsTest {
+
+    private final MongoTemplate live = mock(MongoTemplate.class);
+    private final MongoTemplate archive = mock(MongoTemplate.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+    private final TransactionBuckets buckets = new TransactionBuckets(live, archive, Period.ofMonths(1), clock);
+
+    @BeforeEach
+    void setUp() {
+        when(live.getCollectionNames()).thenReturn(Set.of(
+                "transactions", "accounts", "transactions_202608", "transactions_202609", "transactions_202610"));
+        when(archive.getCollectionNames()).thenReturn(Set.of("transactions_202412", "transactions_202501"));
+        when(live.collectionExists(anyString())).thenReturn(true);
+        // Bucketing was switched on in December 2024, after the newest legacy document was inserted
+        ObjectId newestLegacy = new ObjectId(at("2024-11-28T09:00:00Z"));
+        when(live.execute(eq("transactions"), any(CollectionCallback.class))).thenReturn(new Document("_id", newestLegacy));
+        buckets.refresh();
+    }
+
+    private static Date at(String instant) {
+        return Date.from(Instant.parse(instant));
+    }
+
+    private static List<String> names(List<Bucket> buckets) {
+        return buckets.stream().map(Bucket::collection).toList();
+    }
+
+    @Test
+    void disabled_everythingIsInTheLegacyCollection() {
+        TransactionBuckets disabled = new TransactionBuckets(live);
+
+        assertEquals("transactions", disabled.bucketFor(at("2026-10-18T10:00:00Z")).collection());
+        assertEquals(List.of("transactions"), names(disabled.newestFirst(null, null)));
+    }
+
+    @Test
+    void writes_goToTheBucketOfTheirUtcMonth() {
+        assertEquals("transactions_202610", buckets.bucketFor(at("2026-10-31T23:59:59Z")).collection());
+        assertEquals("transactions_202611", buckets.bucketFor(at("2026-11-01T00:00:00Z")).collection());
+        assertTrue(buckets.bucketFor(at("2025-01-15T00:00:00Z")).archived());
+    }
+
+    @Test
+    void reads_visitOnlyTheBucketsTheirRangeOverlaps() {
+        // [from, to) with an exclusive upper bound on the first instant of November
+        assertEquals(List.of("transactions_202610", "transactions_202609"),
+                names(buckets.newestFirst(at("2026-09-10T00:00:00Z"), at("2026-11-01T00:00:00Z"))));
+    }
+
+    @Test
+    void reads_reachTheLegacyCollectionOnlyBeforeBucketingStarted() {
+        assertEquals(List.of("transactions_202412", "transactions"),
+                names(buckets.newestFirst(at("2024-11-01T00:00:00Z"), at("2025-01-01T00:00:00Z"))));
+        assertEquals(List.of("transactions_202412"),
+                names(buckets.newestFirst(at("2024-12-01T00:00:00Z"), at("2025-01-01T00:00:00Z"))));
+    }
+
+    @Test
+    void unboundedReads_coverArchivedBucketsAndEndWithTheLegacyCollection() {
+        List<Bucket> newestFirst = buckets.newestFirst(null, null);
+
+        assertEquals(List.of("transactions_202610", "transactions_202609", "transactions_202608",
+                "transactions_202501", "transactions_202412", "transactions"), names(newestFirst));
+        assertEquals(newestFirst.reversed(), buckets.oldestFirst(null, null));
+        assertSame(archive, buckets.template(newestFirst.get(3)));
+        assertSame(live, buckets.template(newestFirst.get(0)));
+    }
+
+    @Test
+    void maintenance_createsUpcomingBucketsAndArchivesOldOnes() {
+        MongoDatabaseFactory factory = mock(MongoDatabaseFactory.class);
+        MongoDatabase admin = mock(MongoDatabase.class);
+        MongoDatabase liveDb = mock(MongoDatabase.class);
+        MongoDatabase archiveDb = mock(MongoDatabase.class);
+        when(live.getMongoDatabaseFactory()).thenReturn(factory);
+        when(factory.getMongoDatabase("admin")).thenReturn(admin);
+        when(live.getDb()).thenReturn(liveDb);
+        when(archive.getDb()).thenReturn(archiveDb);
+        when(liveDb.getName()).thenReturn("bankdb");
+        when(archiveDb.getName()).thenReturn("bankdb_archive");
+        when(live.indexOps(anyString())).thenReturn(mock(IndexOperations.class));
+        when(live.collectionExists("transactions_202611")).thenReturn(false);
+
+        new TransactionBucketMaintenance(buckets, Period.ofMonths(1), Duration.ofHours(1), clock, false).run();
+
+        // August ended more than a month before October 18th; September did not
+        verify(admin).runCommand(new Document("renameCollection", "bankdb.transactions_202608")
+                .append("to", "bankdb_archive.transactions_202608"));
+        verify(admin, times(1)).runCommand(any(Document.class));
+        verify(live).createCollection("transactions_202611");
+        assertTrue(buckets.bucketFor(at("2026-08-20T00:00:00Z")).archived());
+        assertFalse(buckets.bucketFor(at("2026-09-20T00:00:00Z")).archived());
+    }
+
+    @Test
+    void bucketArchivedByAnotherNode_isReadFromTheArchiveBeforeTheNextRefresh() {
+        // August is due for archiving and another node moved it; this node still lists it as live
+        when(live.collectionExists("transactions_202608")).thenReturn(false);
+        when(archive.collectionExists("transactions_202608")).thenReturn(true);
+        List<Bucket> listed = buckets.newestFirst(null, null);
+
+        assertSame(archive, buckets.template(listed.get(2)));
+        assertTrue(buckets.bucketFor(at("2026-08-20T00:00:00Z")).archived());
+        // Found once, then known
+        assertSame(archive, buckets.template(listed.get(2)));
+        verify(live, times(1)).collectionExists("transactions_202608");
+
+        // September is not due yet, so it is never looked up
+        assertSame(live, buckets.template(listed.get(1)));
+        verify(live, never()).collectionExists("transactions_202609");
+    }
+}
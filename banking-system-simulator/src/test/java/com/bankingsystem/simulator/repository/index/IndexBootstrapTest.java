@@ -0,0 +1,96 @@
+package com.bankingsystem.simulator.repository.index;
+
+import com.bankingsystem.simulator.config.IndexProperties;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets;
+import com.bankingsystem.simulator.repository.bucket.TransactionBuckets.Bucket;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IndexBootstrapTest {
+
+    @Test
+    void containsStage_findsCollscanNestedUnderOr() {
+        Document plan = Document.parse("""
+                {"stage": "SUBPLAN", "inputStage": {"stage": "OR", "inputStages": [
+                    {"stage": "FETCH", "inputStage": {"stage": "IXSCAN", "indexName": "ix_sourceAccount_timestamp"}},
+                    {"stage": "COLLSCAN"}
+                ]}}""");
+        assertTrue(IndexBootstrap.containsStage(plan, "COLLSCAN"));
+    }
+
+    @Test
+    void containsStage_ignoresIndexedPlans() {
+        Document plan = Document.parse("""
+                {"queryPlan": {"stage": "FETCH", "inputStage": {"stage": "IXSCAN", "indexName": "ux_accountNumber"}}}""");
+        assertFalse(IndexBootstrap.containsStage(plan, "COLLSCAN"));
+    }
+
+    @Test
+    void everyHotQueryTargetsAManagedCollection() {
+        List<String> collections = ManagedIndexes.INDEXES.stream().map(ManagedIndexes.ManagedIndex::collection).toList();
+        ManagedIndexes.HOT_QUERIES.forEach(q -> assertTrue(collections.contains(q.collection()), q.name()));
+    }
+
+    @Test
+    void findCollectionScans_checksTransactionQueriesOnEveryBucket() {
+        MongoTemplate live = mock(MongoTemplate.class);
+        MongoTemplate archive = mock(MongoTemplate.class);
+        MongoDatabase liveDb = mock(MongoDatabase.class);
+        MongoDatabase archiveDb = mock(MongoDatabase.class);
+        when(live.getDb()).thenReturn(liveDb);
+        when(archive.getDb()).thenReturn(archiveDb);
+        Document indexed = Document.parse("""
+                {"queryPlanner": {"winningPlan": {"stage": "FETCH", "inputStage": {"stage": "IXSCAN"}}}}""");
+        Document scanned = Document.parse("""
+                {"queryPlanner": {"winningPlan": {"stage": "COLLSCAN"}}}""");
+        when(liveDb.runCommand(any(Document.class))).thenReturn(indexed);
+        // The archived bucket lost its indexes
+        when(archiveDb.runCommand(any(Document.class))).thenReturn(scanned);
+
+        TransactionBuckets buckets = mock(TransactionBuckets.class);
+        Bucket archived = new Bucket(YearMonth.of(2025, 1), "transactions_202501", true);
+        Bucket current = new Bucket(YearMonth.of(2026, 10), "transactions_202610", false);
+        when(buckets.all()).thenReturn(List.of(archived, current));
+        when(buckets.template(archived)).thenReturn(archive);
+        when(buckets.template(current)).thenReturn(live);
+
+        List<String> scans = new IndexBootstrap(live, buckets, new IndexProperties(), null).findCollectionScans();
+
+        long transactionQueries = ManagedIndexes.HOT_QUERIES.stream()
+                .filter(q -> q.collection().equals(TransactionBuckets.LEGACY_COLLECTION))
+                .count();
+        assertEquals(transactionQueries, scans.size());
+        assertTrue(scans.stream().allMatch(s -> s.endsWith("runs a COLLSCAN on transactions_202501")), scans::toString);
+    }
+
+    @Test
+    void failedIndexBuild_isAViolationAndTheChecksStillRun() {
+        MongoTemplate template = mock(MongoTemplate.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(template.indexOps(anyString())).thenReturn(indexOps);
+        when(indexOps.createIndex(any())).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+        IndexProperties properties = new IndexProperties();
+        properties.setVerifyQueryPlans(false);
+        IndexBootstrap bootstrap = new IndexBootstrap(template, mock(TransactionBuckets.class), properties, null);
+
+        List<String> failures = bootstrap.createIndexes();
+        assertEquals(ManagedIndexes.INDEXES.size(), failures.size());
+        assertTrue(failures.getFirst().startsWith("Could not build index ux_accountNumber on accounts"), failures::toString);
+
+        bootstrap.run();
+        verify(indexOps, atLeast(ManagedIndexes.INDEXES.size())).getIndexInfo();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bankingsystem.simulator.repository.migration;
+
+import com.bankingsystem.simulator.config.MigrationProperties;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SchemaMigrationsTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+    private final SchemaMigrations migrations = new SchemaMigrations(mongoTemplate, new MigrationProperties());
+
+    @Test
+    void everyStepRunsBeforeStartupCompletes() {
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(collection.updateMany(any(Document.class), anyList())).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        migrations.afterSingletonsInstantiated();
+
+        verify(collection, times(SchemaMigrations.STEPS.size())).updateMany(any(Document.class), anyList());
+    }
+
+    @Test
+    void failedStep_stopsStartup() {
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(collection.updateMany(any(Document.class), anyList())).thenThrow(new MongoTimeoutException("no server"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, migrations::afterSingletonsInstantiated);
+        assertTrue(e.getMessage().contains("accounts.balance -> balanceMinor"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.config.AccountImportProperties;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.service.impl.AccountImportServiceImpl;
+import com.bankingsystem.simulator.util.AccountNumberGenerator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountImportServiceTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    private AccountImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        AccountImportProperties properties = new AccountImportProperties();
+        properties.setChunkSize(2);
+        service = new AccountImportServiceImpl(accountRepository, accountNumberGenerator,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, properties);
+        lenient().when(accountNumberGenerator.generateAll(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0))
+                .stream().map(name -> "N" + sequence.incrementAndGet()).toList());
+    }
+
+    private List<JsonNode> run(String body, AccountImportService.Format format, boolean errorsOnly,
+                               AccountImportService.Summary[] summary) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        summary[0] = service.importAccounts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                format, errorsOnly, out);
+        return out.toString(StandardCharsets.UTF_8).lines().map(objectMapper::readTree).toList();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void csv_createsValidRowsInChunksAndRejectsInvalidOnes() {
+        when(accountRepository.insertAll(anyList())).thenReturn(Map.of());
+        AccountImportService.Summary[] summary = new AccountImportService.Summary[1];
+
+        List<JsonNode> results = run("""
+                id,holderName
+                1,"Doe, Jane"
+
+                2,   \s
+                3,Chandrasekhar
+                """, AccountImportService.Format.CSV, false, summary);
+
+        assertEquals(new AccountImportService.Summary(3, 2, 1, 0), summary[0]);
+        assertEquals(3, results.size());
+        assertEquals(2, results.get(0).get("line").asInt());
+        assertEquals("CREATED", results.get(0).get("status").asString());
+        assertEquals("N1", results.get(0).get("accountNumber").asString());
+        assertEquals("REJECTED", results.get(1).get("status").asString());
+        assertEquals(4, results.get(1).get("line").asInt());
+        assertEquals("CREATED", results.get(2).get("status").asString());
+
+        ArgumentCaptor<List<Account>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(accountRepository, times(2)).insertAll(inserted.capture());
+        assertEquals("Doe, Jane", inserted.getAllValues().get(0).get(0).getHolderName());
+        assertEquals(0L, inserted.getAllValues().get(0).get(0).getBalance());
+        assertEquals("ACTIVE", inserted.getAllValues().get(1).get(0).getStatus());
+    }
+
+    @Test
+    void ndjson_errorsOnly_reportsMalformedAndUnwrittenRows() {
+        when(accountRepository.insertAll(anyList())).thenReturn(Map.of(1, "E11000 duplicate key"));
+        AccountImportService.Summary[] summary = new AccountImportService.Summary[1];
+
+        List<JsonNode> results = run("""
+                {"holderName": "Ann"}
+                {"holderName": "Bob"}
+                {"holderName":
+                null
+                """, AccountImportService.Format.NDJSON, true, summary);
+
+        assertEquals(new AccountImportService.Summary(4, 1, 2, 1), summary[0]);
+        assertEquals(3, results.size());
+        assertEquals("FAILED", results.get(0).get("status").asString());
+        assertEquals("Bob", results.get(0).get("holderName").asString());
+        assertEquals("REJECTED", results.get(1).get("status").asString());
+        assertTrue(results.get(1).get("error").asString().startsWith("Malformed JSON"));
+        assertEquals(4, results.get(2).get("line").asInt());
+        assertEquals("REJECTED", results.get(2).get("status").asString());
+        assertEquals("Expected a JSON object", results.get(2).get("error").asString());
+    }
+
+    @Test
+    void csv_withoutHolderNameColumn_isRejectedBeforeAnyInsert() {
+        AccountImportService.Summary[] summary = new AccountImportService.Summary[1];
+
+        List<JsonNode> results = run("name\nAnn\n", AccountImportService.Format.CSV, false, summary);
+
+        assertEquals(1, results.size());
+        assertEquals("REJECTED", results.get(0).get("status").asString());
+        verifyNoInteractions(accountRepository, accountNumberGenerator);
+    }
+}
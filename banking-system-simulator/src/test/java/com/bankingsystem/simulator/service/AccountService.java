@@ -1,5 +1,9 @@
 package com.bankingsystem.simulator.service;
 
+import com.bankingsystem.simulator.cache.AccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.concurrency.OptimisticRetry;
+import com.bankingsystem.simulator.config.ContentionProperties;
 import com.bankingsystem.simulator.exception.AccountNotFoundException;
 import com.bankingsystem.simulator.exception.InvalidInputException;
 import com.bankingsystem.simulator.model.dto.AccountCreateRequest;
@@ -8,10 +12,12 @@ import com.bankingsystem.simulator.model.dto.AccountUpdateRequest;
 import com.bankingsystem.simulator.model.entity.Account;
 import com.bankingsystem.simulator.repository.AccountRepository;
 import com.bankingsystem.simulator.service.impl.AccountServiceImpl;
+import com.bankingsystem.simulator.util.AccountNumberGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.Date;
 import java.util.Optional;
@@ -25,10 +31,47 @@ class AccountServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private AccountContention accountContention;
+
+    @Spy
+    private OptimisticRetry optimisticRetry = new OptimisticRetry(new ContentionProperties(), mock(AccountContention.class));
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
-    // existing create/get tests... (keep if present)
+    @Test
+    void createAccount_usesGeneratedNumberAndZeroBalance() {
+        when(accountNumberGenerator.generate("Chandrasekhar")).thenReturn("CH0000000018");
+        when(accountRepository.save(any(Account.class))).thenAnswer(i -> i.getArgument(0));
+
+        AccountCreateRequest req = new AccountCreateRequest();
+        req.setHolderName("  Chandrasekhar ");
+
+        AccountResponse resp = accountService.createAccount(req);
+
+        assertEquals("CH0000000018", resp.getAccountNumber());
+        assertEquals("Chandrasekhar", resp.getHolderName());
+        assertEquals(0L, resp.getBalance());
+        assertEquals("ACTIVE", resp.getStatus());
+    }
+
+    @Test
+    void getAccount_readsThroughCache() {
+        Account existing = Account.builder().accountNumber("JO1234").holderName("Jo").balance(1000L).status("ACTIVE").build();
+        when(accountCache.get(eq("JO1234"), any())).thenReturn(Optional.of(existing));
+
+        AccountResponse resp = accountService.getAccount("JO1234");
+
+        assertEquals(1000L, resp.getBalance());
+        verify(accountRepository, never()).findByAccountNumber(any());
+    }
 
     @Test
     void updateAccount_whenHolderNameProvided_updatesName() {
@@ -36,7 +79,7 @@ class AccountServiceImplTest {
                 .id("id1")
                 .accountNumber("JO1234")
                 .holderName("Old Name")
-                .balance(100.0)
+                .balance(10000L)
                 .status("ACTIVE")
                 .createdAt(new Date())
                 .build();
@@ -55,6 +98,44 @@ class AccountServiceImplTest {
         ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
         verify(accountRepository).save(captor.capture());
         assertEquals("New Name", captor.getValue().getHolderName());
+        verify(accountCache).invalidate("JO1234");
+    }
+
+    @Test
+    void updateAccount_whenSaveConflicts_reappliesToAFreshRead() {
+        Account stale = Account.builder().id("id1").accountNumber("JO1234").holderName("Old").balance(100L)
+                .status("ACTIVE").version(3L).build();
+        Account fresh = Account.builder().id("id1").accountNumber("JO1234").holderName("Old").balance(900L)
+                .status("ACTIVE").version(4L).build();
+        when(accountRepository.findByAccountNumber("JO1234")).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(accountRepository.save(any(Account.class)))
+                .thenThrow(new OptimisticLockingFailureException("version 3 is stale"))
+                .thenAnswer(i -> i.getArgument(0));
+
+        AccountUpdateRequest req = new AccountUpdateRequest();
+        req.setHolderName("New");
+        var resp = accountService.updateAccount("JO1234", req);
+
+        assertEquals("New", resp.getHolderName());
+        assertEquals(900L, resp.getBalance());
+        verify(accountRepository, times(2)).save(any(Account.class));
+    }
+
+    @Test
+    void updateAccount_whenDocumentPredatesVersioning_savesVersionedInsteadOfInserting() {
+        Account unversioned = Account.builder().id("id1").accountNumber("JO1234").holderName("Old").balance(100L)
+                .status("ACTIVE").build();
+        when(accountRepository.findByAccountNumber("JO1234")).thenReturn(Optional.of(unversioned));
+        when(accountRepository.save(any(Account.class))).thenAnswer(i -> i.getArgument(0));
+
+        AccountUpdateRequest req = new AccountUpdateRequest();
+        req.setHolderName("New");
+        accountService.updateAccount("JO1234", req);
+
+        verify(accountRepository).initVersion("id1");
+        ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
+        verify(accountRepository).save(captor.capture());
+        assertEquals(0L, captor.getValue().getVersion());
     }
 
     @Test
@@ -63,7 +144,7 @@ class AccountServiceImplTest {
                 .id("id2")
                 .accountNumber("JO9999")
                 .holderName("Name")
-                .balance(50.0)
+                .balance(5000L)
                 .status("ACTIVE")
                 .createdAt(new Date())
                 .build();
@@ -93,7 +174,7 @@ class AccountServiceImplTest {
                 .id("id3")
                 .accountNumber("DEL123")
                 .holderName("To Delete")
-                .balance(0.0)
+                .balance(0L)
                 .status("ACTIVE")
                 .createdAt(new Date())
                 .build();
@@ -114,7 +195,7 @@ class AccountServiceImplTest {
                 .id("id4")
                 .accountNumber("DEL999")
                 .holderName("Already Inactive")
-                .balance(0.0)
+                .balance(0L)
                 .status("INACTIVE")
                 .createdAt(new Date())
                 .build();
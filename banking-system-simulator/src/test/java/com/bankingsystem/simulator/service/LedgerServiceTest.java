@@ -0,0 +1,125 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.config.LedgerProperties;
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.model.dto.LedgerBalanceResponse;
+import com.bankingsystem.simulator.model.entity.BalanceSnapshot;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.repository.BalanceSnapshotRepository;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import com.bankingsystem.simulator.repository.TransactionRepositoryCustom.LedgerTail;
+import com.bankingsystem.simulator.service.impl.LedgerServiceImpl;
+import com.bankingsystem.simulator.util.PageCursor;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BalanceSnapshotRepository snapshotRepository;
+
+    private LedgerServiceImpl ledgerService;
+
+    private final ObjectId lastId = new ObjectId();
+    private final BalanceSnapshot snapshot = BalanceSnapshot.builder()
+            .accountNumber("A").balance(10_000L).events(40).asOf(new Date(1_000)).lastEventId(lastId.toHexString())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new LedgerServiceImpl(accountRepository, transactionRepository, snapshotRepository,
+                new LedgerProperties());
+    }
+
+    @Test
+    void getBalance_replaysTheTailAfterTheLatestSnapshot() {
+        when(accountRepository.existsByAccountNumber("A")).thenReturn(true);
+        when(snapshotRepository.findFirstByAccountNumberOrderByAsOfDescEventsDesc("A")).thenReturn(Optional.of(snapshot));
+        when(transactionRepository.replay("A", new PageCursor(new Date(1_000), lastId), null))
+                .thenReturn(new LedgerTail(-2_500L, 3, new PageCursor(new Date(2_000), new ObjectId())));
+
+        LedgerBalanceResponse balance = ledgerService.getBalance("A", null);
+
+        assertEquals(7_500L, balance.getBalance());
+        assertEquals(43, balance.getEvents());
+        assertEquals(3, balance.getReplayedEvents());
+    }
+
+    @Test
+    void getBalanceAsOf_startsFromTheLatestSnapshotBeforeThatTime() {
+        Date asOf = new Date(1_500);
+        when(accountRepository.existsByAccountNumber("A")).thenReturn(true);
+        when(snapshotRepository.findFirstByAccountNumberAndAsOfLessThanEqualOrderByAsOfDescEventsDesc("A", asOf))
+                .thenReturn(Optional.of(snapshot));
+        when(transactionRepository.replay(eq("A"), any(), eq(asOf))).thenReturn(LedgerTail.EMPTY);
+
+        LedgerBalanceResponse balance = ledgerService.getBalance("A", asOf);
+
+        assertEquals(10_000L, balance.getBalance());
+        assertEquals(new Date(1_000), balance.getSnapshotAsOf());
+        verify(snapshotRepository, never()).findFirstByAccountNumberOrderByAsOfDescEventsDesc(any());
+    }
+
+    @Test
+    void getBalance_withoutSnapshots_replaysTheWholeHistory() {
+        when(accountRepository.existsByAccountNumber("A")).thenReturn(true);
+        when(snapshotRepository.findFirstByAccountNumberOrderByAsOfDescEventsDesc("A")).thenReturn(Optional.empty());
+        when(transactionRepository.replay("A", null, null)).thenReturn(new LedgerTail(900L, 2, null));
+
+        assertEquals(900L, ledgerService.getBalance("A", null).getBalance());
+    }
+
+    @Test
+    void getBalance_unknownAccount_throws() {
+        when(accountRepository.existsByAccountNumber("X")).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () -> ledgerService.getBalance("X", null));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void snapshot_foldsTheSettledTailIntoANewSnapshot() {
+        ObjectId newLast = new ObjectId();
+        when(snapshotRepository.findFirstByAccountNumberOrderByAsOfDescEventsDesc("A")).thenReturn(Optional.of(snapshot));
+        when(transactionRepository.replay(eq("A"), eq(new PageCursor(new Date(1_000), lastId)), any(Date.class)))
+                .thenReturn(new LedgerTail(500L, 5, new PageCursor(new Date(3_000), newLast)));
+        when(snapshotRepository.save(any(BalanceSnapshot.class))).thenAnswer(i -> i.getArgument(0));
+
+        assertTrue(ledgerService.snapshot("A").isPresent());
+
+        ArgumentCaptor<BalanceSnapshot> saved = ArgumentCaptor.forClass(BalanceSnapshot.class);
+        verify(snapshotRepository).save(saved.capture());
+        assertEquals(10_500L, saved.getValue().getBalance());
+        assertEquals(45, saved.getValue().getEvents());
+        assertEquals(new Date(3_000), saved.getValue().getAsOf());
+        assertEquals(newLast.toHexString(), saved.getValue().getLastEventId());
+    }
+
+    @Test
+    void snapshot_withNoNewTransactions_savesNothing() {
+        when(snapshotRepository.findFirstByAccountNumberOrderByAsOfDescEventsDesc("A")).thenReturn(Optional.of(snapshot));
+        when(transactionRepository.replay(eq("A"), any(), any(Date.class))).thenReturn(LedgerTail.EMPTY);
+
+        assertTrue(ledgerService.snapshot("A").isEmpty());
+        verify(snapshotRepository, never()).save(any());
+    }
+}
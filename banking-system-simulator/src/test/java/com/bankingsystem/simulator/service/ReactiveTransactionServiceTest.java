@@ -0,0 +1,105 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.cache.AccountCache;
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
+import com.bankingsystem.simulator.exception.InsufficientBalanceException;
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import com.bankingsystem.simulator.model.dto.TransferRequest;
+import com.bankingsystem.simulator.model.dto.WithdrawRequest;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.ReactiveAccountRepository;
+import com.bankingsystem.simulator.repository.ReactiveTransactionRepository;
+import com.bankingsystem.simulator.service.impl.ReactiveTransactionServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+
+    @Mock
+    private ReactiveAccountRepository accountRepository;
+
+    @Mock
+    private ReactiveTransactionRepository transactionRepository;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReactiveTransactionServiceImpl transactionService;
+
+    @Test
+    void deposit_incrementsAndSavesTransaction() {
+        when(accountRepository.incrementBalance("A", 5000L)).thenReturn(Mono.just(account("A", 15000L)));
+        when(transactionRepository.append(any(Transaction.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        DepositRequest req = new DepositRequest();
+        req.setAmount(5000L);
+        TransactionResponse resp = transactionService.deposit("A", req).block();
+
+        assertEquals("DEPOSIT", resp.getType());
+        assertEquals(5000L, resp.getAmount());
+        verify(accountCache).invalidate("A");
+    }
+
+    @Test
+    void withdraw_lowBalance_signalsInsufficientBalance() {
+        when(accountRepository.decrementBalanceIfSufficient("A", 20000L)).thenReturn(Mono.empty());
+        when(accountRepository.existsByAccountNumber("A")).thenReturn(Mono.just(true));
+
+        WithdrawRequest req = new WithdrawRequest();
+        req.setAmount(20000L);
+
+        assertThrows(InsufficientBalanceException.class, () -> transactionService.withdraw("A", req).block());
+        verify(transactionRepository, never()).append(any(Transaction.class));
+    }
+
+    @Test
+    void transfer_missingDestination_refundsSource() {
+        when(accountRepository.decrementBalanceIfSufficient("SRC", 200L)).thenReturn(Mono.just(account("SRC", 100L)));
+        when(accountRepository.incrementBalance("NOPE", 200L)).thenReturn(Mono.empty());
+        when(accountRepository.incrementBalance("SRC", 200L)).thenReturn(Mono.just(account("SRC", 300L)));
+
+        TransferRequest req = new TransferRequest();
+        req.setSourceAccount("SRC");
+        req.setDestinationAccount("NOPE");
+        req.setAmount(200L);
+
+        assertThrows(AccountNotFoundException.class, () -> transactionService.transfer(req).block());
+        verify(accountRepository).incrementBalance("SRC", 200L);
+        verify(transactionRepository, never()).append(any(Transaction.class));
+    }
+
+    @Test
+    void getTransactions_mapsEachDocument() {
+        Transaction t1 = Transaction.builder().transactionId("T1").type("DEPOSIT").amount(1000L).timestamp(new Date()).status("SUCCESS").build();
+        when(transactionRepository.findBySourceAccountOrDestinationAccount("A", "A")).thenReturn(Flux.just(t1));
+
+        List<TransactionResponse> res = transactionService.getTransactions("A").collectList().block();
+
+        assertEquals(1, res.size());
+        assertEquals("T1", res.get(0).getTransactionId());
+    }
+
+    private static Account account(String accountNumber, long balance) {
+        return Account.builder().accountNumber(accountNumber).balance(balance).status("ACTIVE").build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.model.dto.StatementResponse;
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.repository.StatementRollupRepository;
+import com.bankingsystem.simulator.service.impl.StatementServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private StatementRollupRepository rollupRepository;
+
+    @InjectMocks
+    private StatementServiceImpl statementService;
+
+    private static StatementRollup rollup(String granularity, String period, long credits, long debits) {
+        return StatementRollup.builder().accountNumber("A").granularity(granularity).period(period)
+                .credits(credits).debits(debits).creditCount(credits > 0 ? 1 : 0).debitCount(debits > 0 ? 1 : 0).build();
+    }
+
+    @Test
+    void monthlyStatement_opensWithTheNetOfEarlierMonths() {
+        when(accountRepository.existsByAccountNumber("A")).thenReturn(true);
+        when(rollupRepository.findByAccountNumberAndGranularityAndPeriodLessThanEqualOrderByPeriodAsc("A", "MONTHLY", "2026-03"))
+                .thenReturn(List.of(
+                        rollup("MONTHLY", "2026-01", 10_000, 2_000),
+                        rollup("MONTHLY", "2026-03", 500, 1_500)));
+
+        StatementResponse statement = statementService.getStatement("A", "2026-03");
+
+        assertEquals(8_000, statement.getOpeningBalance());
+        assertEquals(500, statement.getTotalIn());
+        assertEquals(1_500, statement.getTotalOut());
+        assertEquals(7_000, statement.getClosingBalance());
+    }
+
+    @Test
+    void dailyStatement_addsEarlierDaysOfTheMonth() {
+        when(accountRepository.existsByAccountNumber("A")).thenReturn(true);
+        when(rollupRepository.findByAccountNumberAndGranularityAndPeriodLessThanEqualOrderByPeriodAsc("A", "MONTHLY", "2026-02"))
+                .thenReturn(List.of(rollup("MONTHLY", "2026-01", 10_000, 0)));
+        when(rollupRepository.findByAccountNumberAndGranularityAndPeriodGreaterThanEqualAndPeriodLessThanEqualOrderByPeriodAsc(
+                "A", "DAILY", "2026-03-01", "2026-03-05"))
+                .thenReturn(List.of(rollup("DAILY", "2026-03-02", 0, 3_000)));
+
+        StatementResponse statement = statementService.getStatement("A", "2026-03-05");
+
+        assertEquals(7_000, statement.getOpeningBalance());
+        assertEquals(7_000, statement.getClosingBalance());
+        assertEquals(0, statement.getCreditCount() + statement.getDebitCount());
+    }
+
+    @Test
+    void monthlyStatements_chainClosingIntoOpeningAndFillQuietMonths() {
+        when(accountRepository.existsByAccountNumber("A")).thenReturn(true);
+        when(rollupRepository.findByAccountNumberAndGranularityAndPeriodLessThanEqualOrderByPeriodAsc("A", "MONTHLY", "2026-03"))
+                .thenReturn(List.of(
+                        rollup("MONTHLY", "2025-12", 1_000, 0),
+                        rollup("MONTHLY", "2026-01", 5_000, 0),
+                        rollup("MONTHLY", "2026-03", 0, 2_000)));
+
+        List<StatementResponse> statements = statementService.getMonthlyStatements("A", "2026-01", "2026-03");
+
+        assertEquals(List.of("2026-01", "2026-02", "2026-03"), statements.stream().map(StatementResponse::getPeriod).toList());
+        assertEquals(1_000, statements.get(0).getOpeningBalance());
+        assertEquals(6_000, statements.get(1).getOpeningBalance());
+        assertEquals(6_000, statements.get(1).getClosingBalance());
+        assertEquals(4_000, statements.get(2).getClosingBalance());
+    }
+
+    @Test
+    void invalidPeriods_areRejected() {
+        assertThrows(InvalidInputException.class, () -> statementService.getMonthlyStatements("A", "2026-03", "2026-01"));
+        assertThrows(InvalidInputException.class, () -> statementService.getMonthlyStatements("A", "2026-13", "2027-01"));
+        when(accountRepository.existsByAccountNumber("A")).thenReturn(true);
+        assertThrows(InvalidInputException.class, () -> statementService.getStatement("A", "March"));
+    }
+}
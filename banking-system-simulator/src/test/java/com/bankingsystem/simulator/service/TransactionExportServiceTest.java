@@ -0,0 +1,51 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+import com.bankingsystem.simulator.service.impl.TransactionExportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void exportTransactions_writesOneJsonObjectPerLineAndClosesCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(transactionRepository.streamHistory("A", null, null)).thenReturn(IntStream.range(0, 1200)
+                .mapToObj(i -> Transaction.builder().transactionId("T" + i).type("TRANSFER").amount(100L)
+                        .timestamp(new Date()).status("SUCCESS").sourceAccount("A").destinationAccount("B").build())
+                .onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = new TransactionExportServiceImpl(transactionRepository, objectMapper)
+                .exportTransactions("A", null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1200, rows);
+        assertEquals(1200, lines.length);
+        JsonNode last = objectMapper.readTree(lines[1199]);
+        assertEquals("T1199", last.get("transactionId").asString());
+        assertEquals("B", last.get("destinationAccount").asString());
+        assertTrue(closed.get());
+    }
+}
@@ -1,20 +1,32 @@
 package com.bankingsystem.simulator.service;
 
+import com.bankingsystem.simulator.cache.AccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.event.TransactionsRecordedEvent;
+import com.bankingsystem.simulator.exception.AccountNotFoundException;
 import com.bankingsystem.simulator.exception.InsufficientBalanceException;
 import com.bankingsystem.simulator.exception.InvalidAmountException;
+import com.bankingsystem.simulator.exception.InvalidInputException;
+import com.bankingsystem.simulator.journal.TransactionWriter;
 import com.bankingsystem.simulator.model.dto.*;
 import com.bankingsystem.simulator.model.entity.Account;
 import com.bankingsystem.simulator.model.entity.Transaction;
 import com.bankingsystem.simulator.repository.AccountRepository;
+import com.bankingsystem.simulator.repository.AccountRepositoryCustom;
 import com.bankingsystem.simulator.repository.TransactionRepository;
+import com.bankingsystem.simulator.repository.TransactionRepositoryCustom.TransactionRow;
 import com.bankingsystem.simulator.service.impl.TransactionServiceImpl;
+import com.bankingsystem.simulator.util.PageCursor;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,80 +41,273 @@ class TransactionServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private TransactionWriter transactionWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AccountContention accountContention;
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
     @Test
     void deposit_validAmount_shouldIncreaseBalanceAndSaveTransaction() {
-        Account acc = Account.builder().accountNumber("JO1").balance(100.0).holderName("A").status("ACTIVE").build();
-        when(accountRepository.findByAccountNumber("JO1")).thenReturn(Optional.of(acc));
-        when(accountRepository.save(any(Account.class))).thenAnswer(i -> i.getArgument(0));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+        Account updated = Account.builder().accountNumber("JO1").balance(15000L).holderName("A").status("ACTIVE").build();
+        when(accountRepository.incrementBalance("JO1", 5000L)).thenReturn(Optional.of(updated));
 
         DepositRequest req = new DepositRequest();
-        req.setAmount(50.0);
+        req.setAmount(5000L);
 
         TransactionResponse resp = transactionService.deposit("JO1", req);
 
         assertNotNull(resp);
         assertEquals("DEPOSIT", resp.getType());
-        assertEquals(50.0, resp.getAmount());
-        assertEquals(150.0, acc.getBalance()); // balance updated on entity
-        verify(accountRepository, times(1)).save(acc);
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        assertEquals(5000L, resp.getAmount());
+        verify(accountRepository, times(1)).incrementBalance("JO1", 5000L);
+        verify(accountRepository, never()).save(any(Account.class)); // no read-modify-write
+        verify(transactionWriter, times(1)).write(any(Transaction.class));
+        verify(eventPublisher).publishEvent(any(TransactionsRecordedEvent.class));
     }
 
     @Test
     void withdraw_insufficientFunds_shouldThrow() {
-        Account acc = Account.builder().accountNumber("JO2").balance(100.0).holderName("B").status("ACTIVE").build();
-        when(accountRepository.findByAccountNumber("JO2")).thenReturn(Optional.of(acc));
+        when(accountRepository.decrementBalanceIfSufficient("JO2", 20000L)).thenReturn(Optional.empty());
+        when(accountRepository.existsByAccountNumber("JO2")).thenReturn(true);
 
         WithdrawRequest req = new WithdrawRequest();
-        req.setAmount(200.0);
+        req.setAmount(20000L);
 
         assertThrows(InsufficientBalanceException.class, () -> transactionService.withdraw("JO2", req));
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionWriter, never()).write(any(Transaction.class));
     }
 
     @Test
     void transfer_valid_shouldMoveFundsAndSaveTransaction() {
-        Account src = Account.builder().accountNumber("SRC").balance(500.0).holderName("S").status("ACTIVE").build();
-        Account dst = Account.builder().accountNumber("DST").balance(100.0).holderName("D").status("ACTIVE").build();
+        Account src = Account.builder().accountNumber("SRC").balance(30000L).holderName("S").status("ACTIVE").build();
+        Account dst = Account.builder().accountNumber("DST").balance(30000L).holderName("D").status("ACTIVE").build();
 
-        when(accountRepository.findByAccountNumber("SRC")).thenReturn(Optional.of(src));
-        when(accountRepository.findByAccountNumber("DST")).thenReturn(Optional.of(dst));
-        when(accountRepository.save(any(Account.class))).thenAnswer(i -> i.getArgument(0));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+        when(accountRepository.decrementBalanceIfSufficient("SRC", 20000L)).thenReturn(Optional.of(src));
+        when(accountRepository.incrementBalance("DST", 20000L)).thenReturn(Optional.of(dst));
 
         TransferRequest req = new TransferRequest();
         req.setSourceAccount("SRC");
         req.setDestinationAccount("DST");
-        req.setAmount(200.0);
+        req.setAmount(20000L);
 
         TransactionResponse resp = transactionService.transfer(req);
 
         assertNotNull(resp);
         assertEquals("TRANSFER", resp.getType());
-        assertEquals(200.0, resp.getAmount());
-        assertEquals(300.0, src.getBalance());
-        assertEquals(300.0, dst.getBalance());
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        assertEquals(20000L, resp.getAmount());
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(transactionWriter, times(1)).write(any(Transaction.class));
+    }
+
+    @Test
+    void transfer_missingDestination_shouldRefundSourceAndThrow() {
+        Account src = Account.builder().accountNumber("SRC").balance(30000L).holderName("S").status("ACTIVE").build();
+        when(accountRepository.decrementBalanceIfSufficient("SRC", 20000L)).thenReturn(Optional.of(src));
+        when(accountRepository.incrementBalance("NOPE", 20000L)).thenReturn(Optional.empty());
+
+        TransferRequest req = new TransferRequest();
+        req.setSourceAccount("SRC");
+        req.setDestinationAccount("NOPE");
+        req.setAmount(20000L);
+
+        assertThrows(AccountNotFoundException.class, () -> transactionService.transfer(req));
+        verify(accountRepository).incrementBalance("SRC", 20000L);
+        verify(transactionWriter, never()).write(any(Transaction.class));
+    }
+
+    @Test
+    void transferBatch_shouldApplyValidItemsAndReportFailuresPerItem() {
+        Account a = Account.builder().accountNumber("A").balance(10000L).build();
+        Account b = Account.builder().accountNumber("B").balance(0L).build();
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(a, b));
+        when(accountRepository.decrementBalanceIfSufficient("A", 9000L)).thenReturn(Optional.of(a));
+
+        List<TransferRequest> batch = List.of(
+                transfer("A", "B", 6000L),
+                transfer("A", "B", 3000L),
+                transfer("A", "B", 2000L),   // exceeds what is left of A's snapshot balance
+                transfer("B", "A", 1000L),   // B's incoming credits do not count as funds
+                transfer("A", "X", 100L),
+                transfer("A", "B", -500L));
+
+        BatchTransferResponse resp = transactionService.transferBatch(batch);
+
+        assertEquals(6, resp.getTotal());
+        assertEquals(2, resp.getSucceeded());
+        assertEquals("SUCCESS", resp.getResults().get(0).getStatus());
+        assertEquals("SUCCESS", resp.getResults().get(1).getStatus());
+        assertEquals("Insufficient funds", resp.getResults().get(2).getError());
+        assertEquals("Insufficient funds", resp.getResults().get(3).getError());
+        assertEquals("Destination account not found", resp.getResults().get(4).getError());
+        assertEquals("Amount must be greater than 0", resp.getResults().get(5).getError());
+
+        verify(accountRepository).incrementBalances(Map.of("B", 9000L));
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(transactionWriter).writeAll(inserted.capture());
+        assertEquals(2, inserted.getValue().size());
+    }
+
+    @Test
+    void transferBatch_whenGuardedDebitLosesRace_failsThatSourcesItems() {
+        Account a = Account.builder().accountNumber("A").balance(10000L).build();
+        Account b = Account.builder().accountNumber("B").balance(0L).build();
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(a, b));
+        when(accountRepository.decrementBalanceIfSufficient("A", 5000L)).thenReturn(Optional.empty());
+
+        BatchTransferResponse resp = transactionService.transferBatch(List.of(transfer("A", "B", 5000L)));
+
+        assertEquals(0, resp.getSucceeded());
+        assertEquals("Insufficient funds", resp.getResults().get(0).getError());
+        // A lone item is not retried: the same guarded debit just missed
+        verify(accountRepository, times(1)).decrementBalanceIfSufficient("A", 5000L);
+        verify(accountRepository).incrementBalances(Map.of());
+        verify(transactionWriter, never()).writeAll(anyList());
+    }
+
+    @Test
+    void transferBatch_whenSummedDebitLosesRace_retriesThatSourcesItemsOneByOne() {
+        Account a = Account.builder().accountNumber("A").balance(10000L).build();
+        Account b = Account.builder().accountNumber("B").balance(0L).build();
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(a, b));
+        // A concurrent withdrawal took 3000 after the snapshot
+        when(accountRepository.decrementBalanceIfSufficient("A", 10000L)).thenReturn(Optional.empty());
+        when(accountRepository.decrementBalanceIfSufficient("A", 6000L)).thenReturn(Optional.of(a));
+        when(accountRepository.decrementBalanceIfSufficient("A", 3000L)).thenReturn(Optional.empty());
+        when(accountRepository.decrementBalanceIfSufficient("A", 1000L)).thenReturn(Optional.of(a));
+
+        BatchTransferResponse resp = transactionService.transferBatch(List.of(
+                transfer("A", "B", 6000L),
+                transfer("A", "B", 3000L),
+                transfer("A", "B", 1000L)));
+
+        assertEquals(2, resp.getSucceeded());
+        assertEquals("SUCCESS", resp.getResults().get(0).getStatus());
+        assertEquals("Insufficient funds", resp.getResults().get(1).getError());
+        assertEquals("SUCCESS", resp.getResults().get(2).getStatus());
+        verify(accountRepository).incrementBalances(Map.of("B", 7000L));
+    }
+
+    @Test
+    void transferBatch_whenADestinationWasRemoved_refundsItsSourceAndFailsThatItem() {
+        Account a = Account.builder().accountNumber("A").balance(10000L).build();
+        Account b = Account.builder().accountNumber("B").balance(0L).build();
+        Account c = Account.builder().accountNumber("C").balance(0L).build();
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(a, b, c));
+        when(accountRepository.decrementBalanceIfSufficient("A", 7000L)).thenReturn(Optional.of(a));
+        when(accountRepository.incrementBalances(Map.of("B", 5000L, "C", 2000L)))
+                .thenReturn(Map.of("C", AccountRepositoryCustom.ACCOUNT_NOT_FOUND));
+
+        BatchTransferResponse resp = transactionService.transferBatch(List.of(
+                transfer("A", "B", 5000L),
+                transfer("A", "C", 2000L)));
+
+        assertEquals(1, resp.getSucceeded());
+        assertEquals("SUCCESS", resp.getResults().get(0).getStatus());
+        assertEquals("Destination account not found", resp.getResults().get(1).getError());
+        verify(accountRepository).incrementBalances(Map.of("A", 2000L));
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(transactionWriter).writeAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+    }
+
+    @Test
+    void transferBatch_whenTheRecordsCannotBeWritten_reversesTheTransfersAndFailsThem() {
+        Account a = Account.builder().accountNumber("A").balance(10000L).build();
+        Account b = Account.builder().accountNumber("B").balance(0L).build();
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(a, b));
+        when(accountRepository.decrementBalanceIfSufficient("A", 5000L)).thenReturn(Optional.of(a));
+        doThrow(new IllegalStateException("journal full")).when(transactionWriter).writeAll(anyList());
+
+        BatchTransferResponse resp = transactionService.transferBatch(List.of(transfer("A", "B", 5000L)));
+
+        assertEquals(0, resp.getSucceeded());
+        assertEquals("FAILED", resp.getResults().get(0).getStatus());
+        verify(accountRepository).incrementBalances(Map.of("B", 5000L));
+        verify(accountRepository).incrementBalances(Map.of("A", 5000L, "B", -5000L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void transferBatch_whenAListenerFails_stillReportsTheRecordedTransfers() {
+        Account a = Account.builder().accountNumber("A").balance(10000L).build();
+        Account b = Account.builder().accountNumber("B").balance(0L).build();
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(a, b));
+        when(accountRepository.decrementBalanceIfSufficient("A", 5000L)).thenReturn(Optional.of(a));
+        doThrow(new IllegalStateException("listener down")).when(eventPublisher).publishEvent(any());
+
+        BatchTransferResponse resp = transactionService.transferBatch(List.of(transfer("A", "B", 5000L)));
+
+        assertEquals(1, resp.getSucceeded());
+        assertEquals("SUCCESS", resp.getResults().get(0).getStatus());
+    }
+
+    @Test
+    void getTransactionPage_whenMoreRowsExist_returnsCursorOfLastRow() {
+        Date now = new Date();
+        TransactionRow t1 = new TransactionRow(new ObjectId(), TransactionResponse.builder().transactionId("T1").timestamp(now).build());
+        TransactionRow t2 = new TransactionRow(new ObjectId(), TransactionResponse.builder().transactionId("T2").timestamp(now).build());
+        TransactionRow t3 = new TransactionRow(new ObjectId(), TransactionResponse.builder().transactionId("T3").timestamp(now).build());
+        when(transactionRepository.findPage("A", null, null, null, 3)).thenReturn(List.of(t1, t2, t3));
+
+        TransactionPageRequest req = new TransactionPageRequest();
+        req.setLimit(2);
+        TransactionPageResponse page = transactionService.getTransactionPage("A", req);
+
+        assertEquals(2, page.getTransactions().size());
+        PageCursor cursor = PageCursor.decode(page.getNextCursor());
+        assertEquals(t2.id(), cursor.id());
+        assertEquals(now, cursor.timestamp());
+
+        req.setCursor(page.getNextCursor());
+        when(transactionRepository.findPage("A", null, null, cursor, 3)).thenReturn(List.of(t3));
+        TransactionPageResponse last = transactionService.getTransactionPage("A", req);
+        assertEquals("T3", last.getTransactions().get(0).getTransactionId());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void getTransactionPage_invalidCursorOrLimit_shouldThrow() {
+        TransactionPageRequest badCursor = new TransactionPageRequest();
+        badCursor.setCursor("not-a-cursor");
+        assertThrows(InvalidInputException.class, () -> transactionService.getTransactionPage("A", badCursor));
+
+        TransactionPageRequest badLimit = new TransactionPageRequest();
+        badLimit.setLimit(0);
+        assertThrows(InvalidInputException.class, () -> transactionService.getTransactionPage("A", badLimit));
     }
 
     @Test
     void deposit_invalidAmount_shouldThrow() {
         DepositRequest req = new DepositRequest();
-        req.setAmount(0.0);
+        req.setAmount(0L);
         assertThrows(InvalidAmountException.class, () -> transactionService.deposit("ANY", req));
     }
 
     @Test
     void getTransactions_shouldReturnList() {
-        Transaction t1 = Transaction.builder().transactionId("T1").type("DEPOSIT").amount(10.0).timestamp(new Date()).status("SUCCESS").sourceAccount("A").build();
+        Transaction t1 = Transaction.builder().transactionId("T1").type("DEPOSIT").amount(1000L).timestamp(new Date()).status("SUCCESS").sourceAccount("A").build();
         when(transactionRepository.findBySourceAccountOrDestinationAccount("A", "A")).thenReturn(List.of(t1));
 
         List<TransactionResponse> res = transactionService.getTransactions("A");
         assertEquals(1, res.size());
         assertEquals("T1", res.get(0).getTransactionId());
     }
+
+    private static TransferRequest transfer(String source, String destination, long amount) {
+        TransferRequest req = new TransferRequest();
+        req.setSourceAccount(source);
+        req.setDestinationAccount(destination);
+        req.setAmount(amount);
+        return req;
+    }
 }
@@ -0,0 +1,119 @@
+package com.bankingsystem.simulator.service;
+
+import com.bankingsystem.simulator.cache.NoOpAccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.config.ContentionProperties;
+import com.bankingsystem.simulator.exception.InsufficientBalanceException;
+import com.bankingsystem.simulator.journal.MongoTransactionWriter;
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.WithdrawRequest;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.service.impl.TransactionServiceImpl;
+import com.bankingsystem.simulator.support.InMemoryAccountStore;
+import com.bankingsystem.simulator.support.InMemoryTransactionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int OPERATIONS = 4000;
+
+    private InMemoryAccountStore accounts;
+    private InMemoryTransactionStore transactions;
+    private TransactionServiceImpl transactionService;
+
+    @BeforeEach
+    void setUp() {
+        accounts = new InMemoryAccountStore();
+        transactions = new InMemoryTransactionStore();
+        transactionService = new TransactionServiceImpl(accounts.asRepository(), transactions.asRepository(),
+                new NoOpAccountCache(), new MongoTransactionWriter(transactions.asRepository()), event -> { },
+                new AccountContention(new ContentionProperties(), new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void parallelDepositsAndWithdrawals_shouldNotLoseUpdates() throws Exception {
+        accounts.save(Account.builder().accountNumber("HOT1").balance(0L).holderName("Hot").status("ACTIVE").build());
+
+        AtomicInteger successfulWithdrawals = new AtomicInteger();
+        runConcurrently(i -> {
+            if (i % 2 == 0) {
+                DepositRequest req = new DepositRequest();
+                req.setAmount(1000L);
+                transactionService.deposit("HOT1", req);
+            } else {
+                WithdrawRequest req = new WithdrawRequest();
+                req.setAmount(500L);
+                try {
+                    transactionService.withdraw("HOT1", req);
+                    successfulWithdrawals.incrementAndGet();
+                } catch (InsufficientBalanceException ignored) {
+                    // the account may briefly be empty; a rejected withdrawal must not change the balance
+                }
+            }
+        });
+
+        long expected = (OPERATIONS / 2) * 1000L - successfulWithdrawals.get() * 500L;
+        assertEquals(expected, accounts.findByAccountNumber("HOT1").orElseThrow().getBalance());
+        assertEquals(OPERATIONS / 2 + successfulWithdrawals.get(), transactions.findAll().size());
+    }
+
+    @Test
+    void parallelWithdrawals_shouldNeverOverdraw() throws Exception {
+        accounts.save(Account.builder().accountNumber("HOT2").balance(100000L).holderName("Hot").status("ACTIVE").build());
+
+        AtomicInteger successfulWithdrawals = new AtomicInteger();
+        runConcurrently(i -> {
+            WithdrawRequest req = new WithdrawRequest();
+            req.setAmount(100L);
+            try {
+                transactionService.withdraw("HOT2", req);
+                successfulWithdrawals.incrementAndGet();
+            } catch (InsufficientBalanceException ignored) {
+            }
+        });
+
+        assertEquals(1000, successfulWithdrawals.get());
+        assertEquals(0L, accounts.findByAccountNumber("HOT2").orElseThrow().getBalance());
+    }
+
+    private void runConcurrently(Operation operation) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < OPERATIONS; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    operation.run(n);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int index);
+    }
+}
@@ -0,0 +1,158 @@
+package com.bankingsystem.simulator.statement;
+
+import com.bankingsystem.simulator.config.StatementProperties;
+import com.bankingsystem.simulator.event.TransactionsRecordedEvent;
+import com.bankingsystem.simulator.model.entity.StatementRollup;
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.StatementRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatementRollupUpdaterTest {
+
+    private final StatementRollupRepository repository = mock(StatementRollupRepository.class);
+    private final StatementProperties properties = new StatementProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementRollupUpdater updater = new StatementRollupUpdater(repository, properties, meterRegistry);
+
+    private static Transaction txn(String type, long amount, String source, String destination, String at) {
+        return Transaction.builder().type(type).amount(amount).sourceAccount(source).destinationAccount(destination)
+                .timestamp(Date.from(Instant.parse(at))).status("SUCCESS").build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bufferedEvents_becomeOneBulkIncrementPerAccountAndPeriod() {
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("DEPOSIT", 1_000, "A", null, "2026-03-05T10:00:00Z"),
+                txn("TRANSFER", 300, "A", "B", "2026-03-05T23:59:59Z"))));
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("WITHDRAW", 200, "A", null, "2026-03-06T00:00:00Z"))));
+        verifyNoInteractions(repository);
+
+        updater.flush();
+
+        ArgumentCaptor<Collection<StatementRollup>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).increment(deltas.capture());
+        Map<String, StatementRollup> byId = deltas.getValue().stream()
+                .collect(Collectors.toMap(StatementRollup::getId, Function.identity()));
+
+        assertEquals(5, byId.size());
+        StatementRollup aMarch = byId.get("A:MONTHLY:2026-03");
+        assertEquals(1_000, aMarch.getCredits());
+        assertEquals(500, aMarch.getDebits());
+        assertEquals(2, aMarch.getDebitCount());
+        StatementRollup aFifth = byId.get("A:DAILY:2026-03-05");
+        assertEquals(300, aFifth.getDebits());
+        assertEquals(200, byId.get("A:DAILY:2026-03-06").getDebits());
+        assertEquals(300, byId.get("B:DAILY:2026-03-05").getCredits());
+        assertEquals(1, byId.get("B:MONTHLY:2026-03").getCreditCount());
+
+        updater.flush();
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedFlush_isRetriedWithWhatWasBufferedSince() {
+        when(repository.increment(any())).thenThrow(new IllegalStateException("down")).thenReturn(List.of());
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("DEPOSIT", 1_000, "A", null, "2026-03-05T10:00:00Z"))));
+
+        assertDoesNotThrow(updater::flush);
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("DEPOSIT", 500, "A", null, "2026-03-05T11:00:00Z"))));
+        updater.flush();
+
+        ArgumentCaptor<Collection<StatementRollup>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(2)).increment(deltas.capture());
+        StatementRollup aFifth = deltas.getValue().stream()
+                .filter(d -> d.getId().equals("A:DAILY:2026-03-05")).findFirst().orElseThrow();
+        assertEquals(1_500, aFifth.getCredits());
+        assertEquals(2, aFifth.getCreditCount());
+        assertEquals(2, meterRegistry.counter("banking.statements.rollups", "outcome", "retried").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectedDeltas_aloneAreRetried() {
+        when(repository.increment(any()))
+                .thenAnswer(call -> List.of(((Collection<StatementRollup>) call.getArgument(0)).iterator().next()))
+                .thenReturn(List.of());
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("DEPOSIT", 1_000, "A", null, "2026-03-05T10:00:00Z"))));
+
+        updater.flush();
+        updater.flush();
+
+        ArgumentCaptor<Collection<StatementRollup>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(2)).increment(deltas.capture());
+        assertEquals(List.of("A:DAILY:2026-03-05"), deltas.getValue().stream().map(StatementRollup::getId).toList());
+    }
+
+    @Test
+    void failedDeltas_beyondTheBound_areDroppedAndCounted() {
+        properties.setMaxPending(1);
+        when(repository.increment(any())).thenThrow(new IllegalStateException("down"));
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("DEPOSIT", 1_000, "A", null, "2026-03-05T10:00:00Z"))));
+
+        updater.flush();
+        updater.flush();
+
+        verify(repository, times(1)).increment(any());
+        assertEquals(2, meterRegistry.counter("banking.statements.rollups", "outcome", "dropped").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fence_leavesEarlierTransactionsToTheBackfillAndHoldsLaterOnesUntilReleased() {
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("DEPOSIT", 100, "A", null, "2026-03-05T09:00:00Z"))));
+        updater.fence(Date.from(Instant.parse("2026-03-05T10:00:00Z")));
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("DEPOSIT", 200, "A", null, "2026-03-05T09:59:59Z"),
+                txn("TRANSFER", 300, "A", "B", "2026-03-05T10:00:00Z"))));
+
+        updater.flush();
+        verifyNoInteractions(repository);
+
+        updater.release("A");
+        updater.flush();
+        ArgumentCaptor<Collection<StatementRollup>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).increment(deltas.capture());
+        assertEquals(List.of("A:DAILY:2026-03-05", "A:MONTHLY:2026-03"),
+                deltas.getValue().stream().map(StatementRollup::getId).toList());
+        assertEquals(0, deltas.getValue().iterator().next().getCredits());
+        assertEquals(300, deltas.getValue().iterator().next().getDebits());
+
+        updater.unfence();
+        updater.flush();
+        verify(repository, times(2)).increment(deltas.capture());
+        assertEquals(300, deltas.getValue().stream()
+                .filter(d -> d.getId().equals("B:DAILY:2026-03-05")).findFirst().orElseThrow().getCredits());
+    }
+
+    @Test
+    void close_writesWhatIsStillBuffered() {
+        updater.start();
+        updater.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                txn("DEPOSIT", 1_000, "A", null, "2026-03-05T10:00:00Z"))));
+
+        updater.close();
+
+        verify(repository).increment(any());
+    }
+}
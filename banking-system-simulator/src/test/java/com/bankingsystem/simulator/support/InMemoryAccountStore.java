@@ -0,0 +1,71 @@
+package com.bankingsystem.simulator.support;
+
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.repository.AccountRepository;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory stand-in for {@link AccountRepository}. Documents are keyed by account
+ * number and updated with {@link ConcurrentMap#computeIfPresent}, which gives the
+ * same per-document atomicity as a Mongo findAndModify.
+ */
+public class InMemoryAccountStore {
+
+    private final ConcurrentMap<String, Account> accounts = new ConcurrentHashMap<>();
+
+    public AccountRepository asRepository() {
+        return RepositoryStandIn.of(AccountRepository.class, this);
+    }
+
+    public Object save(Object entity) {
+        Account account = (Account) entity;
+        accounts.put(account.getAccountNumber(), copy(account));
+        return account;
+    }
+
+    public Optional<Account> findByAccountNumber(String accountNumber) {
+        return Optional.ofNullable(accounts.get(accountNumber)).map(InMemoryAccountStore::copy);
+    }
+
+    public boolean existsByAccountNumber(String accountNumber) {
+        return accounts.containsKey(accountNumber);
+    }
+
+    public Optional<Account> incrementBalance(String accountNumber, long amount) {
+        Account updated = accounts.computeIfPresent(accountNumber, (k, acc) -> {
+            Account next = copy(acc);
+            next.setBalance(acc.getBalance() + amount);
+            return next;
+        });
+        return Optional.ofNullable(updated).map(InMemoryAccountStore::copy);
+    }
+
+    public Optional<Account> decrementBalanceIfSufficient(String accountNumber, long amount) {
+        boolean[] applied = {false};
+        Account updated = accounts.computeIfPresent(accountNumber, (k, acc) -> {
+            if (acc.getBalance() < amount) {
+                return acc;
+            }
+            Account next = copy(acc);
+            next.setBalance(acc.getBalance() - amount);
+            applied[0] = true;
+            return next;
+        });
+        return applied[0] ? Optional.of(copy(updated)) : Optional.empty();
+    }
+
+    private static Account copy(Account acc) {
+        return Account.builder()
+                .id(acc.getId())
+                .accountNumber(acc.getAccountNumber())
+                .holderName(acc.getHolderName())
+                .balance(acc.getBalance())
+                .status(acc.getStatus())
+                .createdAt(acc.getCreatedAt())
+                .version(acc.getVersion())
+                .build();
+    }
+}
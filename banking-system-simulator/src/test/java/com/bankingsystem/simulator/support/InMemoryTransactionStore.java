@@ -0,0 +1,35 @@
+package com.bankingsystem.simulator.support;
+
+import com.bankingsystem.simulator.model.entity.Transaction;
+import com.bankingsystem.simulator.repository.TransactionRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory stand-in for {@link TransactionRepository} that just records what was saved.
+ */
+public class InMemoryTransactionStore {
+
+    private final Queue<Transaction> transactions = new ConcurrentLinkedQueue<>();
+
+    public TransactionRepository asRepository() {
+        return RepositoryStandIn.of(TransactionRepository.class, this);
+    }
+
+    public Object save(Object entity) {
+        transactions.add((Transaction) entity);
+        return entity;
+    }
+
+    public void append(Collection<Transaction> entities) {
+        transactions.addAll(entities);
+    }
+
+    public List<Transaction> findAll() {
+        return new ArrayList<>(transactions);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bankingsystem.simulator.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Builds a repository proxy that forwards every call to the method with the same
+ * name and parameter types on a plain in-memory backing object. Methods the
+ * backing object does not provide throw {@link UnsupportedOperationException},
+ * so a stand-in only has to implement what the code under test actually calls.
+ */
+public final class RepositoryStandIn {
+
+    private RepositoryStandIn() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <R> R of(Class<R> repositoryType, Object backing) {
+        return (R) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(backing, args);
+                    }
+                    Method target;
+                    try {
+                        target = backing.getClass().getMethod(method.getName(), method.getParameterTypes());
+                    } catch (NoSuchMethodException e) {
+                        throw new UnsupportedOperationException(
+                                backing.getClass().getSimpleName() + " does not support " + method.getName());
+                    }
+                    try {
+                        return target.invoke(backing, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,96 @@
+package com.bankingsystem.simulator.util;
+
+import com.bankingsystem.simulator.config.AccountNumberProperties;
+import com.bankingsystem.simulator.repository.CounterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberGeneratorTest {
+
+    @Mock
+    private CounterRepository counterRepository;
+
+    @Test
+    void generate_formatsInitialsSequenceAndCheckDigit() {
+        when(counterRepository.reserveBlock("accountNumber", 100)).thenReturn(1234L);
+
+        String number = generator(100).generate("chandrasekhar");
+
+        assertTrue(number.startsWith("CH000001234"), number);
+        assertEquals(12, number.length());
+        assertTrue(AccountNumberGenerator.isValid(number));
+    }
+
+    @Test
+    void isValid_rejectsSingleDigitErrors() {
+        String number = AccountNumberGenerator.format("CH", 987_654_321L);
+        char wrong = number.charAt(5) == '9' ? '0' : (char) (number.charAt(5) + 1);
+        String mutated = number.substring(0, 5) + wrong + number.substring(6);
+
+        assertTrue(AccountNumberGenerator.isValid(number));
+        assertFalse(AccountNumberGenerator.isValid(mutated));
+        assertFalse(AccountNumberGenerator.isValid("CH1234"));
+    }
+
+    @Test
+    void initials_handlesShortAndNonLetterNames() {
+        assertEquals("JO", AccountNumberGenerator.initials("jo"));
+        assertEquals("AX", AccountNumberGenerator.initials("A"));
+        assertEquals("OB", AccountNumberGenerator.initials("O'Brien"));
+    }
+
+    @Test
+    void generate_isUniqueAcrossThreadsAndReservesOneBlockPerBlockSize() throws Exception {
+        AtomicLong counter = new AtomicLong();
+        when(counterRepository.reserveBlock(eq("accountNumber"), anyInt()))
+                .thenAnswer(i -> counter.getAndAdd(i.getArgument(1, Integer.class)));
+        AccountNumberGenerator generator = generator(500);
+
+        int threads = 8;
+        int perThread = 10_000;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(generator.generate("Same Name"));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, numbers.size());
+        verify(counterRepository, times(threads * perThread / 500)).reserveBlock("accountNumber", 500);
+    }
+
+    private AccountNumberGenerator generator(int blockSize) {
+        AccountNumberProperties properties = new AccountNumberProperties();
+        properties.setBlockSize(blockSize);
+        return new AccountNumberGenerator(counterRepository, properties);
+    }
+}
@@ -0,0 +1,38 @@
+package com.bankingsystem.simulator.util;
+
+import com.bankingsystem.simulator.model.dto.DepositRequest;
+import com.bankingsystem.simulator.model.dto.TransactionResponse;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    void readsDecimalAmountsAsExactMinorUnits() {
+        assertEquals(1010L, mapper.readValue("{\"amount\":10.10}", DepositRequest.class).getAmount());
+        assertEquals(30L, mapper.readValue("{\"amount\":0.3}", DepositRequest.class).getAmount());
+        assertEquals(5000L, mapper.readValue("{\"amount\":\"50\"}", DepositRequest.class).getAmount());
+    }
+
+    @Test
+    void rejectsSubCentAmounts() {
+        assertThrows(DatabindException.class, () -> mapper.readValue("{\"amount\":0.001}", DepositRequest.class));
+    }
+
+    @Test
+    void writesMinorUnitsAsDecimal() {
+        String json = mapper.writeValueAsString(TransactionResponse.builder().amount(12345L).build());
+        assertTrue(json.contains("\"amount\":123.45"), json);
+    }
+
+    @Test
+    void roundsLegacyDoubles() {
+        assertEquals(30L, Money.fromDouble(0.1 + 0.2));
+        assertEquals(-1999L, Money.fromDouble(-19.99));
+    }
+}
@@ -0,0 +1,71 @@
+package com.bankingsystem.simulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionIdGeneratorTest {
+
+    @Test
+    void generate_usesReadableDatedFormat() {
+        TransactionIdGenerator.setNodeId(42);
+        String id = TransactionIdGenerator.generate();
+        assertTrue(id.matches("TXN-\\d{8}-0042-\\d{12}"), id);
+
+        LocalDate day = LocalDate.parse(id.substring(4, 12), DateTimeFormatter.BASIC_ISO_DATE);
+        assertTrue(Math.abs(ChronoUnit.DAYS.between(LocalDate.now(), day)) <= 1, id);
+    }
+
+    @Test
+    void generate_isUniqueAcrossManyThreads() throws Exception {
+        int threads = 16;
+        int perThread = 50_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet(threads * perThread);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(TransactionIdGenerator.generate());
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void next_isStrictlyIncreasingEvenWhenSequenceOverflows() {
+        long previous = TransactionIdGenerator.next();
+        for (int i = 0; i < 100_000; i++) { // far more than 4096 per millisecond
+            long next = TransactionIdGenerator.next();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void setNodeId_rejectsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionIdGenerator.setNodeId(10_000));
+    }
+}
@@ -0,0 +1,88 @@
+package com.bankingsystem.simulator.workload;
+
+import com.bankingsystem.simulator.cache.NoOpAccountCache;
+import com.bankingsystem.simulator.concurrency.AccountContention;
+import com.bankingsystem.simulator.config.ContentionProperties;
+import com.bankingsystem.simulator.config.WorkloadProperties;
+import com.bankingsystem.simulator.journal.MongoTransactionWriter;
+import com.bankingsystem.simulator.model.dto.AccountCreateRequest;
+import com.bankingsystem.simulator.model.dto.AccountResponse;
+import com.bankingsystem.simulator.model.entity.Account;
+import com.bankingsystem.simulator.service.AccountService;
+import com.bankingsystem.simulator.service.impl.TransactionServiceImpl;
+import com.bankingsystem.simulator.support.InMemoryAccountStore;
+import com.bankingsystem.simulator.support.InMemoryTransactionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkloadRunnerTest {
+
+    private final InMemoryAccountStore accounts = new InMemoryAccountStore();
+    private final InMemoryTransactionStore transactions = new InMemoryTransactionStore();
+    private final TransactionServiceImpl transactionService = new TransactionServiceImpl(
+            accounts.asRepository(), transactions.asRepository(), new NoOpAccountCache(),
+            new MongoTransactionWriter(transactions.asRepository()), event -> { },
+            new AccountContention(new ContentionProperties(), new SimpleMeterRegistry()));
+    private final AccountService accountService = mock(AccountService.class);
+
+    @Test
+    void run_reportsEveryOperationInTheMix() throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        when(accountService.createAccount(any(AccountCreateRequest.class))).thenAnswer(invocation -> {
+            String number = "WL" + sequence.incrementAndGet();
+            accounts.save(Account.builder().accountNumber(number).balance(0L).status("ACTIVE").build());
+            return AccountResponse.builder().accountNumber(number).build();
+        });
+
+        WorkloadProperties properties = new WorkloadProperties();
+        properties.setAccounts(20);
+        properties.setClients(4);
+        properties.setWarmup(Duration.ofMillis(100));
+        properties.setDuration(Duration.ofMillis(400));
+        properties.setInitialBalance(1_000);
+        properties.getMix().setHistory(0); // the in-memory store has no findPage
+
+        WorkloadReport report = new WorkloadRunner(accountService, transactionService, properties).run();
+
+        for (String op : new String[]{"DEPOSIT", "WITHDRAW", "TRANSFER"}) {
+            WorkloadReport.Row row = report.row(op);
+            assertTrue(row.count() > 0, op);
+            assertEquals(0, row.errors(), op);
+            assertTrue(row.p50() <= row.p99() && row.p99() <= row.max(), op);
+        }
+        WorkloadReport.Row total = report.row("TOTAL");
+        assertEquals(report.row("DEPOSIT").count() + report.row("WITHDRAW").count() + report.row("TRANSFER").count(),
+                total.count());
+        assertTrue(report.format().contains("p99.9 ms"));
+    }
+
+    @Test
+    void openLoop_holdsTheTargetRate() throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        when(accountService.createAccount(any(AccountCreateRequest.class))).thenAnswer(invocation -> {
+            String number = "WL" + sequence.incrementAndGet();
+            accounts.save(Account.builder().accountNumber(number).balance(0L).status("ACTIVE").build());
+            return AccountResponse.builder().accountNumber(number).build();
+        });
+
+        WorkloadProperties properties = new WorkloadProperties();
+        properties.setAccounts(10);
+        properties.setClients(2);
+        properties.setWarmup(Duration.ZERO);
+        properties.setDuration(Duration.ofSeconds(1));
+        properties.setTargetRate(200);
+        properties.getMix().setHistory(0);
+
+        long count = new WorkloadRunner(accountService, transactionService, properties).run().row("TOTAL").count();
+
+        assertEquals(200, count, 10);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bankingsystem.simulator.workload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfianGeneratorTest {
+
+    @Test
+    void skewedDistribution_favoursLowRanks() {
+        int[] counts = sample(new ZipfianGenerator(1000, 0.99), 1000, 100_000);
+
+        // With s close to 1 the top 1% of ranks draws a large share of the traffic
+        int top10 = 0;
+        for (int i = 0; i < 10; i++) {
+            top10 += counts[i];
+        }
+        assertTrue(top10 > 25_000, "top 10 ranks drew " + top10);
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[10]);
+    }
+
+    @Test
+    void zeroExponent_isUniform() {
+        int[] counts = sample(new ZipfianGenerator(10, 0), 10, 100_000);
+
+        for (int count : counts) {
+            assertEquals(10_000, count, 600);
+        }
+    }
+
+    private static int[] sample(ZipfianGenerator zipf, int n, int draws) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[n];
+        for (int i = 0; i < draws; i++) {
+            counts[zipf.next(random)]++;
+        }
+        return counts;
+    }
+}